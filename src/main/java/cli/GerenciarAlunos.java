@@ -4,11 +4,15 @@ import exceptions.AlunoInvalidoException;
 import exceptions.ErroSistemaException;
 import exceptions.CursoInvalidoException;
 import model.Aluno;
+import model.AlunoComCurso;
+import model.Pagina;
 import services.AlunoService;
+import services.ImportadorAlunos;
 import services.CursoService;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
 import model.enums.Status;
@@ -34,6 +38,9 @@ public class GerenciarAlunos {
             System.out.println("7. Desativar Aluno");
             System.out.println("8. Verificar se Aluno Está Ativo");
             System.out.println("9. Verificar se Aluno Existe por CPF");
+            System.out.println("10. Importar Alunos de Arquivo CSV");
+            System.out.println("11. Alterar Status de Vários Alunos");
+            System.out.println("12. Pesquisar Alunos por Nome ou Email");
             System.out.println("0. Voltar ao Menu Principal");
             System.out.print("Escolha uma opção: ");
 
@@ -75,6 +82,15 @@ public class GerenciarAlunos {
                     case 9:
                         verificarAlunoExiste(sc);
                         break;
+                    case 10:
+                        importarAlunos(sc);
+                        break;
+                    case 11:
+                        alterarStatusEmLote(sc);
+                        break;
+                    case 12:
+                        pesquisarAlunos(sc);
+                        break;
                     case 0:
                         return; // Volta ao menu principal
                     default:
@@ -281,4 +297,48 @@ public class GerenciarAlunos {
         }
 
     }
+
+    private void importarAlunos(Scanner sc) throws ErroSistemaException {
+        System.out.print("Caminho do arquivo CSV: ");
+        String caminho = sc.nextLine();
+        System.out.print("Caminho do relatório de erros: ");
+        String caminhoErros = sc.nextLine();
+
+        ImportadorAlunos.Resumo resumo = alunoService.importarAlunos(caminho, caminhoErros);
+        System.out.println("Linhas lidas: " + resumo.linhasLidas());
+        System.out.println("Alunos importados: " + resumo.importados());
+        System.out.println("Linhas rejeitadas: " + resumo.rejeitados() + " (detalhes em " + caminhoErros + ")");
+    }
+
+    private void alterarStatusEmLote(Scanner sc) throws ErroSistemaException {
+        System.out.print("IDs dos Alunos (ex: 1, 4, 10-15): ");
+        List<Integer> ids = ListaIds.ler(sc.nextLine());
+        System.out.print("Novo status (1 - Ativo, 2 - Inativo): ");
+        Status status = sc.nextLine().trim().equals("1") ? Status.ATIVO : Status.INATIVO;
+        alunoService.alterarStatusEmLote(ids, status);
+        System.out.println("Alteração de status de " + ids.size() + " aluno(s) enviada.");
+    }
+
+    private void pesquisarAlunos(Scanner sc) throws ErroSistemaException {
+        System.out.print("Texto da pesquisa (nome ou email): ");
+        String texto = sc.nextLine();
+
+        String token = null;
+        int exibidos = 0;
+        do {
+            Pagina<AlunoComCurso> pagina = alunoService.pesquisar(texto, null, null, token, 20);
+            for (AlunoComCurso linha : pagina.getItens()) {
+                System.out.println(linha.aluno() + " | Curso: " + linha.nomeCurso());
+            }
+            exibidos += pagina.getItens().size();
+            token = pagina.getProximaPagina();
+            if (token != null) {
+                System.out.print("Enter para mais resultados, 0 para parar: ");
+            }
+        } while (token != null && !sc.nextLine().trim().equals("0"));
+
+        if (exibidos == 0) {
+            System.out.println("Nenhum aluno encontrado para: " + texto);
+        }
+    }
 }
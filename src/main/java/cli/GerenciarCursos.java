@@ -4,8 +4,10 @@ import exceptions.CursoInvalidoException;
 import exceptions.ErroSistemaException;
 import model.Curso;
 import model.enums.Status;
+import services.CacheTTL;
 import services.CursoService;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.Scanner;
@@ -31,6 +33,9 @@ public class GerenciarCursos {
             System.out.println("8. Buscar ID de Curso por Nome");
             System.out.println("9. Obter Limite de Alunos do Curso");
             System.out.println("10. Verificar se Curso Está Cheio");
+            System.out.println("11. Recalcular Contadores de Alunos");
+            System.out.println("12. Estatísticas do Cache de Cursos");
+            System.out.println("13. Alterar Status de Vários Cursos");
             System.out.println("0. Voltar ao Menu Principal");
             System.out.print("Escolha uma opção: ");
 
@@ -75,6 +80,15 @@ public class GerenciarCursos {
                     case 10:
                         verificarCursoCheio(sc);
                         break;
+                    case 11:
+                        recalcularContadores();
+                        break;
+                    case 12:
+                        exibirEstatisticasCache();
+                        break;
+                    case 13:
+                        alterarStatusEmLote(sc);
+                        break;
                     case 0:
                         return; // Volta ao menu principal
                     default:
@@ -264,4 +278,29 @@ public class GerenciarCursos {
             System.out.println("O curso " + id + " tem vagas disponíveis.");
         }
     }
+
+    private void recalcularContadores() throws ErroSistemaException {
+        int cursos = cursoService.recalcularContadores();
+        System.out.println("Contadores de alunos recalculados (" + cursos + " cursos).");
+    }
+
+    private void exibirEstatisticasCache() {
+        System.out.println("--- Cache de Cursos ---");
+        imprimirEstatisticas("Cursos por ID", cursoService.getEstatisticasCache());
+        imprimirEstatisticas("Listas de cursos", cursoService.getEstatisticasCacheListas());
+    }
+
+    private void imprimirEstatisticas(String titulo, CacheTTL.Estatisticas e) {
+        System.out.printf("%s: %d acertos, %d faltas (%.1f%% de acerto), %d descartes, %d expirações, %d em cache%n",
+                titulo, e.acertos(), e.faltas(), e.taxaAcerto() * 100, e.descartes(), e.expiracoes(), e.tamanho());
+    }
+
+    private void alterarStatusEmLote(Scanner sc) throws ErroSistemaException {
+        System.out.print("IDs dos Cursos (ex: 1, 4, 10-15): ");
+        List<Integer> ids = ListaIds.ler(sc.nextLine());
+        System.out.print("Novo status (1 - Ativo, 2 - Inativo): ");
+        Status status = sc.nextLine().trim().equals("1") ? Status.ATIVO : Status.INATIVO;
+        cursoService.alterarStatusEmLote(ids, status);
+        System.out.println("Alteração de status de " + ids.size() + " curso(s) enviada.");
+    }
 }
@@ -0,0 +1,42 @@
+package cli;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lê listas de IDs digitadas no console, como {@code 1, 4, 10-15}.
+ */
+final class ListaIds {
+
+    private ListaIds() {
+    }
+
+    /**
+     * @param texto IDs separados por vírgula ou espaço; intervalos com hífen.
+     * @return Os IDs, na ordem digitada.
+     * @throws NumberFormatException Se algum item não for um número ou
+     *                               intervalo válido.
+     */
+    static List<Integer> ler(String texto) {
+        List<Integer> ids = new ArrayList<>();
+        for (String item : texto.trim().split("[,\\s]+")) {
+            if (item.isEmpty()) {
+                continue;
+            }
+            int hifen = item.indexOf('-');
+            if (hifen > 0) {
+                int inicio = Integer.parseInt(item.substring(0, hifen));
+                int fim = Integer.parseInt(item.substring(hifen + 1));
+                if (fim < inicio) {
+                    throw new NumberFormatException("Intervalo inválido: " + item);
+                }
+                for (int id = inicio; id <= fim; id++) {
+                    ids.add(id);
+                }
+            } else {
+                ids.add(Integer.parseInt(item));
+            }
+        }
+        return ids;
+    }
+}
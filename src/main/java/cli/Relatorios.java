@@ -1,20 +1,27 @@
 package cli;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 import exceptions.CursoInvalidoException;
 import exceptions.ErroSistemaException;
 import model.Aluno;
 import model.Curso;
+import model.Pagina;
+import model.enums.OrdemListagem;
 import model.enums.Status;
 import services.AlunoService;
 import services.CursoService;
+import services.ExportadorCursos;
+import utils.FormatoExportacao;
 
 public class Relatorios {
 
     private final CursoService cursoService;
     private final AlunoService alunoService;
+    private static final int TAMANHO_PAGINA = 20;
 
     public Relatorios(CursoService cursoService, AlunoService alunoService) {
         this.cursoService = cursoService;
@@ -29,10 +36,14 @@ public class Relatorios {
             System.out.println("3. listar todos os cursos ativos");
             System.out.println("4. listar todos os cursos e alunos");
             System.out.println("5. Listar todos os alunos.");
+            System.out.println("10. Listar alunos por página");
+            System.out.println("11. Listar cursos por página");
             System.out.println("\n=== Exportar ===");
             System.out.println("6. Listar alunos ativos");
             System.out.println("7. Alunos ativos por curso");
             System.out.println("8. Alunos inativos por curso");
+            System.out.println("12. Exportar todos os alunos (CSV, JSON Lines ou XLSX)");
+            System.out.println("13. Exportar cursos (um arquivo por curso)");
             System.out.println("9. Voltar ao Menu Principal");
             System.out.print("Escolha uma opção: ");
 
@@ -55,6 +66,10 @@ public class Relatorios {
                     case 6 -> listarAlunosAtivos();
                     case 7 -> listarAlunosPorCurso(sc, Status.ATIVO);
                     case 8 -> listarAlunosPorCurso(sc, Status.INATIVO);
+                    case 10 -> listarAlunosPaginado(sc);
+                    case 11 -> listarCursosPaginado(sc);
+                    case 12 -> exportarTodosAlunos(sc);
+                    case 13 -> exportarPorCurso(sc);
                     case 9 -> {
                         return; // Volta ao menu principal
                     }
@@ -116,15 +131,83 @@ public class Relatorios {
     }
 
     private void listarTodosAlunos() throws ErroSistemaException {
-        List<Aluno> alunos = alunoService.listarTodosAlunos();
-        if (alunos.isEmpty()) {
-            System.out.println("Nenhum aluno cadastrado.");
-        } else {
-            System.out.println("\n--- Todos os Alunos ---");
-            for (Aluno aluno : alunos) {
-                System.out.println(aluno);
+        System.out.println("\n--- Todos os Alunos ---");
+        imprimirAlunos(null, "Nenhum aluno cadastrado.");
+    }
+
+    /**
+     * Imprime os alunos à medida que são lidos do banco, sem montar a lista
+     * inteira na memória.
+     */
+    private void imprimirAlunos(Status filterStatus, String mensagemVazio) throws ErroSistemaException {
+        long total = 0;
+        try (Stream<Aluno> alunos = alunoService.streamAlunos(filterStatus)) {
+            Iterator<Aluno> it = alunos.iterator();
+            while (it.hasNext()) {
+                System.out.println(it.next());
+                total++;
             }
         }
+        if (total == 0) {
+            System.out.println(mensagemVazio);
+        }
+    }
+
+    private void listarAlunosPaginado(Scanner sc) throws ErroSistemaException {
+        String token = null;
+        do {
+            Pagina<Aluno> pagina = alunoService.listarAlunosPaginado(null, OrdemListagem.NOME, token, TAMANHO_PAGINA);
+            pagina.getItens().forEach(System.out::println);
+            token = pagina.getProximaPagina();
+        } while (token != null && continuarPaginacao(sc));
+    }
+
+    private void listarCursosPaginado(Scanner sc) throws ErroSistemaException {
+        String token = null;
+        do {
+            Pagina<Curso> pagina = cursoService.listarCursosPaginado(null, OrdemListagem.NOME, token, TAMANHO_PAGINA);
+            pagina.getItens().forEach(System.out::println);
+            token = pagina.getProximaPagina();
+        } while (token != null && continuarPaginacao(sc));
+    }
+
+    private boolean continuarPaginacao(Scanner sc) {
+        System.out.print("Enter para a próxima página, 0 para parar: ");
+        return !"0".equals(sc.nextLine().trim());
+    }
+
+    private void exportarTodosAlunos(Scanner sc) throws ErroSistemaException {
+        FormatoExportacao formato = lerFormato(sc);
+        System.out.print("Caminho do arquivo: ");
+        String caminho = formato.comExtensao(sc.nextLine());
+        alunoService.exportarTodosAlunos(caminho, lerStatus(sc), formato);
+    }
+
+    private void exportarPorCurso(Scanner sc) throws ErroSistemaException {
+        System.out.print("Pasta de destino: ");
+        String pasta = sc.nextLine();
+        System.out.print("IDs dos cursos (ex: 1, 4, 10-15; Enter - Todos): ");
+        String ids = sc.nextLine();
+        List<Integer> idsCursos = ids.isBlank() ? List.of() : ListaIds.ler(ids);
+        FormatoExportacao formato = lerFormato(sc);
+        ExportadorCursos.Manifesto manifesto = alunoService.exportarPorCurso(pasta, idsCursos, lerStatus(sc),
+                formato);
+        System.out.println("Manifesto: " + manifesto.manifesto() + " (" + manifesto.duracaoMs() + " ms)");
+    }
+
+    private Status lerStatus(Scanner sc) {
+        System.out.print("Status (1 - Ativos, 2 - Inativos, Enter - Todos): ");
+        String opcao = sc.nextLine().trim();
+        return opcao.equals("1") ? Status.ATIVO : opcao.equals("2") ? Status.INATIVO : null;
+    }
+
+    private FormatoExportacao lerFormato(Scanner sc) {
+        System.out.print("Formato (1 - CSV, 2 - JSON Lines, 3 - XLSX; Enter - CSV): ");
+        return switch (sc.nextLine().trim()) {
+            case "2" -> FormatoExportacao.JSON_LINES;
+            case "3" -> FormatoExportacao.XLSX;
+            default -> FormatoExportacao.CSV;
+        };
     }
 
     private void listarCursosAtivos() {
@@ -140,15 +223,8 @@ public class Relatorios {
     }
 
     private void listarAlunosAtivos() throws ErroSistemaException {
-        List<Aluno> alunos = alunoService.listarTodosAlunos();
-        if (alunos.isEmpty()) {
-            System.out.println("Nenhum aluno cadastrado.");
-        } else {
-            System.out.println("\n--- Todos os Alunos ---");
-            for (Aluno aluno : alunos) {
-                System.out.println(aluno);
-            }
-        }
+        System.out.println("\n--- Alunos Ativos ---");
+        imprimirAlunos(Status.ATIVO, "Nenhum aluno ativo.");
     }
 
 }
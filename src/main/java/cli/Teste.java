@@ -39,6 +39,8 @@ public class Teste {
                             switch (opcao) {
                                 case 0 -> {
                                     System.out.println("Saindo do sistema. Até mais!");
+                                    as.encerrar();
+                                    cs.encerrar();
                                     running = false;
                                 }
                                 case 1 -> {
@@ -2,25 +2,50 @@ package dao;
 
 import factory.ConnectionFactory;
 import model.Aluno;
+import model.AlunoComCurso;
+import model.ResultadoLote;
+import model.enums.OrdemListagem;
+import model.enums.SituacaoMatricula;
 import model.enums.Status;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLDataException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransactionRollbackException;
 import java.sql.Date;
 import java.sql.Statement;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public class AlunoDao implements AutoCloseable {
 
-    private final Connection conn;
-
+    /**
+     * As conexões são obtidas do pool a cada operação e devolvidas ao final,
+     * de modo que o DAO pode ser compartilhado sem manter uma conexão aberta.
+     *
+     * @throws SQLException Se não for possível obter uma conexão do pool.
+     */
     public AlunoDao() throws SQLException {
-        this.conn = ConnectionFactory.getConnection();
+        // Falha cedo caso o banco de dados não esteja acessível
+        ConnectionFactory.getConnection().close();
     }
 
     // --- Métodos CRUD (Create, Read, Update, Delete) ---
@@ -31,36 +56,374 @@ public class AlunoDao implements AutoCloseable {
      * (ex: curso ativo/cheio) devem ser realizadas na camada de serviço
      * (AlunoService).
      * Retorna o objeto Aluno completo com o ID gerado pelo banco.
+     * Os contadores do curso são atualizados na mesma transação.
      * 
      * @param aluno O objeto Aluno a ser adicionado (idAluno pode ser 0).
      * @return O objeto Aluno com o ID gerado, ou null se a inserção falhar.
      * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
      */
     public Aluno adicionar(Aluno aluno) throws SQLException {
-        String sql = "INSERT INTO aluno (idCurso, nome, cpf, telefone, email, dataNascimento, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, aluno.getIdCurso());
-            stmt.setString(2, aluno.getNome());
-            stmt.setString(3, aluno.getCpf());
-            stmt.setString(4, aluno.getTelefone());
-            stmt.setString(5, aluno.getEmail());
-            stmt.setDate(6, Date.valueOf(aluno.getDataNascimento())); // Converte LocalDate para java.sql.Date
-            stmt.setBoolean(7, aluno.isAtivo().isAtivo());
-
-            int affectedRows = stmt.executeUpdate();
-
-            if (affectedRows > 0) {
-                try (ResultSet rs = stmt.getGeneratedKeys()) {
-                    if (rs.next()) {
-                        int idGerado = rs.getInt(1);
-                        // Cria um novo objeto Aluno com o ID gerado para retornar
-                        return new Aluno(idGerado, aluno.getIdCurso(), aluno.getNome(), aluno.getCpf(),
-                                aluno.getTelefone(), aluno.getEmail(), aluno.getDataNascimento(), aluno.isAtivo());
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Aluno gravado = null;
+                try (PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                    preencherInsert(stmt, aluno);
+
+                    int affectedRows = stmt.executeUpdate();
+
+                    if (affectedRows > 0) {
+                        try (ResultSet rs = stmt.getGeneratedKeys()) {
+                            if (rs.next()) {
+                                // Cria um novo objeto Aluno com o ID gerado para retornar
+                                gravado = comId(rs.getInt(1), aluno);
+                            }
+                        }
+                    }
+                }
+                if (gravado == null) {
+                    conn.rollback();
+                    return null; // Retorna null se a inserção falhar ou o ID não for gerado
+                }
+                ajustarContadores(conn, aluno.getIdCurso(), 1, aluno.isAtivo().isAtivo() ? 1 : 0);
+                conn.commit();
+                return gravado;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Matricula um aluno verificando, na mesma transação, se o curso existe,
+     * está ativo e ainda tem vagas.
+     * A vaga é reservada por um único UPDATE condicional no contador
+     * {@code totalAlunos} do curso, que bloqueia a linha do curso até o
+     * commit: matrículas simultâneas no mesmo curso são serializadas e o
+     * limite nunca é ultrapassado, sem contar os alunos do curso. Matrículas
+     * em cursos diferentes não se bloqueiam.
+     * Em caso de sucesso, o ID gerado é atribuído ao próprio objeto aluno.
+     *
+     * @param aluno O aluno a ser matriculado.
+     * @return {@link SituacaoMatricula#MATRICULADO} se o aluno foi gravado, ou o
+     *         motivo pelo qual não foi.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public SituacaoMatricula matricular(Aluno aluno) throws SQLException {
+        String sqlVaga = "UPDATE curso SET totalAlunos = totalAlunos + 1, alunosAtivos = alunosAtivos + ? "
+                + "WHERE idCurso = ? AND status = 1 AND totalAlunos < limiteAlunos";
+        String sqlMotivo = "SELECT status FROM curso WHERE idCurso = ?";
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                boolean reservada;
+                try (PreparedStatement stmt = conn.prepareStatement(sqlVaga)) {
+                    stmt.setInt(1, aluno.isAtivo().isAtivo() ? 1 : 0);
+                    stmt.setInt(2, aluno.getIdCurso());
+                    reservada = stmt.executeUpdate() > 0;
+                }
+                if (!reservada) {
+                    // Caminho raro: descobre por que a vaga não foi reservada
+                    SituacaoMatricula situacao;
+                    try (PreparedStatement stmt = conn.prepareStatement(sqlMotivo)) {
+                        stmt.setInt(1, aluno.getIdCurso());
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            if (!rs.next()) {
+                                situacao = SituacaoMatricula.CURSO_INEXISTENTE;
+                            } else if (!rs.getBoolean("status")) {
+                                situacao = SituacaoMatricula.CURSO_INATIVO;
+                            } else {
+                                situacao = SituacaoMatricula.CURSO_CHEIO;
+                            }
+                        }
+                    }
+                    conn.rollback();
+                    return situacao;
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                    preencherInsert(stmt, aluno);
+                    stmt.executeUpdate();
+                    try (ResultSet rs = stmt.getGeneratedKeys()) {
+                        if (!rs.next()) {
+                            throw new SQLException("O banco não retornou o ID gerado.");
+                        }
+                        aluno.setIdAluno(rs.getInt(1));
+                    }
+                }
+                conn.commit();
+                return SituacaoMatricula.MATRICULADO;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Adiciona vários alunos usando o tamanho de lote configurado em
+     * {@code db.batch.size}.
+     *
+     * @see #adicionarEmLote(List, int)
+     */
+    public ResultadoLote<Aluno> adicionarEmLote(List<Aluno> alunos) throws SQLException {
+        int tamanhoLote = Integer.parseInt(ConnectionFactory.getProperty("db.batch.size", "500"));
+        return adicionarEmLote(alunos, tamanhoLote);
+    }
+
+    /**
+     * Adiciona vários alunos usando lotes JDBC. Com
+     * {@code rewriteBatchedStatements=true} na URL, cada lote é enviado como um
+     * único INSERT de múltiplas linhas.
+     * Cada lote roda em uma transação que começa bloqueando as linhas dos
+     * cursos do lote ({@code SELECT ... FOR UPDATE}, em ordem de ID) para ler
+     * as vagas livres: as vagas são reservadas e os contadores atualizados na
+     * mesma transação da inserção, então matrículas e lotes simultâneos, desta
+     * ou de outra instância, nunca passam do limite do curso. Linhas de cursos
+     * inexistentes, inativos ou sem vaga são devolvidas como falhas com o
+     * motivo de {@link SituacaoMatricula}.
+     * Se o lote falhar, ele é desfeito e as linhas são reenviadas uma a uma
+     * para identificar exatamente quais falham; nesse caso a vaga só é ocupada
+     * pelas linhas gravadas.
+     * Se o servidor desfizer a transação do lote (deadlock ou tempo de espera
+     * por lock), o lote inteiro é refeito, até {@value #TENTATIVAS_LOTE} vezes.
+     * Assim como {@link #adicionar(Aluno)}, não faz validações de campos.
+     *
+     * @param alunos      Os alunos a serem adicionados (idAluno ignorado).
+     * @param tamanhoLote Quantidade de linhas por executeBatch.
+     * @return Os alunos gravados, com IDs gerados, e as linhas que falharam
+     *         (índices relativos à lista recebida).
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados que
+     *                      não seja específico de uma linha.
+     */
+    public ResultadoLote<Aluno> adicionarEmLote(List<Aluno> alunos, int tamanhoLote) throws SQLException {
+        if (tamanhoLote < 1) {
+            throw new IllegalArgumentException("Tamanho de lote deve ser no mínimo 1.");
+        }
+        ResultadoLote<Aluno> resultado = new ResultadoLote<>();
+        if (alunos.isEmpty()) {
+            return resultado;
+        }
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
+            conn.setAutoCommit(false);
+            for (int inicio = 0; inicio < alunos.size(); inicio += tamanhoLote) {
+                List<Aluno> lote = alunos.subList(inicio, Math.min(inicio + tamanhoLote, alunos.size()));
+                ResultadoLote<Aluno> doLote = null;
+                for (int tentativa = 1; doLote == null; tentativa++) {
+                    try {
+                        doLote = gravarLoteOuLinhaALinha(conn, stmt, lote, inicio);
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        stmt.clearBatch();
+                        // Deadlock ou espera por lock: o servidor já desfez o
+                        // lote inteiro, que é refeito do começo
+                        if (!isErroDeTransacao(e) || tentativa == TENTATIVAS_LOTE) {
+                            throw e;
+                        }
+                    } catch (RuntimeException e) {
+                        conn.rollback();
+                        throw e;
+                    }
+                }
+                // Só entram no resultado depois do commit do lote
+                doLote.getSucesso().forEach(resultado::adicionarSucesso);
+                for (ResultadoLote.Falha<Aluno> falha : doLote.getFalhas()) {
+                    resultado.adicionarFalha(falha.indice(), falha.item(), falha.motivo());
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Grava o lote com um único executeBatch ou, se alguma linha falhar, linha
+     * a linha.
+     *
+     * @throws SQLException Se o erro não for de uma linha específica; a
+     *                      transação deve ser desfeita por quem chamou.
+     */
+    private ResultadoLote<Aluno> gravarLoteOuLinhaALinha(Connection conn, PreparedStatement stmt, List<Aluno> lote,
+            int deslocamento) throws SQLException {
+        try {
+            return gravarLote(conn, stmt, lote, deslocamento);
+        } catch (BatchUpdateException e) {
+            if (isErroDeTransacao(e)) {
+                throw e;
+            }
+            conn.rollback();
+            stmt.clearBatch();
+            return gravarLinhaALinha(conn, stmt, lote, deslocamento);
+        }
+    }
+
+    /**
+     * Grava um lote com um único executeBatch, depois de reservar as vagas.
+     *
+     * @param deslocamento Índice da primeira linha do lote na lista original.
+     * @throws BatchUpdateException Se alguma linha do lote falhar (nada é
+     *                              gravado).
+     */
+    private ResultadoLote<Aluno> gravarLote(Connection conn, PreparedStatement stmt, List<Aluno> lote,
+            int deslocamento) throws SQLException {
+        ResultadoLote<Aluno> doLote = new ResultadoLote<>();
+        Map<Integer, Integer> vagas = bloquearVagas(conn, lote);
+        List<Aluno> aceitos = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            Aluno aluno = lote.get(i);
+            SituacaoMatricula situacao = situacaoVaga(vagas, aluno.getIdCurso());
+            if (situacao == SituacaoMatricula.MATRICULADO) {
+                vagas.merge(aluno.getIdCurso(), -1, Integer::sum);
+                preencherInsert(stmt, aluno);
+                stmt.addBatch();
+                aceitos.add(aluno);
+            } else {
+                doLote.adicionarFalha(deslocamento + i, aluno, situacao.getDescricao());
+            }
+        }
+        List<Aluno> gravados = new ArrayList<>(aceitos.size());
+        if (!aceitos.isEmpty()) {
+            stmt.executeBatch();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                for (Aluno aluno : aceitos) {
+                    if (!rs.next()) {
+                        throw new SQLException("O banco não retornou os IDs gerados do lote.");
                     }
+                    gravados.add(comId(rs.getInt(1), aluno));
+                }
+            }
+        }
+        ajustarContadores(conn, gravados);
+        conn.commit();
+        gravados.forEach(doLote::adicionarSucesso);
+        return doLote;
+    }
+
+    /**
+     * Grava as linhas de um lote que falhou uma a uma, na mesma transação, para
+     * registrar quais falham. A vaga só é ocupada quando a linha é gravada.
+     */
+    private ResultadoLote<Aluno> gravarLinhaALinha(Connection conn, PreparedStatement stmt, List<Aluno> lote,
+            int deslocamento) throws SQLException {
+        ResultadoLote<Aluno> doLote = new ResultadoLote<>();
+        Map<Integer, Integer> vagas = bloquearVagas(conn, lote);
+        List<Aluno> gravados = new ArrayList<>(lote.size());
+        for (int i = 0; i < lote.size(); i++) {
+            Aluno aluno = lote.get(i);
+            SituacaoMatricula situacao = situacaoVaga(vagas, aluno.getIdCurso());
+            if (situacao != SituacaoMatricula.MATRICULADO) {
+                doLote.adicionarFalha(deslocamento + i, aluno, situacao.getDescricao());
+                continue;
+            }
+            Aluno gravado = adicionarLinhaDoLote(stmt, aluno, deslocamento + i, doLote);
+            if (gravado != null) {
+                vagas.merge(aluno.getIdCurso(), -1, Integer::sum);
+                gravados.add(gravado);
+            }
+        }
+        ajustarContadores(conn, gravados);
+        conn.commit();
+        gravados.forEach(doLote::adicionarSucesso);
+        return doLote;
+    }
+
+    /**
+     * Bloqueia, até o fim da transação, as linhas dos cursos do lote e lê as
+     * vagas livres de cada um. As linhas são bloqueadas em ordem de ID, a
+     * mesma para todos os lotes, para que lotes simultâneos não entrem em
+     * deadlock.
+     *
+     * @return Vagas livres por ID de curso; cursos inativos ficam com -1 e
+     *         cursos inexistentes não aparecem.
+     */
+    private Map<Integer, Integer> bloquearVagas(Connection conn, List<Aluno> lote) throws SQLException {
+        Set<Integer> ids = new TreeSet<>();
+        for (Aluno aluno : lote) {
+            ids.add(aluno.getIdCurso());
+        }
+        String sql = "SELECT idCurso, status, limiteAlunos, totalAlunos FROM curso WHERE idCurso IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ") ORDER BY idCurso FOR UPDATE";
+        Map<Integer, Integer> vagas = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int i = 1;
+            for (int id : ids) {
+                stmt.setInt(i++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int livres = rs.getBoolean("status")
+                            ? Math.max(0, rs.getInt("limiteAlunos") - rs.getInt("totalAlunos"))
+                            : -1;
+                    vagas.put(rs.getInt("idCurso"), livres);
+                }
+            }
+        }
+        return vagas;
+    }
+
+    /**
+     * @return {@link SituacaoMatricula#MATRICULADO} se o curso tem vaga, ou o
+     *         motivo pelo qual a linha não pode ser gravada.
+     */
+    private static SituacaoMatricula situacaoVaga(Map<Integer, Integer> vagas, int idCurso) {
+        Integer livres = vagas.get(idCurso);
+        if (livres == null) {
+            return SituacaoMatricula.CURSO_INEXISTENTE;
+        }
+        if (livres < 0) {
+            return SituacaoMatricula.CURSO_INATIVO;
+        }
+        return livres == 0 ? SituacaoMatricula.CURSO_CHEIO : SituacaoMatricula.MATRICULADO;
+    }
+
+    /**
+     * Insere uma única linha de um lote que falhou, registrando a falha no
+     * resultado. Só erros da própria linha (CPF duplicado, restrições, dados
+     * inválidos) viram falha; os demais, como deadlock, desfazem a transação
+     * inteira no servidor e são relançados.
+     *
+     * @return O aluno gravado, com o ID gerado, ou null se a linha falhou.
+     */
+    private Aluno adicionarLinhaDoLote(PreparedStatement stmt, Aluno aluno, int indice, ResultadoLote<Aluno> resultado)
+            throws SQLException {
+        try {
+            preencherInsert(stmt, aluno);
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    return comId(rs.getInt(1), aluno);
                 }
+                resultado.adicionarFalha(indice, aluno, "O banco não retornou o ID gerado.");
+            }
+        } catch (SQLException e) {
+            if (!isErroDaLinha(e)) {
+                throw e;
             }
+            resultado.adicionarFalha(indice, aluno, isCpfDuplicado(e) ? "CPF já cadastrado." : e.getMessage());
         }
-        return null; // Retorna null se a inserção falhar ou o ID não for gerado
+        return null;
+    }
+
+    /**
+     * @return true se o erro desfez a transação inteira (deadlock ou tempo de
+     *         espera por lock), e não só o comando.
+     */
+    private static boolean isErroDeTransacao(SQLException e) {
+        return e instanceof SQLTransactionRollbackException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("40"));
+    }
+
+    /**
+     * @return true se o erro é da linha enviada (restrição de integridade ou
+     *         dado inválido) e os demais comandos da transação continuam
+     *         valendo.
+     */
+    private static boolean isErroDaLinha(SQLException e) {
+        if (e instanceof SQLIntegrityConstraintViolationException || e instanceof SQLDataException) {
+            return true;
+        }
+        String estado = e.getSQLState();
+        return estado != null && (estado.startsWith("23") || estado.startsWith("22"));
     }
 
     /**
@@ -73,7 +436,8 @@ public class AlunoDao implements AutoCloseable {
      */
     public Optional<Aluno> buscarPorCpf(String cpf) throws SQLException {
         String sql = "SELECT idAluno, idCurso, nome, cpf, telefone, email, dataNascimento, status FROM aluno WHERE cpf = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, cpf);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -94,7 +458,8 @@ public class AlunoDao implements AutoCloseable {
      */
     public Optional<Aluno> buscarPorId(int idAluno) throws SQLException {
         String sql = "SELECT idAluno, idCurso, nome, cpf, telefone, email, dataNascimento, status FROM aluno WHERE idAluno = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, idAluno);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -114,7 +479,8 @@ public class AlunoDao implements AutoCloseable {
     public List<Aluno> buscarTodos() throws SQLException {
         List<Aluno> alunos = new ArrayList<>();
         String sql = "SELECT idAluno, idCurso, nome, cpf, telefone, email, dataNascimento, status FROM aluno";
-        try (PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql);
                 ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 alunos.add(criarAlunoDoResultSet(rs));
@@ -126,7 +492,8 @@ public class AlunoDao implements AutoCloseable {
     public List<Aluno> buscarTodosFiltrado(Status filterStatus) throws SQLException {
         List<Aluno> alunos = new ArrayList<>();
         String sql = "SELECT idAluno, idCurso, nome, cpf, telefone, email, dataNascimento, status FROM aluno WHERE status = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setBoolean(1, filterStatus.isAtivo());
             ResultSet rs = stmt.executeQuery();
             while (rs.next()) {
@@ -152,15 +519,47 @@ public class AlunoDao implements AutoCloseable {
      */
     public boolean atualizar(Aluno aluno) throws SQLException {
         String sql = "UPDATE aluno SET idCurso = ?, nome = ?, telefone = ?, email = ?, dataNascimento = ?, status = ? WHERE idAluno = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, aluno.getIdCurso());
-            stmt.setString(2, aluno.getNome());
-            stmt.setString(3, aluno.getTelefone());
-            stmt.setString(4, aluno.getEmail());
-            stmt.setDate(5, Date.valueOf(aluno.getDataNascimento()));
-            stmt.setBoolean(6, aluno.isAtivo().isAtivo());
-            stmt.setInt(7, aluno.getIdAluno());
-            return stmt.executeUpdate() > 0;
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Optional<int[]> anterior = bloquearCursoEStatus(conn, aluno.getIdAluno());
+                if (anterior.isEmpty()) {
+                    conn.rollback();
+                    return false;
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, aluno.getIdCurso());
+                    stmt.setString(2, aluno.getNome());
+                    stmt.setString(3, aluno.getTelefone());
+                    stmt.setString(4, aluno.getEmail());
+                    stmt.setDate(5, Date.valueOf(aluno.getDataNascimento()));
+                    stmt.setBoolean(6, aluno.isAtivo().isAtivo());
+                    stmt.setInt(7, aluno.getIdAluno());
+                    stmt.executeUpdate();
+                }
+                int cursoAnterior = anterior.get()[0];
+                int ativoAnterior = anterior.get()[1];
+                int cursoNovo = aluno.getIdCurso();
+                int ativoNovo = aluno.isAtivo().isAtivo() ? 1 : 0;
+                if (cursoAnterior == cursoNovo) {
+                    if (ativoAnterior != ativoNovo) {
+                        ajustarContadores(conn, cursoNovo, 0, ativoNovo - ativoAnterior);
+                    }
+                } else if (cursoAnterior < cursoNovo) {
+                    // Transferência: atualiza os dois cursos sempre na ordem do ID
+                    // para que transferências opostas não entrem em deadlock
+                    ajustarContadores(conn, cursoAnterior, -1, -ativoAnterior);
+                    ajustarContadores(conn, cursoNovo, 1, ativoNovo);
+                } else {
+                    ajustarContadores(conn, cursoNovo, 1, ativoNovo);
+                    ajustarContadores(conn, cursoAnterior, -1, -ativoAnterior);
+                }
+                conn.commit();
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
         }
     }
 
@@ -173,9 +572,25 @@ public class AlunoDao implements AutoCloseable {
      */
     public boolean deletar(int id) throws SQLException {
         String sql = "DELETE FROM aluno WHERE idAluno = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Optional<int[]> anterior = bloquearCursoEStatus(conn, id);
+                if (anterior.isEmpty()) {
+                    conn.rollback();
+                    return false;
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, id);
+                    stmt.executeUpdate();
+                }
+                ajustarContadores(conn, anterior.get()[0], -1, -anterior.get()[1]);
+                conn.commit();
+                return true;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
         }
     }
 
@@ -183,29 +598,116 @@ public class AlunoDao implements AutoCloseable {
      * Ativa o status de um aluno no banco de dados.
      * 
      * @param id O CPF do aluno a ser ativado.
-     * @return true se o aluno foi ativado, false caso contrário.
+     * @return true se o aluno foi ativado, false caso contrário (incluindo se
+     *         já estava ativo).
      * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
      */
     public boolean ativar(int id) throws SQLException {
-        String sql = "UPDATE aluno SET status = TRUE WHERE idAluno = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
-        }
+        return alterarStatus(id, true);
     }
 
     /**
      * Desativa o status de um aluno no banco de dados.
      * 
      * @param idAluno
-     * @return true se o aluno foi desativado, false caso contrário.
+     * @return true se o aluno foi desativado, false caso contrário (incluindo
+     *         se já estava inativo).
      * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
      */
     public boolean desativar(int idAluno) throws SQLException {
-        String sql = "UPDATE aluno SET status = FALSE WHERE idAluno = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, idAluno);
-            return stmt.executeUpdate() > 0;
+        return alterarStatus(idAluno, false);
+    }
+
+    /**
+     * Altera o status de um aluno e o contador de alunos ativos do curso na
+     * mesma transação. O contador só muda se o status realmente mudou.
+     */
+    private boolean alterarStatus(int idAluno, boolean ativo) throws SQLException {
+        String sql = "UPDATE aluno SET status = ? WHERE idAluno = ? AND status <> ?";
+        String sqlCurso = "UPDATE curso SET alunosAtivos = alunosAtivos + ? "
+                + "WHERE idCurso = (SELECT idCurso FROM aluno WHERE idAluno = ?)";
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                boolean alterado;
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setBoolean(1, ativo);
+                    stmt.setInt(2, idAluno);
+                    stmt.setBoolean(3, ativo);
+                    alterado = stmt.executeUpdate() > 0;
+                }
+                if (alterado) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sqlCurso)) {
+                        stmt.setInt(1, ativo ? 1 : -1);
+                        stmt.setInt(2, idAluno);
+                        stmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+                return alterado;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Altera o status de vários alunos de uma vez, em uma única transação.
+     * Os alunos que já estão no status pedido são ignorados. Os IDs são
+     * processados em blocos {@code IN (...)} de {@code db.inList.chunkSize}
+     * (travados com {@code FOR UPDATE}), e os contadores de alunos ativos
+     * recebem um UPDATE por curso afetado.
+     *
+     * @param ids   Os IDs dos alunos (inexistentes são ignorados).
+     * @param ativo O novo status.
+     * @return Os IDs dos alunos cujo status mudou.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public List<Integer> alterarStatusEmLote(Collection<Integer> ids, boolean ativo) throws SQLException {
+        List<Integer> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        distintos.remove(null);
+        if (distintos.isEmpty()) {
+            return List.of();
+        }
+        int tamanhoBloco = Math.min(distintos.size(), tamanhoBlocoIn());
+        String sqlBloquear = "SELECT idAluno, idCurso FROM aluno WHERE status <> ? AND idAluno IN ("
+                + marcadores(tamanhoBloco) + ") FOR UPDATE";
+        String sqlAtualizar = "UPDATE aluno SET status = ? WHERE idAluno IN (" + marcadores(tamanhoBloco) + ")";
+        Map<Integer, Integer> alteradosPorCurso = new TreeMap<>();
+        List<Integer> alterados = new ArrayList<>();
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement bloquear = conn.prepareStatement(sqlBloquear);
+                    PreparedStatement atualizar = conn.prepareStatement(sqlAtualizar)) {
+                for (int inicio = 0; inicio < distintos.size(); inicio += tamanhoBloco) {
+                    int fim = Math.min(inicio + tamanhoBloco, distintos.size());
+                    bloquear.setBoolean(1, ativo);
+                    preencherIn(bloquear, 2, distintos.subList(inicio, fim), tamanhoBloco);
+                    List<Integer> alterar = new ArrayList<>();
+                    try (ResultSet rs = bloquear.executeQuery()) {
+                        while (rs.next()) {
+                            alterar.add(rs.getInt("idAluno"));
+                            alteradosPorCurso.merge(rs.getInt("idCurso"), 1, Integer::sum);
+                        }
+                    }
+                    if (!alterar.isEmpty()) {
+                        atualizar.setBoolean(1, ativo);
+                        preencherIn(atualizar, 2, alterar, tamanhoBloco);
+                        atualizar.executeUpdate();
+                        alterados.addAll(alterar);
+                    }
+                }
+                for (Map.Entry<Integer, Integer> curso : alteradosPorCurso.entrySet()) {
+                    int delta = ativo ? curso.getValue() : -curso.getValue();
+                    ajustarContadores(conn, curso.getKey(), 0, delta);
+                }
+                conn.commit();
+                return alterados;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
         }
     }
 
@@ -219,7 +721,8 @@ public class AlunoDao implements AutoCloseable {
      */
     public boolean estaAtivo(int id) throws SQLException {
         String sql = "SELECT status FROM aluno WHERE idAluno = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 return rs.next() && rs.getBoolean("status");
@@ -236,7 +739,8 @@ public class AlunoDao implements AutoCloseable {
      */
     public boolean existeAluno(int id) throws SQLException {
         String sql = "SELECT COUNT(*) FROM aluno WHERE idAluno = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 return rs.next() && rs.getInt(1) > 0; // Verifica se há pelo menos uma linha e a contagem é maior que 0
@@ -254,7 +758,8 @@ public class AlunoDao implements AutoCloseable {
     public List<Aluno> buscarAlunosPorCurso(int idCurso) throws SQLException {
         List<Aluno> alunosDoCurso = new ArrayList<>();
         String sql = "SELECT idAluno, idCurso, nome, cpf, telefone, email, dataNascimento, status FROM aluno WHERE idCurso = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, idCurso);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -268,7 +773,8 @@ public class AlunoDao implements AutoCloseable {
     public List<Aluno> buscarAlunosPorCurso(int idCurso, Status filterStatus) throws SQLException {
         List<Aluno> alunosFiltradosDoCurso = new ArrayList<>();
         String sql = "SELECT idAluno, idCurso, nome, cpf, telefone, email, dataNascimento, status FROM aluno WHERE idCurso = ? AND status = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, idCurso);
             stmt.setBoolean(2, filterStatus.isAtivo());
             try (ResultSet rs = stmt.executeQuery()) {
@@ -280,7 +786,499 @@ public class AlunoDao implements AutoCloseable {
         return alunosFiltradosDoCurso;
     }
 
-    // --- Método Auxiliar Privado ---
+    // --- Listagem com o nome do curso ---
+
+    /**
+     * Busca os alunos junto com o nome do curso em uma única consulta (JOIN),
+     * evitando uma busca de curso por aluno.
+     *
+     * @param filterStatus Filtra por status, ou null para todos.
+     * @return Os alunos com o nome do curso, ordenados por idAluno.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public List<AlunoComCurso> buscarTodosComCurso(Status filterStatus) throws SQLException {
+        List<AlunoComCurso> alunos = new ArrayList<>();
+        try (Stream<AlunoComCurso> stream = streamComCurso(null, filterStatus)) {
+            stream.forEach(alunos::add);
+        }
+        return alunos;
+    }
+
+    /**
+     * Lê sob demanda os alunos com o nome do curso (JOIN). O stream deve ser
+     * fechado após o uso.
+     *
+     * @param idCurso      Filtra por curso, ou null para todos os cursos.
+     * @param filterStatus Filtra por status, ou null para todos.
+     * @return Um stream ordenado por idAluno.
+     * @throws SQLException Se a consulta não puder ser executada.
+     */
+    public Stream<AlunoComCurso> streamComCurso(Integer idCurso, Status filterStatus) throws SQLException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT a.idAluno, a.idCurso, a.nome, a.cpf, a.telefone, a.email, a.dataNascimento, a.status, "
+                        + "c.nome AS nomeCurso FROM aluno a JOIN curso c ON c.idCurso = a.idCurso WHERE 1 = 1");
+        if (idCurso != null) {
+            sql.append(" AND a.idCurso = ?");
+        }
+        if (filterStatus != null) {
+            sql.append(" AND a.status = ?");
+        }
+        sql.append(" ORDER BY a.idAluno");
+        return ResultSetStream.consultar(sql.toString(), stmt -> {
+            int i = 1;
+            if (idCurso != null) {
+                stmt.setInt(i++, idCurso);
+            }
+            if (filterStatus != null) {
+                stmt.setBoolean(i, filterStatus.isAtivo());
+            }
+        }, rs -> new AlunoComCurso(criarAlunoDoResultSet(rs), rs.getString("nomeCurso")));
+    }
+
+    // --- Paginação ---
+
+    /**
+     * Busca uma página de alunos usando paginação por chave (keyset): a
+     * consulta continua a partir da chave do último item da página anterior,
+     * sem OFFSET, então o custo é o mesmo em qualquer ponto da tabela.
+     *
+     * @param idCurso      Filtra por curso, ou null para todos os cursos.
+     * @param filterStatus Filtra por status, ou null para todos.
+     * @param ordem        Ordenação por ID ou por nome (desempate pelo ID).
+     * @param ultimoId     ID do último aluno da página anterior (0 na primeira).
+     * @param ultimoNome   Nome do último aluno da página anterior, usado na
+     *                     ordenação por nome (null na primeira).
+     * @param limite       Número máximo de linhas retornadas.
+     * @return Os alunos da página, na ordem pedida.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public List<Aluno> buscarPagina(Integer idCurso, Status filterStatus, OrdemListagem ordem, int ultimoId,
+            String ultimoNome, int limite) throws SQLException {
+        return consultarPagina(SQL_SELECT + " a", idCurso, filterStatus, ordem, ultimoId, ultimoNome, limite,
+                this::criarAlunoDoResultSet);
+    }
+
+    /**
+     * Busca uma página de alunos com o nome do curso, usando os mesmos
+     * critérios de {@link #buscarPagina}.
+     *
+     * @return Os alunos da página com o nome do curso, na ordem pedida.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public List<AlunoComCurso> buscarPaginaComCurso(Integer idCurso, Status filterStatus, OrdemListagem ordem,
+            int ultimoId, String ultimoNome, int limite) throws SQLException {
+        return consultarPagina(
+                "SELECT a.idAluno, a.idCurso, a.nome, a.cpf, a.telefone, a.email, a.dataNascimento, a.status, "
+                        + "c.nome AS nomeCurso FROM aluno a JOIN curso c ON c.idCurso = a.idCurso",
+                idCurso, filterStatus, ordem, ultimoId, ultimoNome, limite,
+                rs -> new AlunoComCurso(criarAlunoDoResultSet(rs), rs.getString("nomeCurso")));
+    }
+
+    /**
+     * Monta e executa a consulta de uma página. O SELECT deve usar o alias
+     * {@code a} para a tabela aluno.
+     */
+    private <T> List<T> consultarPagina(String select, Integer idCurso, Status filterStatus, OrdemListagem ordem,
+            int ultimoId, String ultimoNome, int limite, ResultSetStream.Mapeador<T> mapeador) throws SQLException {
+        StringBuilder sql = new StringBuilder(select).append(" WHERE 1 = 1");
+        List<Object> parametros = new ArrayList<>();
+        if (idCurso != null) {
+            sql.append(" AND a.idCurso = ?");
+            parametros.add(idCurso);
+        }
+        if (filterStatus != null) {
+            sql.append(" AND a.status = ?");
+            parametros.add(filterStatus.isAtivo());
+        }
+        if (ordem == OrdemListagem.NOME) {
+            if (ultimoNome != null) {
+                sql.append(" AND (a.nome > ? OR (a.nome = ? AND a.idAluno > ?))");
+                parametros.add(ultimoNome);
+                parametros.add(ultimoNome);
+                parametros.add(ultimoId);
+            }
+            sql.append(" ORDER BY a.nome, a.idAluno");
+        } else {
+            sql.append(" AND a.idAluno > ? ORDER BY a.idAluno");
+            parametros.add(ultimoId);
+        }
+        sql.append(" LIMIT ?");
+        parametros.add(limite);
+
+        List<T> itens = new ArrayList<>(limite);
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    itens.add(mapeador.mapear(rs));
+                }
+            }
+        }
+        return itens;
+    }
+
+    // --- Busca textual ---
+
+    /**
+     * Busca alunos pelo nome e email usando o índice FULLTEXT
+     * (ft_aluno_nome_email), ordenados por relevância.
+     *
+     * Cada palavra do texto vira um termo obrigatório com busca por prefixo
+     * ({@code +palavra*}, no modo booleano), então "mar silv" encontra "Maria
+     * da Silva". Palavras com menos de 3 caracteres são ignoradas, como no
+     * índice do InnoDB.
+     *
+     * A relevância não é uma chave única nem estável entre consultas, então
+     * as páginas são por deslocamento (OFFSET); o desempate pelo ID mantém a
+     * ordem determinística.
+     *
+     * @param texto        O texto buscado.
+     * @param idCurso      Filtra por curso, ou null para todos os cursos.
+     * @param filterStatus Filtra por status, ou null para todos.
+     * @param deslocamento Quantidade de resultados a pular.
+     * @param limite       Número máximo de linhas retornadas.
+     * @return Os alunos encontrados com o nome do curso, do mais relevante para
+     *         o menos relevante (vazio se o texto não tiver palavras
+     *         pesquisáveis).
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public List<AlunoComCurso> buscarPorTexto(String texto, Integer idCurso, Status filterStatus, int deslocamento,
+            int limite) throws SQLException {
+        String expressao = expressaoBooleana(texto);
+        if (expressao.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder(
+                "SELECT a.idAluno, a.idCurso, a.nome, a.cpf, a.telefone, a.email, a.dataNascimento, a.status, "
+                        + "c.nome AS nomeCurso, MATCH (a.nome, a.email) AGAINST (? IN BOOLEAN MODE) AS relevancia "
+                        + "FROM aluno a JOIN curso c ON c.idCurso = a.idCurso "
+                        + "WHERE MATCH (a.nome, a.email) AGAINST (? IN BOOLEAN MODE)");
+        List<Object> parametros = new ArrayList<>(List.of(expressao, expressao));
+        if (idCurso != null) {
+            sql.append(" AND a.idCurso = ?");
+            parametros.add(idCurso);
+        }
+        if (filterStatus != null) {
+            sql.append(" AND a.status = ?");
+            parametros.add(filterStatus.isAtivo());
+        }
+        sql.append(" ORDER BY relevancia DESC, a.idAluno LIMIT ? OFFSET ?");
+        parametros.add(limite);
+        parametros.add(deslocamento);
+
+        List<AlunoComCurso> itens = new ArrayList<>(limite);
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    itens.add(new AlunoComCurso(criarAlunoDoResultSet(rs), rs.getString("nomeCurso")));
+                }
+            }
+        }
+        return itens;
+    }
+
+    /**
+     * Converte o texto digitado em uma expressão do modo booleano do FULLTEXT
+     * ({@code +palavra1* +palavra2*}). Só letras e dígitos são mantidos, então
+     * operadores digitados pelo usuário não alteram a consulta.
+     */
+    private static String expressaoBooleana(String texto) {
+        StringBuilder expressao = new StringBuilder();
+        for (String palavra : palavrasPesquisaveis(texto)) {
+            if (expressao.length() > 0) {
+                expressao.append(' ');
+            }
+            expressao.append('+').append(palavra).append('*');
+        }
+        return expressao.toString();
+    }
+
+    /**
+     * Separa o texto em palavras como o índice FULLTEXT: só letras e dígitos,
+     * descartando as palavras curtas demais para o índice.
+     *
+     * @return As palavras que {@link #buscarPorTexto} procura (vazio para
+     *         texto null).
+     */
+    public static List<String> palavrasPesquisaveis(String texto) {
+        if (texto == null) {
+            return List.of();
+        }
+        List<String> palavras = new ArrayList<>();
+        for (String palavra : SEPARADORES_TEXTO.split(texto)) {
+            if (palavra.length() >= TAMANHO_MINIMO_PALAVRA) {
+                palavras.add(palavra);
+            }
+        }
+        return palavras;
+    }
+
+    // --- Leitura em Stream ---
+
+    /**
+     * Lê os alunos sob demanda, sem carregar a tabela inteira na memória.
+     * O stream mantém uma conexão do pool até ser fechado, então deve ser usado
+     * em um try-with-resources.
+     *
+     * @param filterStatus Filtra por status, ou null para todos os alunos.
+     * @return Um stream de alunos ordenado por idAluno.
+     * @throws SQLException Se a consulta não puder ser executada.
+     */
+    public Stream<Aluno> streamTodos(Status filterStatus) throws SQLException {
+        if (filterStatus == null) {
+            return ResultSetStream.consultar(SQL_SELECT + " ORDER BY idAluno", stmt -> {
+            }, this::criarAlunoDoResultSet);
+        }
+        return ResultSetStream.consultar(SQL_SELECT + " WHERE status = ? ORDER BY idAluno",
+                stmt -> stmt.setBoolean(1, filterStatus.isAtivo()), this::criarAlunoDoResultSet);
+    }
+
+    /**
+     * Lê sob demanda os alunos de um curso. Assim como
+     * {@link #streamTodos(Status)}, o stream deve ser fechado após o uso.
+     *
+     * @param idCurso      O ID do curso.
+     * @param filterStatus Filtra por status, ou null para todos os alunos.
+     * @return Um stream de alunos do curso ordenado por idAluno.
+     * @throws SQLException Se a consulta não puder ser executada.
+     */
+    public Stream<Aluno> streamPorCurso(int idCurso, Status filterStatus) throws SQLException {
+        if (filterStatus == null) {
+            return ResultSetStream.consultar(SQL_SELECT + " WHERE idCurso = ? ORDER BY idAluno",
+                    stmt -> stmt.setInt(1, idCurso), this::criarAlunoDoResultSet);
+        }
+        return ResultSetStream.consultar(SQL_SELECT + " WHERE idCurso = ? AND status = ? ORDER BY idAluno", stmt -> {
+            stmt.setInt(1, idCurso);
+            stmt.setBoolean(2, filterStatus.isAtivo());
+        }, this::criarAlunoDoResultSet);
+    }
+
+    /**
+     * Lê sob demanda o CPF de todos os alunos. O stream deve ser fechado após o
+     * uso.
+     *
+     * @return Um stream com os CPFs cadastrados.
+     * @throws SQLException Se a consulta não puder ser executada.
+     */
+    public Stream<String> streamCpfs() throws SQLException {
+        return ResultSetStream.consultar("SELECT cpf FROM aluno", stmt -> {
+        }, rs -> rs.getString(1));
+    }
+
+    /**
+     * @return O maior idAluno cadastrado, ou 0 se não houver alunos.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public int buscarMaiorId() throws SQLException {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement("SELECT COALESCE(MAX(idAluno), 0) FROM aluno");
+                ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Lê os CPFs dos alunos com ID maior que {@code aposIdAluno}, pela faixa da
+     * chave primária (normalmente poucas linhas: as inseridas depois de um
+     * determinado ponto).
+     *
+     * @param aposIdAluno O maior ID já conhecido.
+     * @param destino     Recebe cada CPF lido, em ordem de ID.
+     * @return O maior ID lido, ou {@code aposIdAluno} se não houver alunos
+     *         novos.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public int lerCpfsApos(int aposIdAluno, Consumer<String> destino) throws SQLException {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn
+                        .prepareStatement("SELECT idAluno, cpf FROM aluno WHERE idAluno > ? ORDER BY idAluno")) {
+            stmt.setInt(1, aposIdAluno);
+            int maiorId = aposIdAluno;
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    maiorId = rs.getInt(1);
+                    destino.accept(rs.getString(2));
+                }
+            }
+            return maiorId;
+        }
+    }
+
+    // --- Verificação de Duplicidade ---
+
+    /**
+     * Verifica quais dos CPFs informados já estão cadastrados, com consultas
+     * {@code WHERE cpf IN (...)} de até {@code db.inList.chunkSize} CPFs cada
+     * (resolvidas pelo índice único de cpf), todas na mesma conexão.
+     * O último bloco é completado repetindo um CPF, para que todas as
+     * consultas tenham o mesmo texto SQL e reaproveitem o statement preparado.
+     *
+     * @param cpfs Os CPFs candidatos (repetidos e nulos são ignorados).
+     * @return Os CPFs da coleção que já existem no banco.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public Set<String> buscarCpfsExistentes(Collection<String> cpfs) throws SQLException {
+        List<String> distintos = new ArrayList<>(new LinkedHashSet<>(cpfs));
+        distintos.remove(null);
+        Set<String> existentes = new HashSet<>();
+        if (distintos.isEmpty()) {
+            return existentes;
+        }
+        int tamanhoBloco = Math.min(distintos.size(), tamanhoBlocoIn());
+        String sql = "SELECT cpf FROM aluno WHERE cpf IN (" + marcadores(tamanhoBloco) + ")";
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int inicio = 0; inicio < distintos.size(); inicio += tamanhoBloco) {
+                int fim = Math.min(inicio + tamanhoBloco, distintos.size());
+                preencherIn(stmt, 1, distintos.subList(inicio, fim), tamanhoBloco);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        existentes.add(rs.getString(1));
+                    }
+                }
+            }
+        }
+        return existentes;
+    }
+
+    /**
+     * Indica se o erro é uma violação de chave única (no caso de aluno, CPF já
+     * cadastrado).
+     *
+     * @param e O erro retornado pelo banco.
+     * @return true se for o erro de entrada duplicada do MySQL (1062).
+     */
+    public static boolean isCpfDuplicado(SQLException e) {
+        return e.getErrorCode() == ERRO_ENTRADA_DUPLICADA;
+    }
+
+    // --- Métodos Auxiliares Privados ---
+    private static final int ERRO_ENTRADA_DUPLICADA = 1062;
+    // Tentativas de um lote desfeito por deadlock ou tempo de espera por lock
+    private static final int TENTATIVAS_LOTE = 3;
+
+    private static final Pattern SEPARADORES_TEXTO = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    // innodb_ft_min_token_size padrão
+    private static final int TAMANHO_MINIMO_PALAVRA = 3;
+
+    /**
+     * Tamanho dos blocos {@code IN (...)} de CPFs e de IDs.
+     */
+    static int tamanhoBlocoIn() {
+        return Integer.parseInt(ConnectionFactory.getProperty("db.inList.chunkSize", "1000"));
+    }
+
+    /**
+     * Retorna {@code n} marcadores de parâmetro separados por vírgula.
+     */
+    static String marcadores(int n) {
+        return "?, ".repeat(n - 1) + "?";
+    }
+
+    /**
+     * Preenche {@code tamanhoBloco} parâmetros de uma lista IN a partir da
+     * posição {@code primeiro}, repetindo o último valor quando a lista for
+     * menor, para que o texto SQL (e o statement preparado) seja sempre o
+     * mesmo.
+     */
+    static void preencherIn(PreparedStatement stmt, int primeiro, List<?> valores, int tamanhoBloco)
+            throws SQLException {
+        for (int i = 0; i < tamanhoBloco; i++) {
+            stmt.setObject(primeiro + i, valores.get(Math.min(i, valores.size() - 1)));
+        }
+    }
+
+    private static final String SQL_SELECT = "SELECT idAluno, idCurso, nome, cpf, telefone, email, dataNascimento, status FROM aluno";
+
+    private static final String SQL_INSERT = "INSERT INTO aluno (idCurso, nome, cpf, telefone, email, dataNascimento, status) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_CONTADORES = "UPDATE curso SET totalAlunos = totalAlunos + ?, "
+            + "alunosAtivos = alunosAtivos + ? WHERE idCurso = ?";
+
+    /**
+     * Soma as variações aos contadores de um curso, na transação da conexão
+     * recebida.
+     */
+    private void ajustarContadores(Connection conn, int idCurso, int deltaTotal, int deltaAtivos)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_CONTADORES)) {
+            stmt.setInt(1, deltaTotal);
+            stmt.setInt(2, deltaAtivos);
+            stmt.setInt(3, idCurso);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Soma aos contadores os alunos recém-inseridos, com um UPDATE por curso
+     * (em ordem de ID, para evitar deadlocks entre lotes simultâneos).
+     */
+    private void ajustarContadores(Connection conn, List<Aluno> inseridos) throws SQLException {
+        if (inseridos.isEmpty()) {
+            return;
+        }
+        Map<Integer, int[]> porCurso = new TreeMap<>();
+        for (Aluno aluno : inseridos) {
+            int[] deltas = porCurso.computeIfAbsent(aluno.getIdCurso(), id -> new int[2]);
+            deltas[0]++;
+            if (aluno.isAtivo().isAtivo()) {
+                deltas[1]++;
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_CONTADORES)) {
+            for (Map.Entry<Integer, int[]> curso : porCurso.entrySet()) {
+                stmt.setInt(1, curso.getValue()[0]);
+                stmt.setInt(2, curso.getValue()[1]);
+                stmt.setInt(3, curso.getKey());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Lê o curso e o status atuais de um aluno com {@code FOR UPDATE}, para
+     * que os contadores sejam ajustados a partir de valores que não mudam até
+     * o commit.
+     *
+     * @return {idCurso, 1 se ativo ou 0 se inativo}, ou vazio se o aluno não
+     *         existir.
+     */
+    private Optional<int[]> bloquearCursoEStatus(Connection conn, int idAluno) throws SQLException {
+        String sql = "SELECT idCurso, status FROM aluno WHERE idAluno = ? FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, idAluno);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return Optional.empty();
+                }
+                return Optional.of(new int[] { rs.getInt("idCurso"), rs.getBoolean("status") ? 1 : 0 });
+            }
+        }
+    }
+
+    private void preencherInsert(PreparedStatement stmt, Aluno aluno) throws SQLException {
+        stmt.setInt(1, aluno.getIdCurso());
+        stmt.setString(2, aluno.getNome());
+        stmt.setString(3, aluno.getCpf());
+        stmt.setString(4, aluno.getTelefone());
+        stmt.setString(5, aluno.getEmail());
+        stmt.setDate(6, Date.valueOf(aluno.getDataNascimento())); // Converte LocalDate para java.sql.Date
+        stmt.setBoolean(7, aluno.isAtivo().isAtivo());
+    }
+
+    private Aluno comId(int idGerado, Aluno aluno) {
+        return new Aluno(idGerado, aluno.getIdCurso(), aluno.getNome(), aluno.getCpf(),
+                aluno.getTelefone(), aluno.getEmail(), aluno.getDataNascimento(), aluno.isAtivo());
+    }
+
     /**
      * Cria um objeto Aluno a partir de um ResultSet.
      * Centraliza a lógica de mapeamento de ResultSet para objeto Aluno.
@@ -303,15 +1301,10 @@ public class AlunoDao implements AutoCloseable {
 
     /**
      * Implementação do método close() da interface AutoCloseable.
-     * Garante que a conexão com o banco de dados seja fechada.
-     * 
-     * @throws SQLException Se ocorrer um erro ao fechar a conexão.
+     * Cada operação devolve sua conexão ao pool, então não há conexão a fechar
+     * aqui; o pool é encerrado por {@link ConnectionFactory#shutdown()}.
      */
     @Override
-    public void close() throws SQLException {
-        if (this.conn != null && !this.conn.isClosed()) {
-            this.conn.close();
-            System.out.println("Conexão do AlunoDao fechada.");
-        }
+    public void close() {
     }
 }
@@ -0,0 +1,92 @@
+package dao;
+
+import exceptions.ErroSistemaException;
+import factory.ConnectionFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Transforma uma consulta em um {@link Stream} preenchido sob demanda, linha a
+ * linha, a partir do ResultSet.
+ *
+ * A conexão, o statement e o ResultSet ficam abertos até o stream ser fechado,
+ * por isso o stream deve sempre ser usado em um try-with-resources. Erros de
+ * leitura durante a iteração são lançados como {@link ErroSistemaException}.
+ */
+final class ResultSetStream {
+
+    /**
+     * Converte a linha atual do ResultSet em um objeto.
+     */
+    @FunctionalInterface
+    interface Mapeador<T> {
+        T mapear(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Preenche os parâmetros do PreparedStatement antes da execução.
+     */
+    @FunctionalInterface
+    interface Parametros {
+        void preencher(PreparedStatement stmt) throws SQLException;
+    }
+
+    private ResultSetStream() {
+    }
+
+    /**
+     * Executa a consulta em uma conexão própria do pool e retorna as linhas
+     * como um stream. O fetch size vem de {@code db.stream.fetchSize}; o valor
+     * padrão ({@code Integer.MIN_VALUE}) faz o driver MySQL trazer as linhas
+     * uma a uma, sem carregar o resultado inteiro na memória.
+     *
+     * @param sql        A consulta.
+     * @param parametros Preenche os parâmetros da consulta.
+     * @param mapeador   Converte cada linha.
+     * @return Um stream que libera a conexão ao ser fechado.
+     * @throws SQLException Se a consulta não puder ser executada.
+     */
+    static <T> Stream<T> consultar(String sql, Parametros parametros, Mapeador<T> mapeador) throws SQLException {
+        int fetchSize = Integer.parseInt(
+                ConnectionFactory.getProperty("db.stream.fetchSize", String.valueOf(Integer.MIN_VALUE)));
+        Connection conn = ConnectionFactory.getConnection();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            stmt = conn.prepareStatement(sql);
+            stmt.setFetchSize(fetchSize);
+            parametros.preencher(stmt);
+            rs = stmt.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            ConnectionFactory.closeConnection(conn, stmt, rs);
+            throw e;
+        }
+
+        final PreparedStatement stmtAberto = stmt;
+        final ResultSet rsAberto = rs;
+        Spliterator<T> linhas = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> acao) {
+                try {
+                    if (!rsAberto.next()) {
+                        return false;
+                    }
+                    acao.accept(mapeador.mapear(rsAberto));
+                    return true;
+                } catch (SQLException e) {
+                    throw new ErroSistemaException("Falha ao ler registros do banco de dados. " + e.getMessage(), e);
+                }
+            }
+        };
+        return StreamSupport.stream(linhas, false).onClose(() -> ConnectionFactory.closeConnection(conn, stmtAberto, rsAberto));
+    }
+}
@@ -2,6 +2,8 @@ package dao;
 
 import factory.ConnectionFactory;
 import model.Curso;
+import model.CursoComTotais;
+import model.enums.OrdemListagem;
 import model.enums.Status;
 
 import java.sql.Connection;
@@ -10,16 +12,24 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.OptionalInt;
 
 public class CursoDao implements AutoCloseable {
 
-    final Connection conn;
-
+    /**
+     * As conexões são obtidas do pool a cada operação e devolvidas ao final,
+     * de modo que o DAO pode ser compartilhado sem manter uma conexão aberta.
+     *
+     * @throws SQLException Se não for possível obter uma conexão do pool.
+     */
     public CursoDao() throws SQLException {
-        this.conn = ConnectionFactory.getConnection();
+        // Falha cedo caso o banco de dados não esteja acessível
+        ConnectionFactory.getConnection().close();
     }
 
     // --- Métodos CRUD (Create, Read, Update, Delete) ---
@@ -33,7 +43,8 @@ public class CursoDao implements AutoCloseable {
      */
     public Curso adicionar(Curso curso) throws SQLException {
         String sql = "INSERT INTO curso (nome, cargaHoraria, limiteAlunos, status) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, curso.getNome());
             stmt.setInt(2, curso.getCargaHoraria());
             stmt.setInt(3, curso.getLimiteAlunos());
@@ -64,7 +75,8 @@ public class CursoDao implements AutoCloseable {
      */
     public Optional<Curso> buscarPorId(int id) throws SQLException {
         String sql = "SELECT idCurso, nome, cargaHoraria, limiteAlunos, status FROM curso WHERE idCurso = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -75,6 +87,29 @@ public class CursoDao implements AutoCloseable {
         }
     }
 
+    /**
+     * Busca um curso com os totais de alunos.
+     *
+     * @param id O ID do curso.
+     * @return O curso com seus totais, ou vazio se não existir.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public Optional<CursoComTotais> buscarComTotaisPorId(int id) throws SQLException {
+        String sql = "SELECT idCurso, nome, cargaHoraria, limiteAlunos, status, totalAlunos, alunosAtivos FROM curso"
+                + " WHERE idCurso = ?";
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(new CursoComTotais(criarCursoDoResultSet(rs), rs.getInt("totalAlunos"),
+                            rs.getInt("alunosAtivos")));
+                }
+                return Optional.empty();
+            }
+        }
+    }
+
     /**
      * Retorna uma lista de todos os cursos no banco de dados.
      *
@@ -84,7 +119,8 @@ public class CursoDao implements AutoCloseable {
     public List<Curso> buscarTodos() throws SQLException {
         String sql = "SELECT idCurso, nome, cargaHoraria, limiteAlunos, status FROM curso";
         List<Curso> listaCursos = new ArrayList<>();
-        try (PreparedStatement stmt = conn.prepareStatement(sql); ResultSet rs = stmt.executeQuery()) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql); ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
                 listaCursos.add(criarCursoDoResultSet(rs));
             }
@@ -95,7 +131,8 @@ public class CursoDao implements AutoCloseable {
     public List<Curso> buscarTodosFiltrado(Status filterStatus) throws SQLException {
         String sql = "SELECT idCurso, nome, cargaHoraria, limiteAlunos, status FROM curso WHERE status = ?";
         List<Curso> listaCursos = new ArrayList<>();
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setBoolean(1, filterStatus.isAtivo());
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -116,7 +153,8 @@ public class CursoDao implements AutoCloseable {
      */
     public boolean atualizar(Curso curso) throws SQLException {
         String sql = "UPDATE curso SET nome = ?, cargaHoraria = ?, limiteAlunos = ?, status = ? WHERE idCurso = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, curso.getNome());
             stmt.setInt(2, curso.getCargaHoraria());
             stmt.setInt(3, curso.getLimiteAlunos());
@@ -135,7 +173,8 @@ public class CursoDao implements AutoCloseable {
      */
     public boolean remover(int idCurso) throws SQLException {
         String sql = "DELETE FROM curso WHERE idCurso = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, idCurso);
             return stmt.executeUpdate() > 0;
         }
@@ -151,7 +190,8 @@ public class CursoDao implements AutoCloseable {
      */
     public boolean desativar(int idCurso) throws SQLException {
         String sql = "UPDATE curso SET status = FALSE WHERE idCurso = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, idCurso);
             return stmt.executeUpdate() > 0;
         }
@@ -166,7 +206,8 @@ public class CursoDao implements AutoCloseable {
      */
     public boolean ativar(int idCurso) throws SQLException {
         String sql = "UPDATE curso SET status = TRUE WHERE idCurso = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, idCurso);
             return stmt.executeUpdate() > 0;
         }
@@ -182,7 +223,8 @@ public class CursoDao implements AutoCloseable {
      */
     public boolean estaAtivo(int idCurso) throws SQLException {
         String sql = "SELECT status FROM curso WHERE idCurso = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, idCurso);
             try (ResultSet rs = stmt.executeQuery()) {
                 return rs.next() && rs.getBoolean("status");
@@ -190,6 +232,161 @@ public class CursoDao implements AutoCloseable {
         }
     }
 
+    /**
+     * Altera o status de vários cursos de uma vez, em uma única transação,
+     * com UPDATEs {@code IN (...)} em blocos de {@code db.inList.chunkSize} IDs.
+     * Os cursos que já estão no status pedido são ignorados.
+     *
+     * @param ids   Os IDs dos cursos (inexistentes são ignorados).
+     * @param ativo O novo status.
+     * @return Os IDs dos cursos cujo status mudou.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public List<Integer> alterarStatusEmLote(Collection<Integer> ids, boolean ativo) throws SQLException {
+        List<Integer> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        distintos.remove(null);
+        if (distintos.isEmpty()) {
+            return List.of();
+        }
+        int tamanhoBloco = Math.min(distintos.size(), AlunoDao.tamanhoBlocoIn());
+        String sqlBloquear = "SELECT idCurso FROM curso WHERE status <> ? AND idCurso IN ("
+                + AlunoDao.marcadores(tamanhoBloco) + ") FOR UPDATE";
+        String sqlAtualizar = "UPDATE curso SET status = ? WHERE idCurso IN (" + AlunoDao.marcadores(tamanhoBloco)
+                + ")";
+        List<Integer> alterados = new ArrayList<>();
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement bloquear = conn.prepareStatement(sqlBloquear);
+                    PreparedStatement atualizar = conn.prepareStatement(sqlAtualizar)) {
+                for (int inicio = 0; inicio < distintos.size(); inicio += tamanhoBloco) {
+                    int fim = Math.min(inicio + tamanhoBloco, distintos.size());
+                    bloquear.setBoolean(1, ativo);
+                    AlunoDao.preencherIn(bloquear, 2, distintos.subList(inicio, fim), tamanhoBloco);
+                    List<Integer> alterar = new ArrayList<>();
+                    try (ResultSet rs = bloquear.executeQuery()) {
+                        while (rs.next()) {
+                            alterar.add(rs.getInt("idCurso"));
+                        }
+                    }
+                    if (!alterar.isEmpty()) {
+                        atualizar.setBoolean(1, ativo);
+                        AlunoDao.preencherIn(atualizar, 2, alterar, tamanhoBloco);
+                        atualizar.executeUpdate();
+                        alterados.addAll(alterar);
+                    }
+                }
+                conn.commit();
+                return alterados;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Retorna os cursos com o total de alunos e de alunos ativos de cada um,
+     * lidos dos contadores mantidos na própria tabela de cursos (sem percorrer
+     * a tabela de alunos).
+     *
+     * @param filterStatus Filtra os cursos por status, ou null para todos.
+     * @return Os cursos com seus totais, ordenados por idCurso.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public List<CursoComTotais> buscarTodosComTotais(Status filterStatus) throws SQLException {
+        String sql = "SELECT idCurso, nome, cargaHoraria, limiteAlunos, status, totalAlunos, alunosAtivos FROM curso"
+                + (filterStatus != null ? " WHERE status = ?" : "")
+                + " ORDER BY idCurso";
+        List<CursoComTotais> cursos = new ArrayList<>();
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (filterStatus != null) {
+                stmt.setBoolean(1, filterStatus.isAtivo());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    cursos.add(new CursoComTotais(criarCursoDoResultSet(rs), rs.getInt("totalAlunos"),
+                            rs.getInt("alunosAtivos")));
+                }
+            }
+        }
+        return cursos;
+    }
+
+    // --- Paginação ---
+    /**
+     * Busca uma página de cursos usando paginação por chave (keyset), sem
+     * OFFSET.
+     *
+     * @param filterStatus Filtra por status, ou null para todos.
+     * @param ordem        Ordenação por ID ou por nome (desempate pelo ID).
+     * @param ultimoId     ID do último curso da página anterior (0 na primeira).
+     * @param ultimoNome   Nome do último curso da página anterior, usado na
+     *                     ordenação por nome (null na primeira).
+     * @param limite       Número máximo de linhas retornadas.
+     * @return Os cursos da página, na ordem pedida.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public List<Curso> buscarPagina(Status filterStatus, OrdemListagem ordem, int ultimoId, String ultimoNome,
+            int limite) throws SQLException {
+        return consultarPagina("SELECT idCurso, nome, cargaHoraria, limiteAlunos, status FROM curso", filterStatus,
+                ordem, ultimoId, ultimoNome, limite, this::criarCursoDoResultSet);
+    }
+
+    /**
+     * Busca uma página de cursos com os totais de alunos, usando os mesmos
+     * critérios de {@link #buscarPagina}.
+     *
+     * @return Os cursos da página com seus totais, na ordem pedida.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public List<CursoComTotais> buscarPaginaComTotais(Status filterStatus, OrdemListagem ordem, int ultimoId,
+            String ultimoNome, int limite) throws SQLException {
+        return consultarPagina(
+                "SELECT idCurso, nome, cargaHoraria, limiteAlunos, status, totalAlunos, alunosAtivos FROM curso",
+                filterStatus, ordem, ultimoId, ultimoNome, limite,
+                rs -> new CursoComTotais(criarCursoDoResultSet(rs), rs.getInt("totalAlunos"),
+                        rs.getInt("alunosAtivos")));
+    }
+
+    private <T> List<T> consultarPagina(String select, Status filterStatus, OrdemListagem ordem, int ultimoId,
+            String ultimoNome, int limite, ResultSetStream.Mapeador<T> mapeador) throws SQLException {
+        StringBuilder sql = new StringBuilder(select).append(" WHERE 1 = 1");
+        List<Object> parametros = new ArrayList<>();
+        if (filterStatus != null) {
+            sql.append(" AND status = ?");
+            parametros.add(filterStatus.isAtivo());
+        }
+        if (ordem == OrdemListagem.NOME) {
+            if (ultimoNome != null) {
+                sql.append(" AND (nome > ? OR (nome = ? AND idCurso > ?))");
+                parametros.add(ultimoNome);
+                parametros.add(ultimoNome);
+                parametros.add(ultimoId);
+            }
+            sql.append(" ORDER BY nome, idCurso");
+        } else {
+            sql.append(" AND idCurso > ? ORDER BY idCurso");
+            parametros.add(ultimoId);
+        }
+        sql.append(" LIMIT ?");
+        parametros.add(limite);
+
+        List<T> itens = new ArrayList<>(limite);
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parametros.size(); i++) {
+                stmt.setObject(i + 1, parametros.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    itens.add(mapeador.mapear(rs));
+                }
+            }
+        }
+        return itens;
+    }
+
     // --- Métodos de Consulta Específicos/Utilitários ---
     /**
      * Obtém o ID de um curso pelo seu nome.
@@ -201,7 +398,8 @@ public class CursoDao implements AutoCloseable {
      */
     public OptionalInt buscarIdPorNome(String nomeCurso) throws SQLException {
         String sql = "SELECT idCurso FROM curso WHERE nome = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, nomeCurso);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -222,7 +420,8 @@ public class CursoDao implements AutoCloseable {
      */
     public OptionalInt getLimiteAlunos(int idCurso) throws SQLException {
         String sql = "SELECT limiteAlunos FROM curso WHERE idCurso = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, idCurso);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -234,7 +433,8 @@ public class CursoDao implements AutoCloseable {
     }
 
     /**
-     * Obtém o número total de alunos matriculados em um curso específico.
+     * Obtém o número total de alunos matriculados em um curso específico,
+     * lido do contador {@code totalAlunos} do curso.
      *
      * @param idCurso O ID do curso.
      * @return O número de alunos, ou 0 se não houver alunos ou o curso não
@@ -242,31 +442,59 @@ public class CursoDao implements AutoCloseable {
      * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
      */
     public int getTotalAlunosNoCurso(int idCurso) throws SQLException {
-        String sql = "SELECT COUNT(idAluno) AS total_alunos FROM aluno WHERE idCurso = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        String sql = "SELECT totalAlunos FROM curso WHERE idCurso = ?";
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, idCurso);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getInt("total_alunos");
+                    return rs.getInt("totalAlunos");
                 }
-                return 0; // Retorna 0 se não houver alunos ou o curso não existir (assumindo que COUNT
-                          // retorna 0 se não houver linhas)
+                return 0; // Retorna 0 se o curso não existir
             }
         }
     }
 
     /**
-     * Verifica se um curso atingiu seu limite máximo de alunos.
+     * Verifica se um curso atingiu seu limite máximo de alunos, comparando o
+     * contador do curso com o limite em uma única leitura.
      *
      * @param idCurso O ID do curso.
      * @return true se o curso estiver cheio, false caso contrário.
      * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     * @throws NoSuchElementException Se o curso não existir.
      */
     public boolean cursoCheio(int idCurso) throws SQLException {
-        int totalAlunos = getTotalAlunosNoCurso(idCurso);
-        OptionalInt limiteAlunosOpt = getLimiteAlunos(idCurso);
-        int limiteAlunos = limiteAlunosOpt.getAsInt();
-        return totalAlunos >= limiteAlunos;
+        String sql = "SELECT totalAlunos >= limiteAlunos AS cheio FROM curso WHERE idCurso = ?";
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, idCurso);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new NoSuchElementException("Curso não encontrado: " + idCurso);
+                }
+                return rs.getBoolean("cheio");
+            }
+        }
+    }
+
+    /**
+     * Recalcula os contadores {@code totalAlunos} e {@code alunosAtivos} de
+     * todos os cursos a partir da tabela de alunos. Serve de reparo caso os
+     * alunos tenham sido alterados fora da aplicação (ex: SQL manual).
+     *
+     * @return O número de cursos atualizados.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados.
+     */
+    public int recalcularContadores() throws SQLException {
+        String sql = "UPDATE curso c LEFT JOIN ("
+                + "SELECT idCurso, COUNT(*) AS total, SUM(status = 1) AS ativos FROM aluno GROUP BY idCurso"
+                + ") t ON t.idCurso = c.idCurso "
+                + "SET c.totalAlunos = COALESCE(t.total, 0), c.alunosAtivos = COALESCE(t.ativos, 0)";
+        try (Connection conn = ConnectionFactory.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            return stmt.executeUpdate();
+        }
     }
 
     // --- Método Auxiliar Privado ---
@@ -288,16 +516,11 @@ public class CursoDao implements AutoCloseable {
     }
 
     /**
-     * Implementação do método close() da interface AutoCloseable. Garante que a
-     * conexão com o banco de dados seja fechada.
-     *
-     * @throws SQLException Se ocorrer um erro ao fechar a conexão.
+     * Implementação do método close() da interface AutoCloseable.
+     * Cada operação devolve sua conexão ao pool, então não há conexão a fechar
+     * aqui; o pool é encerrado por {@link ConnectionFactory#shutdown()}.
      */
     @Override
-    public void close() throws SQLException {
-        if (this.conn != null && !this.conn.isClosed()) {
-            this.conn.close();
-            System.out.println("Conexão do CursoDao fechada.");
-        }
+    public void close() {
     }
 }
@@ -35,12 +35,81 @@ public class ConnectionFactory {
         }
     }
 
+    // Pool criado sob demanda na primeira conexão solicitada
+    private static volatile ConnectionPool pool;
+
     /**
-     * Obtém uma nova conexão com o banco de dados.
+     * Obtém uma conexão do pool de conexões.
+     * Chamar {@code close()} na conexão a devolve ao pool.
      * @return Uma instância de Connection.
-     * @throws SQLException Se ocorrer um erro ao estabelecer a conexão.
+     * @throws SQLException Se ocorrer um erro ao estabelecer a conexão ou se o
+     *                      tempo de espera por uma conexão livre se esgotar.
      */
     public static Connection getConnection() throws SQLException {
+        return getPool().getConnection();
+    }
+
+    /**
+     * Retorna o pool de conexões, criando-o na primeira chamada.
+     * Antes de o pool ser liberado para uso, as migrações de esquema pendentes
+     * são aplicadas (desative com {@code db.migrations.enabled=false}).
+     *
+     * @throws RuntimeException Se as migrações falharem.
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (ConnectionFactory.class) {
+                p = pool;
+                if (p == null) {
+                    p = new ConnectionPool(ConnectionFactory::abrirConexaoFisica, properties);
+                    if (Boolean.parseBoolean(properties.getProperty("db.migrations.enabled", "true"))) {
+                        migrar(p);
+                    }
+                    pool = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    private static void migrar(ConnectionPool p) {
+        try (Connection conn = p.getConnection()) {
+            int aplicadas = new MigradorEsquema().migrar(conn);
+            if (aplicadas > 0) {
+                System.out.println(aplicadas + " migração(ões) de esquema aplicada(s).");
+            }
+        } catch (SQLException | RuntimeException e) {
+            p.close();
+            throw new RuntimeException("Falha ao migrar o esquema do banco de dados: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Encerra o pool de conexões, fechando as conexões ociosas.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    /**
+     * Lê uma configuração do arquivo db.properties.
+     *
+     * @param chave        O nome da propriedade.
+     * @param valorPadrao  O valor usado quando a propriedade não está definida.
+     * @return O valor configurado ou o valor padrão.
+     */
+    public static String getProperty(String chave, String valorPadrao) {
+        return properties.getProperty(chave, valorPadrao);
+    }
+
+    /**
+     * Abre uma nova conexão física com o banco de dados (usada pelo pool).
+     */
+    private static Connection abrirConexaoFisica() throws SQLException {
         String url = properties.getProperty("db.url");
         String user = properties.getProperty("db.user");
         String pass = properties.getProperty("db.password");
@@ -84,6 +153,7 @@ public class ConnectionFactory {
                 System.out.println("Connection status: Conectado com sucesso!");
                 System.out.println("URL: " + properties.getProperty("db.url"));
                 System.out.println("User: " + properties.getProperty("db.user"));
+                System.out.println("Pool: " + getPool().getStats());
             } else {
                 System.err.println("Connection status: Falha ao obter a conexão.");
             }
@@ -0,0 +1,348 @@
+package factory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool limitado de conexões JDBC.
+ *
+ * Mantém entre {@code minSize} e {@code maxSize} conexões físicas abertas,
+ * valida cada conexão antes de entregá-la, descarta conexões ociosas ou muito
+ * antigas (evitando o {@code wait_timeout} do MySQL) e avisa quando uma conexão
+ * fica emprestada por tempo demais (possível vazamento).
+ *
+ * As conexões entregues são proxies: chamar {@code close()} devolve a conexão
+ * ao pool em vez de fechá-la fisicamente. Cada conexão física mantém também um
+ * {@link StatementCache}, de modo que {@code prepareStatement} com um SQL já
+ * usado naquela conexão não precisa ser preparado de novo.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    /**
+     * Fornece novas conexões físicas para o pool.
+     */
+    @FunctionalInterface
+    public interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+    /**
+     * Fotografia dos contadores do pool em um dado instante.
+     */
+    public record Stats(int total, int ativas, int ociosas, int aguardando, long criadas, long destruidas,
+            long timeouts, long vazamentos, long cacheAcertos, long cacheFaltas, long cacheDescartes) {
+    }
+
+    private final ConnectionSupplier supplier;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long maxLifetimeMs;
+    private final long validationIntervalMs;
+    private final int validationTimeoutSec;
+    private final long leakDetectionThresholdMs;
+    private final int statementCacheSize;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<Emprestimo> emUso = ConcurrentHashMap.newKeySet();
+    private final Semaphore permissoes;
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger aguardando = new AtomicInteger();
+    private final AtomicLong criadas = new AtomicLong();
+    private final AtomicLong destruidas = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong vazamentos = new AtomicLong();
+    private final AtomicLong cacheAcertos = new AtomicLong();
+    private final AtomicLong cacheFaltas = new AtomicLong();
+    private final AtomicLong cacheDescartes = new AtomicLong();
+    private final ScheduledExecutorService manutencao;
+    private volatile boolean fechado;
+
+    public ConnectionPool(ConnectionSupplier supplier, Properties props) {
+        this.supplier = supplier;
+        this.minSize = Integer.parseInt(props.getProperty("db.pool.minSize", "2"));
+        this.maxSize = Integer.parseInt(props.getProperty("db.pool.maxSize", "10"));
+        this.acquireTimeoutMs = Long.parseLong(props.getProperty("db.pool.acquireTimeoutMs", "30000"));
+        this.idleTimeoutMs = Long.parseLong(props.getProperty("db.pool.idleTimeoutMs", "600000"));
+        this.maxLifetimeMs = Long.parseLong(props.getProperty("db.pool.maxLifetimeMs", "1800000"));
+        this.validationIntervalMs = Long.parseLong(props.getProperty("db.pool.validationIntervalMs", "500"));
+        this.validationTimeoutSec = Integer.parseInt(props.getProperty("db.pool.validationTimeoutSec", "2"));
+        this.leakDetectionThresholdMs = Long.parseLong(props.getProperty("db.pool.leakDetectionThresholdMs", "60000"));
+        this.statementCacheSize = Integer.parseInt(props.getProperty("db.pool.statementCacheSize", "64"));
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Configuração de pool inválida: minSize=" + minSize + ", maxSize=" + maxSize);
+        }
+        this.permissoes = new Semaphore(maxSize, true);
+
+        this.manutencao = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sgca-pool-manutencao");
+            t.setDaemon(true);
+            return t;
+        });
+        long periodo = Math.max(1000, Math.min(idleTimeoutMs, leakDetectionThresholdMs > 0 ? leakDetectionThresholdMs : idleTimeoutMs) / 2);
+        manutencao.scheduleWithFixedDelay(this::manter, 0, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Obtém uma conexão do pool, aguardando no máximo {@code acquireTimeoutMs}.
+     *
+     * @return Uma conexão válida; {@code close()} a devolve ao pool.
+     * @throws SQLTimeoutException Se nenhuma conexão ficar disponível a tempo.
+     * @throws SQLException        Se o pool estiver fechado ou a conexão física
+     *                             não puder ser criada.
+     */
+    public Connection getConnection() throws SQLException {
+        if (fechado) {
+            throw new SQLException("Pool de conexões encerrado.");
+        }
+        aguardando.incrementAndGet();
+        try {
+            if (!permissoes.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLTimeoutException("Tempo esgotado aguardando conexão do pool (" + acquireTimeoutMs
+                        + " ms). " + getStats());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando conexão do pool.", e);
+        } finally {
+            aguardando.decrementAndGet();
+        }
+
+        try {
+            PooledConnection pc;
+            while ((pc = idle.pollFirst()) != null) {
+                if (valida(pc)) {
+                    return emprestar(pc);
+                }
+                destruir(pc);
+            }
+            return emprestar(criar());
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    public Stats getStats() {
+        int ociosas = idle.size();
+        return new Stats(total.get(), emUso.size(), ociosas, aguardando.get(), criadas.get(), destruidas.get(),
+                timeouts.get(), vazamentos.get(), cacheAcertos.get(), cacheFaltas.get(), cacheDescartes.get());
+    }
+
+    /**
+     * Encerra o pool, fechando as conexões ociosas. Conexões em uso são
+     * fechadas fisicamente quando devolvidas.
+     */
+    @Override
+    public void close() {
+        fechado = true;
+        manutencao.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            destruir(pc);
+        }
+    }
+
+    private Connection emprestar(PooledConnection pc) {
+        Emprestimo emprestimo = new Emprestimo(pc);
+        emUso.add(emprestimo);
+        return emprestimo.proxy;
+    }
+
+    private void devolver(Emprestimo emprestimo) {
+        synchronized (emprestimo) {
+            if (emprestimo.devolvida) {
+                return;
+            }
+            emprestimo.devolvida = true;
+        }
+        emUso.remove(emprestimo);
+        PooledConnection pc = emprestimo.pc;
+        try {
+            if (fechado || expirada(pc, System.currentTimeMillis())) {
+                destruir(pc);
+                return;
+            }
+            try {
+                if (!pc.fisica.getAutoCommit()) {
+                    pc.fisica.rollback();
+                    pc.fisica.setAutoCommit(true);
+                }
+                pc.fisica.clearWarnings();
+                pc.ultimoUso = System.currentTimeMillis();
+                idle.addFirst(pc);
+            } catch (SQLException e) {
+                System.err.println("Descartando conexão com erro ao ser devolvida ao pool: " + e.getMessage());
+                destruir(pc);
+            }
+        } finally {
+            permissoes.release();
+        }
+    }
+
+    private PooledConnection criar() throws SQLException {
+        Connection fisica = supplier.get();
+        total.incrementAndGet();
+        criadas.incrementAndGet();
+        return new PooledConnection(fisica,
+                new StatementCache(fisica, statementCacheSize, cacheAcertos, cacheFaltas, cacheDescartes));
+    }
+
+    private void destruir(PooledConnection pc) {
+        total.decrementAndGet();
+        destruidas.incrementAndGet();
+        pc.cache.limpar();
+        try {
+            pc.fisica.close();
+        } catch (SQLException e) {
+            System.err.println("Erro ao fechar conexão descartada pelo pool: " + e.getMessage());
+        }
+    }
+
+    private boolean valida(PooledConnection pc) {
+        long agora = System.currentTimeMillis();
+        if (expirada(pc, agora)) {
+            return false;
+        }
+        if (agora - pc.ultimoUso < validationIntervalMs) {
+            return true;
+        }
+        try {
+            return pc.fisica.isValid(validationTimeoutSec);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private boolean expirada(PooledConnection pc, long agora) {
+        return maxLifetimeMs > 0 && agora - pc.criadaEm > maxLifetimeMs;
+    }
+
+    /**
+     * Tarefa periódica: remove conexões ociosas além do mínimo, recria até o
+     * mínimo e reporta conexões emprestadas há mais tempo que o limite.
+     */
+    private void manter() {
+        if (fechado) {
+            return;
+        }
+        long agora = System.currentTimeMillis();
+        for (PooledConnection pc : idle) {
+            boolean ociosaDemais = agora - pc.ultimoUso > idleTimeoutMs && total.get() > minSize;
+            if ((ociosaDemais || expirada(pc, agora)) && idle.remove(pc)) {
+                destruir(pc);
+            }
+        }
+        while (total.get() < minSize && !fechado && permissoes.tryAcquire()) {
+            try {
+                PooledConnection pc = criar();
+                pc.ultimoUso = System.currentTimeMillis();
+                idle.addLast(pc);
+            } catch (SQLException e) {
+                System.err.println("Pool não conseguiu abrir conexão mínima: " + e.getMessage());
+                break;
+            } finally {
+                permissoes.release();
+            }
+        }
+        if (leakDetectionThresholdMs > 0) {
+            for (Emprestimo emprestimo : emUso) {
+                long duracao = agora - emprestimo.emprestadaEm;
+                if (!emprestimo.vazamentoReportado && duracao > leakDetectionThresholdMs) {
+                    emprestimo.vazamentoReportado = true;
+                    vazamentos.incrementAndGet();
+                    System.err.println("Possível vazamento de conexão: emprestada há " + duracao
+                            + " ms sem ser devolvida.");
+                    emprestimo.origem.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Conexão física mantida pelo pool.
+     */
+    private static final class PooledConnection {
+
+        private final Connection fisica;
+        private final StatementCache cache;
+        private final long criadaEm = System.currentTimeMillis();
+        private volatile long ultimoUso = criadaEm;
+
+        private PooledConnection(Connection fisica, StatementCache cache) {
+            this.fisica = fisica;
+            this.cache = cache;
+        }
+    }
+
+    /**
+     * Um empréstimo de conexão. Cada empréstimo tem seu próprio proxy, de modo
+     * que uma referência antiga não consegue usar a conexão depois de devolvê-la.
+     */
+    private final class Emprestimo implements InvocationHandler {
+
+        private final PooledConnection pc;
+        private final Connection proxy;
+        private final long emprestadaEm = System.currentTimeMillis();
+        private final Exception origem;
+        private volatile boolean vazamentoReportado;
+        private volatile boolean devolvida;
+
+        private Emprestimo(PooledConnection pc) {
+            this.pc = pc;
+            this.origem = leakDetectionThresholdMs > 0 ? new Exception("Conexão obtida aqui") : null;
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    devolver(this);
+                    return null;
+                case "isClosed":
+                    return devolvida || pc.fisica.isClosed();
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return "PooledConnection[" + pc.fisica + "]";
+                default:
+                    break;
+            }
+            if (devolvida) {
+                throw new SQLException("Conexão já foi devolvida ao pool.");
+            }
+            if ("prepareStatement".equals(method.getName()) && args.length <= 2
+                    && (args.length == 1 || args[1] instanceof Integer)) {
+                int chavesGeradas = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+                return pc.cache.preparar((String) args[0], chavesGeradas, proxy);
+            }
+            try {
+                return method.invoke(pc.fisica, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
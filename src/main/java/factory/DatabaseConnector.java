@@ -8,7 +8,8 @@ import java.sql.Statement;
 /**
  * Classe utilitária para conectar-se a um banco de dados MySQL e executar
  * scripts SQL. Esta classe é projetada para criar o banco de dados 'sgca' e
- * suas tabelas 'curso' e 'aluno' conforme o script SQL fornecido.
+ * aplicar as migrações de esquema ({@link MigradorEsquema}), que criam as
+ * tabelas 'curso' e 'aluno' e seus índices.
  */
 public class DatabaseConnector {
 
@@ -19,41 +20,9 @@ public class DatabaseConnector {
     private static final String USER = "root"; // Usuário do banco de dados (ajuste conforme sua configuração)
     private static final String PASS = "fatec"; // Senha do banco de dados (AJUSTE AQUI!)
 
-    // Script SQL para criação do banco de dados e tabelas com nomes para as restrições
-    // Este script foi ajustado para seguir exatamente o que foi fornecido pelo usuário.
-    private static final String SQL_SCRIPT
-            = "CREATE DATABASE IF NOT EXISTS " + DB_NAME + ";\n"
-            + "USE " + DB_NAME + ";\n\n"
-            + "-- Criação da tabela de cursos\n"
-            + "CREATE TABLE IF NOT EXISTS curso (\n"
-            + "    idCurso INTEGER PRIMARY KEY auto_increment,\n"
-            + "    nome VARCHAR(20) NOT NULL UNIQUE,\n"
-            + "    CONSTRAINT chk_curso_nome_length CHECK (LENGTH (nome) >= 3),\n"
-            + "    cargaHoraria INTEGER NOT NULL,\n"
-            + "    CONSTRAINT chk_curso_carga_horaria_minima CHECK (cargaHoraria >= 20),\n"
-            + "    limiteAlunos INTEGER NOT NULL,\n"
-            + "    CONSTRAINT chk_curso_limite_alunos_minimo CHECK (limiteAlunos >= 1),\n"
-            + "    status TINYINT DEFAULT 1,\n"
-            + "    CONSTRAINT chk_curso_ativo_valido CHECK (status IN (0, 1))\n"
-            + ");\n\n"
-            + "-- Criação da tabela de alunos\n"
-            + "CREATE TABLE IF NOT EXISTS aluno (\n"
-            + "    idAluno INTEGER PRIMARY KEY auto_increment,\n"
-            + "    idCurso INTEGER NOT NULL,\n"
-            + "    FOREIGN KEY (idCurso) REFERENCES curso (idCurso) ON DELETE CASCADE,\n"
-            + "    nome VARCHAR(50) NOT NULL,\n"
-            + "    cpf VARCHAR(11) UNIQUE NOT NULL,\n"
-            + "    telefone VARCHAR(20),\n"
-            + "    email VARCHAR(255),\n"
-            + "    dataNascimento DATE,\n"
-            + "    status TINYINT DEFAULT 1,\n"
-            + "    CONSTRAINT chk_aluno_ativo_valido CHECK (status IN (0, 1)),\n"
-            + "    CONSTRAINT chk_aluno_cpf_length CHECK (LENGTH (cpf) = 11),\n"
-            + "    CONSTRAINT chk_alunos_nome_length CHECK (LENGTH (nome) >= 3),\n"
-            + "    CONSTRAINT chk_aluno_email_valido CHECK (\n"
-            + "    email REGEXP '^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\\\.[A-Za-z]{2,}$'\n"
-            + "    )\n"
-            + ");";
+    // Script SQL para criação do banco de dados. As tabelas e índices são
+    // criados pelas migrações versionadas (ver MigradorEsquema).
+    private static final String SQL_SCRIPT = "CREATE DATABASE IF NOT EXISTS " + DB_NAME;
 
     /**
      * Estabelece uma conexão com o banco de dados MySQL. Tenta conectar-se ao
@@ -80,7 +49,7 @@ public class DatabaseConnector {
     }
 
     /**
-     * Executa o script SQL fornecido para criar o banco de dados e as tabelas.
+     * Cria o banco de dados, se necessário, e aplica as migrações pendentes.
      *
      * @param connection A conexão JDBC ativa com o servidor MySQL.
      */
@@ -91,11 +60,11 @@ public class DatabaseConnector {
         }
 
         try (Statement stmt = connection.createStatement()) {
-            // O MySQL permite a execução de múltiplos comandos em uma única chamada de statement
-            // se o driver for configurado com allowMultiQueries=true na URL (já corrigido).
             System.out.println("Executando script SQL...");
             stmt.executeUpdate(SQL_SCRIPT);
-            System.out.println("Script SQL executado com sucesso!");
+            connection.setCatalog(DB_NAME);
+            int aplicadas = new MigradorEsquema().migrar(connection);
+            System.out.println("Script SQL executado com sucesso! Migrações aplicadas: " + aplicadas);
         } catch (SQLException se) {
             System.err.println("Erro de SQL ao executar o script: " + se.getMessage());
         }
@@ -114,7 +83,7 @@ public class DatabaseConnector {
 
             if (connection != null) {
                 // 2. Executar o script SQL para criar o banco de dados e as tabelas
-                // Note que o script inclui "CREATE DATABASE IF NOT EXISTS sgca;" e "USE sgca;"
+                // O script cria o banco "sgca"; as tabelas vêm das migrações
                 executeSqlScript(connection);
             }
         } finally {
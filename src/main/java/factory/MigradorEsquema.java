@@ -0,0 +1,282 @@
+package factory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Aplica as migrações de esquema do banco de dados em ordem de versão.
+ *
+ * As migrações são scripts SQL em {@code db/migracoes} no classpath, com nome
+ * no formato {@code V<versão>__<descrição>.sql}, listados em
+ * {@link #MIGRACOES}. Cada migração aplicada é registrada na tabela
+ * {@code historico_esquema} com o checksum (SHA-256) do script; na próxima
+ * execução, só as versões ainda não registradas são aplicadas, e um script já
+ * aplicado que tenha sido alterado interrompe a migração.
+ *
+ * O MySQL não desfaz comandos DDL em caso de erro, então uma migração que
+ * falhe no meio não é registrada e deve ser corrigida antes de rodar de novo.
+ * Um lock nomeado ({@code GET_LOCK}) impede que duas instâncias migrem o mesmo
+ * banco ao mesmo tempo.
+ */
+public class MigradorEsquema {
+
+    /**
+     * Scripts de migração, em ordem. Novas migrações devem ser acrescentadas
+     * ao final; scripts já publicados não devem ser alterados.
+     */
+    private static final List<String> MIGRACOES = List.of(
+            "V1__esquema_inicial.sql",
+            "V2__contadores_curso.sql",
+            "V3__indices_filtros.sql",
+            "V4__indices_ordenacao_nome.sql",
+            "V5__fulltext_aluno.sql");
+
+    private static final String PASTA = "db/migracoes/";
+    private static final String LOCK = "sgca_migracoes";
+    private static final int LOCK_TIMEOUT_SEG = 60;
+    private static final Pattern NOME_ARQUIVO = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    /**
+     * Uma migração lida do classpath.
+     */
+    public record Migracao(int versao, String descricao, String sql, String checksum) {
+    }
+
+    private final List<Migracao> migracoes;
+
+    /**
+     * Carrega e valida os scripts de {@link #MIGRACOES}.
+     *
+     * @throws IllegalStateException Se um script não existir, tiver nome fora
+     *                               do padrão ou estiver fora de ordem.
+     */
+    public MigradorEsquema() {
+        this.migracoes = new ArrayList<>(MIGRACOES.size());
+        int versaoAnterior = 0;
+        for (String arquivo : MIGRACOES) {
+            Matcher m = NOME_ARQUIVO.matcher(arquivo);
+            if (!m.matches()) {
+                throw new IllegalStateException("Nome de migração fora do padrão V<versão>__<descrição>.sql: " + arquivo);
+            }
+            int versao = Integer.parseInt(m.group(1));
+            if (versao <= versaoAnterior) {
+                throw new IllegalStateException("Migração fora de ordem: " + arquivo);
+            }
+            versaoAnterior = versao;
+            String sql = lerScript(arquivo);
+            migracoes.add(new Migracao(versao, m.group(2).replace('_', ' '), sql, checksum(sql)));
+        }
+    }
+
+    /**
+     * @return As migrações conhecidas pela aplicação, em ordem de versão.
+     */
+    public List<Migracao> getMigracoes() {
+        return List.copyOf(migracoes);
+    }
+
+    /**
+     * Aplica as migrações pendentes no banco da conexão informada.
+     *
+     * @param conn Conexão com o banco já selecionado (ex: {@code sgca}).
+     * @return O número de migrações aplicadas (0 se o esquema já estava em
+     *         dia).
+     * @throws SQLException Se uma migração falhar, se um script já aplicado
+     *                      tiver sido alterado (checksum diferente), se o banco
+     *                      tiver versões desconhecidas por esta aplicação ou
+     *                      se o lock de migração não for obtido a tempo.
+     */
+    public int migrar(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(true);
+        adquirirLock(conn);
+        try {
+            criarTabelaHistorico(conn);
+            Map<Integer, String> aplicadas = lerHistorico(conn);
+            validarHistorico(aplicadas);
+
+            int total = 0;
+            for (Migracao migracao : migracoes) {
+                if (!aplicadas.containsKey(migracao.versao())) {
+                    aplicar(conn, migracao);
+                    total++;
+                }
+            }
+            return total;
+        } finally {
+            liberarLock(conn);
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void validarHistorico(Map<Integer, String> aplicadas) throws SQLException {
+        Map<Integer, Migracao> conhecidas = new TreeMap<>();
+        for (Migracao migracao : migracoes) {
+            conhecidas.put(migracao.versao(), migracao);
+        }
+        for (Map.Entry<Integer, String> aplicada : aplicadas.entrySet()) {
+            Migracao migracao = conhecidas.get(aplicada.getKey());
+            if (migracao == null) {
+                throw new SQLException("O banco está na migração " + aplicada.getKey()
+                        + ", desconhecida por esta versão da aplicação.");
+            }
+            if (!migracao.checksum().equals(aplicada.getValue())) {
+                throw new SQLException("O script da migração " + migracao.versao() + " (" + migracao.descricao()
+                        + ") foi alterado depois de aplicado. Crie uma nova migração em vez de editar a antiga.");
+            }
+        }
+    }
+
+    private void aplicar(Connection conn, Migracao migracao) throws SQLException {
+        System.out.println("Aplicando migração " + migracao.versao() + ": " + migracao.descricao() + "...");
+        long inicio = System.currentTimeMillis();
+        try (Statement stmt = conn.createStatement()) {
+            for (String comando : separarComandos(migracao.sql())) {
+                stmt.execute(comando);
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Falha na migração " + migracao.versao() + " (" + migracao.descricao() + "): "
+                    + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+        }
+        long duracao = System.currentTimeMillis() - inicio;
+
+        String sql = "INSERT INTO historico_esquema (versao, descricao, checksum, duracaoMs) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, migracao.versao());
+            stmt.setString(2, migracao.descricao());
+            stmt.setString(3, migracao.checksum());
+            stmt.setLong(4, duracao);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static void criarTabelaHistorico(Connection conn) throws SQLException {
+        String sql = "CREATE TABLE IF NOT EXISTS historico_esquema ("
+                + "versao INTEGER PRIMARY KEY, "
+                + "descricao VARCHAR(200) NOT NULL, "
+                + "checksum CHAR(64) NOT NULL, "
+                + "aplicadaEm TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                + "duracaoMs BIGINT NOT NULL)";
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private static Map<Integer, String> lerHistorico(Connection conn) throws SQLException {
+        Map<Integer, String> aplicadas = new TreeMap<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT versao, checksum FROM historico_esquema")) {
+            while (rs.next()) {
+                aplicadas.put(rs.getInt("versao"), rs.getString("checksum"));
+            }
+        }
+        return aplicadas;
+    }
+
+    private static void adquirirLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK);
+            stmt.setInt(2, LOCK_TIMEOUT_SEG);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Não foi possível obter o lock de migração em " + LOCK_TIMEOUT_SEG
+                            + " segundos. Outra instância pode estar migrando o banco.");
+                }
+            }
+        }
+    }
+
+    private static void liberarLock(Connection conn) {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            System.err.println("Erro ao liberar o lock de migração: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Separa um script em comandos terminados por ';', ignorando comentários
+     * ({@code --} e blocos) e ';' dentro de strings ou identificadores entre
+     * crases.
+     */
+    static List<String> separarComandos(String script) {
+        List<String> comandos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        int i = 0;
+        int n = script.length();
+        while (i < n) {
+            char c = script.charAt(i);
+            if (c == '-' && i + 1 < n && script.charAt(i + 1) == '-') {
+                while (i < n && script.charAt(i) != '\n') {
+                    i++; // Comentário de linha
+                }
+            } else if (c == '/' && i + 1 < n && script.charAt(i + 1) == '*') {
+                int fim = script.indexOf("*/", i + 2);
+                i = fim < 0 ? n : fim + 2; // Comentário de bloco
+            } else if (c == '\'' || c == '"' || c == '`') {
+                int inicio = i++;
+                while (i < n && script.charAt(i) != c) {
+                    if (script.charAt(i) == '\\' && c != '`') {
+                        i++; // Caractere escapado
+                    }
+                    i++;
+                }
+                i = Math.min(i + 1, n);
+                atual.append(script, inicio, i);
+            } else if (c == ';') {
+                adicionarComando(comandos, atual);
+                i++;
+            } else {
+                atual.append(c);
+                i++;
+            }
+        }
+        adicionarComando(comandos, atual);
+        return comandos;
+    }
+
+    private static void adicionarComando(List<String> comandos, StringBuilder atual) {
+        String comando = atual.toString().trim();
+        if (!comando.isEmpty()) {
+            comandos.add(comando);
+        }
+        atual.setLength(0);
+    }
+
+    private static String lerScript(String arquivo) {
+        try (InputStream input = MigradorEsquema.class.getClassLoader().getResourceAsStream(PASTA + arquivo)) {
+            if (input == null) {
+                throw new IllegalStateException("Script de migração não encontrado no classpath: " + PASTA + arquivo);
+            }
+            // Normaliza quebras de linha para o checksum não depender do sistema operacional
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        } catch (IOException e) {
+            throw new IllegalStateException("Falha ao ler o script de migração " + arquivo, e);
+        }
+    }
+
+    private static String checksum(String sql) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(sql.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível.", e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package factory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de PreparedStatements de uma única conexão física, indexado pelo texto
+ * SQL (e pela opção de chaves geradas), com descarte LRU.
+ *
+ * Os statements entregues são proxies: {@code close()} limpa os parâmetros e
+ * devolve o statement ao cache, mantendo o prepare (no servidor, quando
+ * {@code useServerPrepStmts=true}) para a próxima chamada com o mesmo SQL.
+ * Os contadores de acerto/falta são compartilhados por todas as conexões do
+ * pool.
+ */
+class StatementCache {
+
+    private final Connection fisica;
+    private final int capacidade;
+    private final AtomicLong acertos;
+    private final AtomicLong faltas;
+    private final AtomicLong descartes;
+    private final LinkedHashMap<String, Entrada> entradas;
+
+    StatementCache(Connection fisica, int capacidade, AtomicLong acertos, AtomicLong faltas, AtomicLong descartes) {
+        this.fisica = fisica;
+        this.capacidade = capacidade;
+        this.acertos = acertos;
+        this.faltas = faltas;
+        this.descartes = descartes;
+        // accessOrder = true: a iteração começa pelo statement usado há mais tempo
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                if (size() > StatementCache.this.capacidade) {
+                    StatementCache.this.descartes.incrementAndGet();
+                    maisAntiga.getValue().descartar();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna um PreparedStatement para o SQL, reaproveitando um já preparado
+     * quando disponível.
+     *
+     * @param sql               O texto SQL.
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} ou
+     *                          {@link Statement#NO_GENERATED_KEYS}.
+     * @param conexaoLogica     A conexão devolvida por
+     *                          {@code PreparedStatement.getConnection()}.
+     */
+    synchronized PreparedStatement preparar(String sql, int autoGeneratedKeys, Connection conexaoLogica)
+            throws SQLException {
+        if (capacidade <= 0) {
+            faltas.incrementAndGet();
+            return fisica.prepareStatement(sql, autoGeneratedKeys);
+        }
+        String chave = autoGeneratedKeys + "|" + sql;
+        Entrada entrada = entradas.get(chave);
+        if (entrada != null && !entrada.emUso) {
+            acertos.incrementAndGet();
+        } else {
+            faltas.incrementAndGet();
+            PreparedStatement stmt = fisica.prepareStatement(sql, autoGeneratedKeys);
+            if (entrada != null) {
+                // O mesmo SQL já está aberto por este chamador; usa um statement avulso
+                return stmt;
+            }
+            entrada = new Entrada(stmt);
+            entradas.put(chave, entrada);
+        }
+        entrada.emUso = true;
+        return entrada.novoProxy(conexaoLogica);
+    }
+
+    /**
+     * Fecha todos os statements do cache (usado quando a conexão é destruída).
+     */
+    synchronized void limpar() {
+        List<Entrada> todas = new ArrayList<>(entradas.values());
+        entradas.clear();
+        for (Entrada entrada : todas) {
+            entrada.descartar();
+        }
+    }
+
+    private void devolver(Entrada entrada) throws SQLException {
+        PreparedStatement stmt = entrada.fisico;
+        try {
+            ResultSet rs = stmt.getResultSet();
+            if (rs != null) {
+                rs.close();
+            }
+            stmt.clearParameters();
+            stmt.clearBatch();
+            stmt.clearWarnings();
+            stmt.setFetchSize(0);
+            stmt.setMaxRows(0);
+            stmt.setQueryTimeout(0);
+        } catch (SQLException e) {
+            synchronized (this) {
+                entradas.values().remove(entrada);
+            }
+            entrada.descartar();
+            throw e;
+        }
+        synchronized (this) {
+            entrada.emUso = false;
+            if (entrada.descartada) {
+                fecharSilenciosamente(stmt);
+            }
+        }
+    }
+
+    private static void fecharSilenciosamente(Statement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            System.err.println("Erro ao fechar statement descartado do cache: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Statement físico mantido em cache.
+     */
+    private final class Entrada {
+
+        private final PreparedStatement fisico;
+        private boolean emUso;
+        private boolean descartada;
+
+        private Entrada(PreparedStatement fisico) {
+            this.fisico = fisico;
+        }
+
+        private void descartar() {
+            descartada = true;
+            if (!emUso) {
+                fecharSilenciosamente(fisico);
+            }
+        }
+
+        private PreparedStatement novoProxy(Connection conexaoLogica) {
+            InvocationHandler handler = new InvocationHandler() {
+                private boolean fechado;
+
+                @Override
+                public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!fechado) {
+                                fechado = true;
+                                devolver(Entrada.this);
+                            }
+                            return null;
+                        case "isClosed":
+                            return fechado;
+                        case "getConnection":
+                            return conexaoLogica;
+                        case "equals":
+                            return p == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(p);
+                        default:
+                            break;
+                    }
+                    if (fechado) {
+                        throw new SQLException("Statement já foi fechado.");
+                    }
+                    try {
+                        return method.invoke(fisico, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            };
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, handler);
+        }
+    }
+}
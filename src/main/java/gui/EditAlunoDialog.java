@@ -5,6 +5,7 @@ import java.util.List;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
 
 import exceptions.AlunoInvalidoException;
 import exceptions.ErroSistemaException;
@@ -19,6 +20,11 @@ public class EditAlunoDialog extends javax.swing.JDialog {
         private AlunoService alunoService;
         private CursoService cursoService;
         private Aluno aluno;
+        private final TarefasBanco tarefas = TarefasBanco.getInstancia();
+        // Carga de cursos; cancelada ao fechar o diálogo
+        private SwingWorker<?, ?> carregamento;
+        // Gravação em andamento: o diálogo só fecha depois de mostrar o resultado
+        private boolean gravando;
 
         public EditAlunoDialog(JFrame owner, AlunoService alunoService, CursoService cursoService, Aluno aluno) {
                 super(owner, true);
@@ -38,14 +44,31 @@ public class EditAlunoDialog extends javax.swing.JDialog {
                 } else {
                         radioInativo.setSelected(true);
                 }
-                List<Curso> listaDeCursos = cursoService.listarTodosCursos(Status.ATIVO);
-                List<String> nomesDosCursos = listaDeCursos.stream()
-                                .map(Curso::getNome)
-                                .toList();
-                cbCursos.setModel(new DefaultComboBoxModel<>(nomesDosCursos.toArray(String[]::new)));
+                cbCursos.setModel(new DefaultComboBoxModel<>(new String[] { "Carregando..." }));
+                cbCursos.setEnabled(false);
+                btnConfirme.setEnabled(false);
+                carregamento = tarefas.executar(() -> cursoService.listarTodosCursos(Status.ATIVO), listaDeCursos -> {
+                        List<String> nomesDosCursos = listaDeCursos.stream()
+                                        .map(Curso::getNome)
+                                        .toList();
+                        cbCursos.setModel(new DefaultComboBoxModel<>(nomesDosCursos.toArray(String[]::new)));
+                        cbCursos.setEnabled(true);
+                        btnConfirme.setEnabled(true);
+                }, e -> JOptionPane.showMessageDialog(this, e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE));
                 lblCursoId.setText(String.valueOf(aluno.getIdAluno()));
         }
 
+        @Override
+        public void dispose() {
+                if (gravando) {
+                        return;
+                }
+                if (carregamento != null) {
+                        carregamento.cancel(true);
+                }
+                super.dispose();
+        }
+
         private void initComponents() {
 
                 buttonGroup1 = new javax.swing.ButtonGroup();
@@ -282,26 +305,38 @@ public class EditAlunoDialog extends javax.swing.JDialog {
         }
 
         private void btnConfirmeActionPerformed(java.awt.event.ActionEvent evt) {
-                try {
-                        String nome = txtNome.getText();
-                        String cpf = txtCpf.getText();
-                        String telefone = txtTelefone.getText();
-                        String email = txtEmail.getText();
-                        String curso = (String) cbCursos.getSelectedItem();
-                        String dataNascimento = txtDataNasc.getText();
-                        boolean ativo = radioAtivo.isSelected();
+                String nome = txtNome.getText();
+                String cpf = txtCpf.getText();
+                String telefone = txtTelefone.getText();
+                String email = txtEmail.getText();
+                String curso = (String) cbCursos.getSelectedItem();
+                String dataNascimento = txtDataNasc.getText();
+                boolean ativo = radioAtivo.isSelected();
+                gravando = true;
+                btnConfirme.setEnabled(false);
+                btnCancel.setEnabled(false);
+                tarefas.executar(() -> {
                         int idCurso = cursoService.obterCursoPorNome(curso).getIdCurso();
                         alunoService.atualizarAluno(aluno.getIdAluno(), idCurso, nome, cpf, telefone, email,
                                         LocalDate.parse(dataNascimento,
                                                         java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy")),
                                         ativo ? Status.ATIVO : Status.INATIVO);
+                        return null;
+                }, ok -> {
+                        gravando = false;
                         this.dispose();
-                } catch (AlunoInvalidoException | ErroSistemaException e) {
-                        JOptionPane.showMessageDialog(this, e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
-                } catch (Exception e) {
-                        JOptionPane.showMessageDialog(this, "Ocorreu um erro ao atualizar o aluno.", "Erro",
-                                        JOptionPane.ERROR_MESSAGE);
-                }
+                }, e -> {
+                        gravando = false;
+                        btnConfirme.setEnabled(true);
+                        btnCancel.setEnabled(true);
+                        if (e instanceof AlunoInvalidoException || e instanceof ErroSistemaException) {
+                                JOptionPane.showMessageDialog(this, e.getMessage(), "Erro",
+                                                JOptionPane.ERROR_MESSAGE);
+                        } else {
+                                JOptionPane.showMessageDialog(this, "Ocorreu um erro ao atualizar o aluno.", "Erro",
+                                                JOptionPane.ERROR_MESSAGE);
+                        }
+                });
         }
 
         private javax.swing.JButton btnCancel;
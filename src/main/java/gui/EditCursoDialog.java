@@ -14,6 +14,9 @@ public class EditCursoDialog extends javax.swing.JDialog {
 
         private CursoService cursoService;
         private Curso selectedCurso;
+        private final TarefasBanco tarefas = TarefasBanco.getInstancia();
+        // Gravação em andamento: o diálogo só fecha depois de mostrar o resultado
+        private boolean gravando;
 
         public EditCursoDialog(JFrame owner, AlunoService alunoService, CursoService cursoService,
                         Curso selectedCurso) {
@@ -159,23 +162,45 @@ public class EditCursoDialog extends javax.swing.JDialog {
         setLocationRelativeTo(null);
     }
 
+        @Override
+        public void dispose() {
+                if (gravando) {
+                        return;
+                }
+                super.dispose();
+        }
+
         private void btnCancelarActionPerformed(java.awt.event.ActionEvent evt) {
                 this.dispose();
         }
 
         private void btnConfirmarActionPerformed(java.awt.event.ActionEvent evt) {
-                try {
-                        boolean ativo = radioAtivo.isSelected();
-                        cursoService.atualizarCurso(selectedCurso.getIdCurso(),
-                                        txtNomeCurso.getText(),
-                                        Integer.parseInt(txtCargaHoraria.getText()),
-                                        Integer.parseInt(txtLimiteAlunos.getText()),
+                boolean ativo = radioAtivo.isSelected();
+                String nome = txtNomeCurso.getText();
+                int cargaHoraria = Integer.parseInt(txtCargaHoraria.getText());
+                int limiteAlunos = Integer.parseInt(txtLimiteAlunos.getText());
+                gravando = true;
+                btnConfirmar.setEnabled(false);
+                btnCancelar.setEnabled(false);
+                tarefas.executar(() -> {
+                        cursoService.atualizarCurso(selectedCurso.getIdCurso(), nome, cargaHoraria, limiteAlunos,
                                         ativo ? Status.ATIVO : Status.INATIVO);
+                        return null;
+                }, ok -> {
+                        gravando = false;
                         this.dispose();
-                } catch (ErroSistemaException | CursoInvalidoException e) {
-                        JOptionPane.showMessageDialog(this, e.getMessage(), "Erro",
-                                        JOptionPane.ERROR_MESSAGE);
-                }
+                }, e -> {
+                        gravando = false;
+                        btnConfirmar.setEnabled(true);
+                        btnCancelar.setEnabled(true);
+                        if (e instanceof ErroSistemaException || e instanceof CursoInvalidoException) {
+                                JOptionPane.showMessageDialog(this, e.getMessage(), "Erro",
+                                                JOptionPane.ERROR_MESSAGE);
+                        } else {
+                                JOptionPane.showMessageDialog(this, "Ocorreu um erro ao atualizar o curso.", "Erro",
+                                                JOptionPane.ERROR_MESSAGE);
+                        }
+                });
         }
 
     private javax.swing.JButton btnCancelar;
@@ -1,38 +1,77 @@
 package gui;
 
+import java.awt.Component;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.OptionalInt;
 
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
 import exceptions.CursoInvalidoException;
-import model.Aluno;
 import model.Curso;
 import model.enums.Status;
 import services.AlunoService;
 import services.CursoService;
+import utils.FormatoExportacao;
 
 public class ExportDialog extends javax.swing.JDialog {
 
+    private static final String TODOS_OS_CURSOS = "Todos (um arquivo por curso)";
+
     private CursoService cursoService;
     private AlunoService alunoService;
+    private final TarefasBanco tarefas = TarefasBanco.getInstancia();
+    // Carga de cursos; cancelada ao fechar o diálogo
+    private SwingWorker<?, ?> carregamento;
+    // Cursos listados no combo; o item seguinte ao último é "todos os cursos"
+    private List<Curso> cursos = List.of();
 
     public ExportDialog(JFrame owner, CursoService cursoService, AlunoService alunoService) {
         super(owner, true);
         initComponents();
         this.cursoService = cursoService;
         this.alunoService = alunoService;
-        List<Curso> listaDeCursos = cursoService.listarTodosCursos(Status.ATIVO);
-        List<String> nomesDosCursos = listaDeCursos.stream()
-                .map(Curso::getNome)
-                .toList();
-        cbxCurso.setModel(new DefaultComboBoxModel<>(nomesDosCursos.toArray(String[]::new)));
+        cbxCurso.setModel(new DefaultComboBoxModel<>(new String[] { "Carregando..." }));
+        cbxCurso.setEnabled(false);
+        bntExportar.setEnabled(false);
+        carregamento = tarefas.executar(() -> cursoService.listarTodosCursos(Status.ATIVO), listaDeCursos -> {
+            cursos = listaDeCursos;
+            List<String> nomesDosCursos = new ArrayList<>(listaDeCursos.stream()
+                    .map(Curso::getNome)
+                    .toList());
+            if (!listaDeCursos.isEmpty()) {
+                nomesDosCursos.add(TODOS_OS_CURSOS);
+            }
+            cbxCurso.setModel(new DefaultComboBoxModel<>(nomesDosCursos.toArray(String[]::new)));
+            cbxCurso.setEnabled(true);
+            bntExportar.setEnabled(true);
+        }, e -> JOptionPane.showMessageDialog(this, e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE));
+    }
+
+    /**
+     * Fecha o diálogo. Uma exportação em andamento não é cancelada: ela
+     * continua em segundo plano e o resultado é mostrado sobre a janela
+     * principal quando terminar.
+     */
+    @Override
+    public void dispose() {
+        if (carregamento != null) {
+            carregamento.cancel(true);
+        }
+        super.dispose();
+    }
+
+    /**
+     * @return Onde mostrar o resultado de uma exportação: o diálogo, ou a
+     *         janela principal se ele já foi fechado.
+     */
+    private Component pai() {
+        return isDisplayable() ? this : getOwner();
     }
 
     private void initComponents() {
@@ -42,6 +81,8 @@ public class ExportDialog extends javax.swing.JDialog {
         btnCancelar = new javax.swing.JButton();
         cbxCurso = new javax.swing.JComboBox<>();
         jLabel1 = new javax.swing.JLabel();
+        cbxFormato = new javax.swing.JComboBox<>();
+        jLabel2 = new javax.swing.JLabel();
         jSeparator1 = new javax.swing.JSeparator();
         jPanel1 = new javax.swing.JPanel();
         rdTodos = new javax.swing.JRadioButton();
@@ -69,6 +110,10 @@ public class ExportDialog extends javax.swing.JDialog {
 
         jLabel1.setText("Curso");
 
+        cbxFormato.setModel(new javax.swing.DefaultComboBoxModel<>(FormatoExportacao.values()));
+
+        jLabel2.setText("Formato");
+
         buttonGroup1.add(rdTodos);
         rdTodos.setSelected(true);
         rdTodos.setText("Ambos");
@@ -116,9 +161,13 @@ public class ExportDialog extends javax.swing.JDialog {
                     .addGroup(layout.createSequentialGroup()
                         .addComponent(jPanel1, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
                         .addGap(64, 64, 64)
-                        .addComponent(jLabel1)
+                        .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                            .addComponent(jLabel1)
+                            .addComponent(jLabel2))
                         .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
-                        .addComponent(cbxCurso, javax.swing.GroupLayout.PREFERRED_SIZE, 128, javax.swing.GroupLayout.PREFERRED_SIZE))
+                        .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
+                            .addComponent(cbxCurso, javax.swing.GroupLayout.PREFERRED_SIZE, 128, javax.swing.GroupLayout.PREFERRED_SIZE)
+                            .addComponent(cbxFormato, javax.swing.GroupLayout.PREFERRED_SIZE, 128, javax.swing.GroupLayout.PREFERRED_SIZE)))
                     .addComponent(jSeparator1))
                 .addContainerGap())
             .addGroup(javax.swing.GroupLayout.Alignment.TRAILING, layout.createSequentialGroup()
@@ -133,9 +182,14 @@ public class ExportDialog extends javax.swing.JDialog {
             .addGroup(javax.swing.GroupLayout.Alignment.TRAILING, layout.createSequentialGroup()
                 .addContainerGap()
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
-                    .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
-                        .addComponent(cbxCurso, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
-                        .addComponent(jLabel1))
+                    .addGroup(layout.createSequentialGroup()
+                        .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                            .addComponent(cbxCurso, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                            .addComponent(jLabel1))
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                            .addComponent(cbxFormato, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                            .addComponent(jLabel2)))
                     .addComponent(jPanel1, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addGap(15, 15, 15)
                 .addComponent(jSeparator1, javax.swing.GroupLayout.PREFERRED_SIZE, 10, javax.swing.GroupLayout.PREFERRED_SIZE)
@@ -160,53 +214,102 @@ public class ExportDialog extends javax.swing.JDialog {
         }
     }
 
+    private FormatoExportacao getSelectedFormato() {
+        Object formato = cbxFormato.getSelectedItem();
+        return formato == null ? FormatoExportacao.CSV : (FormatoExportacao) formato;
+    }
+
     private void bntExportarActionPerformed(java.awt.event.ActionEvent evt) {
-        String nomeCurso = cbxCurso.getSelectedItem().toString();
-        OptionalInt id = cursoService.obterIdCursoPorNome(nomeCurso);
-        try {
-            if (id.isEmpty()) {
-                throw new CursoInvalidoException("Curso inválido. Por favor, selecione um curso válido.");
-            } else {
-                List<Aluno> alunos = alunoService.listarAlunosPorCurso(id.getAsInt(), getSelectedStatus());
-                JFileChooser fileChooser = new JFileChooser();
-                FileNameExtensionFilter csvFilter = new FileNameExtensionFilter("Arquivos CSV (*.csv)", "csv");
-                fileChooser.setDialogTitle("Salvar arquivo");
-                fileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
-                fileChooser.addChoosableFileFilter(csvFilter);
-                fileChooser.setFileFilter(csvFilter);
-                int userSelection = fileChooser.showSaveDialog(this);
-                if (userSelection != JFileChooser.APPROVE_OPTION) {
-                    JOptionPane.showMessageDialog(this, "Exportação cancelada.", "Aviso", JOptionPane.WARNING_MESSAGE);
-                    return;
-                }
-                File selectedFile = fileChooser.getSelectedFile();
-                String path = selectedFile.getAbsolutePath();
-        
-                if (!path.toLowerCase().endsWith(".csv")) {
-                    path += ".csv";
-                }
-
-                File finalFile = new File(path);
-                if (finalFile.exists()) {
-                    int overwriteConfirm = JOptionPane.showConfirmDialog(
-                            this,
-                            "O arquivo '" + finalFile.getName() + "' já existe. Deseja sobrescrevê-lo?",
-                            "Confirmar Sobrescrita",
-                            JOptionPane.YES_NO_OPTION,
-                            JOptionPane.WARNING_MESSAGE);
-                    if (overwriteConfirm != JOptionPane.YES_OPTION) {
-                        JOptionPane.showMessageDialog(this, "Exportação cancelada (arquivo existente).", "Aviso",
-                                JOptionPane.INFORMATION_MESSAGE);
-                        return;
-                    }
-                }
-                alunoService.exportarAlunos(finalFile.getAbsolutePath(), alunos);
-                this.dispose();
+        Object selecionado = cbxCurso.getSelectedItem();
+        if (selecionado == null) {
+            JOptionPane.showMessageDialog(this, "Curso inválido. Por favor, selecione um curso válido.", "Aviso",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        if (cbxCurso.getSelectedIndex() == cursos.size()) {
+            exportarTodosOsCursos();
+            return;
+        }
+        String nomeCurso = selecionado.toString();
+        FormatoExportacao formato = getSelectedFormato();
+        JFileChooser fileChooser = new JFileChooser();
+        FileNameExtensionFilter filtro = new FileNameExtensionFilter(
+                formato + " (*." + String.join(", *.", formato.getExtensoes()) + ")", formato.getExtensoes());
+        fileChooser.setDialogTitle("Salvar arquivo");
+        fileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
+        fileChooser.addChoosableFileFilter(filtro);
+        fileChooser.setFileFilter(filtro);
+        int userSelection = fileChooser.showSaveDialog(this);
+        if (userSelection != JFileChooser.APPROVE_OPTION) {
+            JOptionPane.showMessageDialog(this, "Exportação cancelada.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        File selectedFile = fileChooser.getSelectedFile();
+        File finalFile = new File(formato.comExtensao(selectedFile.getAbsolutePath()));
+        if (finalFile.exists()) {
+            int overwriteConfirm = JOptionPane.showConfirmDialog(
+                    this,
+                    "O arquivo '" + finalFile.getName() + "' já existe. Deseja sobrescrevê-lo?",
+                    "Confirmar Sobrescrita",
+                    JOptionPane.YES_NO_OPTION,
+                    JOptionPane.WARNING_MESSAGE);
+            if (overwriteConfirm != JOptionPane.YES_OPTION) {
+                JOptionPane.showMessageDialog(this, "Exportação cancelada (arquivo existente).", "Aviso",
+                        JOptionPane.INFORMATION_MESSAGE);
+                return;
             }
-        } catch (NoSuchElementException e) {
-            throw new CursoInvalidoException("Curso inválido. Por favor, selecione um curso válido.");
         }
+        Status status = getSelectedStatus();
+        bntExportar.setEnabled(false);
+        bntExportar.setText("Exportando...");
+        tarefas.executar(null, TarefasBanco.Prioridade.SEGUNDO_PLANO, () -> {
+            int idCurso = cursoService.obterIdCursoPorNome(nomeCurso).orElseThrow(
+                    () -> new CursoInvalidoException("Curso inválido. Por favor, selecione um curso válido."));
+            alunoService.exportarAlunosPorCurso(finalFile.getAbsolutePath(), idCurso, status, formato);
+            return null;
+        }, ok -> {
+            if (isDisplayable()) {
+                this.dispose();
+            } else {
+                JOptionPane.showMessageDialog(getOwner(), "Exportação concluída: " + finalFile.getName(),
+                        "Exportação concluída", JOptionPane.INFORMATION_MESSAGE);
+            }
+        }, e -> {
+            bntExportar.setEnabled(true);
+            bntExportar.setText("Exportar");
+            JOptionPane.showMessageDialog(pai(), e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+        });
+    }
 
+    /**
+     * Exporta todos os cursos listados em paralelo para uma pasta, um arquivo
+     * por curso, com um manifesto.
+     */
+    private void exportarTodosOsCursos() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Pasta de destino");
+        fileChooser.setFileSelectionMode(JFileChooser.DIRECTORIES_ONLY);
+        if (fileChooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            JOptionPane.showMessageDialog(this, "Exportação cancelada.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        String pasta = fileChooser.getSelectedFile().getAbsolutePath();
+        List<Integer> ids = cursos.stream().map(Curso::getIdCurso).toList();
+        Status status = getSelectedStatus();
+        FormatoExportacao formato = getSelectedFormato();
+        bntExportar.setEnabled(false);
+        bntExportar.setText("Exportando...");
+        tarefas.executar(null, TarefasBanco.Prioridade.SEGUNDO_PLANO,
+                () -> alunoService.exportarPorCurso(pasta, ids, status, formato), manifesto -> {
+                    JOptionPane.showMessageDialog(pai(), manifesto.arquivos().size() + " curso(s) e "
+                            + manifesto.totalLinhas() + " aluno(s) exportados.\nManifesto: " + manifesto.manifesto(),
+                            "Exportação concluída", JOptionPane.INFORMATION_MESSAGE);
+                    this.dispose();
+                }, e -> {
+                    bntExportar.setEnabled(true);
+                    bntExportar.setText("Exportar");
+                    JOptionPane.showMessageDialog(pai(), e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                });
     }
 
     private void btnCancelarActionPerformed(java.awt.event.ActionEvent evt) {
@@ -217,7 +320,9 @@ public class ExportDialog extends javax.swing.JDialog {
     private javax.swing.JButton btnCancelar;
     private javax.swing.ButtonGroup buttonGroup1;
     private javax.swing.JComboBox<String> cbxCurso;
+    private javax.swing.JComboBox<FormatoExportacao> cbxFormato;
     private javax.swing.JLabel jLabel1;
+    private javax.swing.JLabel jLabel2;
     private javax.swing.JPanel jPanel1;
     private javax.swing.JSeparator jSeparator1;
     private javax.swing.JRadioButton rdAtivos;
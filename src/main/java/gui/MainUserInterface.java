@@ -2,46 +2,88 @@ package gui;
 
 import dao.AlunoDao;
 import dao.CursoDao;
-import exceptions.AlunoInvalidoException;
-import exceptions.CursoInvalidoException;
-import java.sql.SQLException;
+import java.awt.Cursor;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import javax.swing.JOptionPane;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import model.Aluno;
+import model.AlunoComCurso;
 import model.Curso;
+import model.CursoComTotais;
+import model.Pagina;
+import model.enums.OrdemListagem;
 import model.enums.Status;
+import services.Alteracao;
 import services.AlunoService;
 import services.CursoService;
 
 public class MainUserInterface extends javax.swing.JFrame {
 
+    private static final int TAMANHO_PAGINA = 200;
+    // Resultados exibidos pela busca de alunos; a busca para ao atingir o limite
+    private static final int LIMITE_BUSCA = 500;
+    // Espera após a última tecla antes de buscar
+    private static final int ATRASO_BUSCA_MS = 150;
+
     private CursoService cursoService;
     private AlunoService alunoService;
-    private CursoDao cursoDao;
-    private AlunoDao alunoDao;
     private Curso selectedCurso;
     private Aluno selectedAluno;
+    // Todo acesso ao banco passa por aqui, fora da EDT
+    private final TarefasBanco tarefas = TarefasBanco.getInstancia();
+    // Linhas carregadas por página conforme a rolagem
+    private final ModeloTabelaCursos modeloCursos = new ModeloTabelaCursos(TAMANHO_PAGINA);
+    private final ModeloTabelaAlunos modeloAlunos = new ModeloTabelaAlunos(TAMANHO_PAGINA);
+    // Termo da busca exibida na tabela de alunos (vazio: listagem completa)
+    private String termoBusca = "";
+    private final Timer timerBusca = new Timer(ATRASO_BUSCA_MS, e -> buscarAlunos());
 
     public MainUserInterface() {
         initComponents();
-        try {
-            this.cursoDao = new CursoDao();
-            this.alunoDao = new AlunoDao();
-            this.cursoService = new CursoService(cursoDao, alunoDao);
-            this.alunoService = new AlunoService(alunoDao, cursoDao);
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(null, "Erro ao acessar banco de dados: " + e.getMessage());
-        }
-        atualizaTabelaCursos();
-        atualizaTabelaAlunos();
+        // Fora do initComponents, que é gerado a partir do .form
+        txtBusca.putClientProperty("JTextField.placeholderText", "Buscar aluno...");
+        barraCarregando.setVisible(false);
+        tarefas.setOuvinteAndamento(this::exibirCarregamento);
+        // Criar os DAOs abre o pool e aplica as migrações do esquema: fora
+        // da EDT, com as ações desabilitadas até os serviços existirem
+        habilitarAcoes(false);
+        tarefas.executar(() -> {
+            CursoDao cursoDao = new CursoDao();
+            AlunoDao alunoDao = new AlunoDao();
+            return new Servicos(new CursoService(cursoDao, alunoDao), new AlunoService(alunoDao, cursoDao));
+        }, this::iniciarServicos,
+                e -> JOptionPane.showMessageDialog(this, "Erro ao acessar banco de dados: " + e.getMessage()));
+        modeloCursos.instalar(cursoTable, this::mostrarErro);
+        modeloAlunos.instalar(alunoTable, this::mostrarErro);
+        timerBusca.setRepeats(false);
+        txtBusca.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timerBusca.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timerBusca.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                timerBusca.restart();
+            }
+        });
+        // A linha selecionada já tem o objeto completo no modelo
         cursoTable.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent evt) {
                 int row = cursoTable.getSelectedRow();
                 if (row != -1) {
-                    int id = Integer.parseInt(cursoTable.getValueAt(row, 0).toString());
-                    selectedCurso = cursoService.obterCursoPorId(id).get();
+                    selectedCurso = modeloCursos.getItem(cursoTable.convertRowIndexToModel(row)).curso();
                 }
             }
         });
@@ -50,13 +92,41 @@ public class MainUserInterface extends javax.swing.JFrame {
             public void mouseClicked(java.awt.event.MouseEvent evt) {
                 int row = alunoTable.getSelectedRow();
                 if (row != -1) {
-                    int id = Integer.parseInt(alunoTable.getValueAt(row, 0).toString());
-                    selectedAluno = alunoService.obterAlunoPorId(id).get();
+                    selectedAluno = modeloAlunos.getItem(alunoTable.convertRowIndexToModel(row)).aluno();
                 }
             }
         });
     }
 
+    private record Servicos(CursoService cursos, AlunoService alunos) {
+    }
+
+    private void iniciarServicos(Servicos servicos) {
+        this.cursoService = servicos.cursos();
+        this.alunoService = servicos.alunos();
+        // Alterações feitas pelos serviços chegam como eventos e são
+        // aplicadas linha a linha, sem recarregar as tabelas
+        cursoService.adicionarOuvinte(
+                alteracao -> SwingUtilities.invokeLater(() -> aplicarAlteracaoCurso(alteracao)));
+        alunoService.adicionarOuvinte(
+                alteracao -> SwingUtilities.invokeLater(() -> aplicarAlteracaoAluno(alteracao)));
+        habilitarAcoes(true);
+        // As tabelas carregam em segundo plano; a janela abre sem esperar
+        atualizaTabelaCursos();
+        atualizaTabelaAlunos();
+    }
+
+    private void habilitarAcoes(boolean habilitar) {
+        btnNovoCurso.setEnabled(habilitar);
+        btnNovoAluno.setEnabled(habilitar);
+        btnEditar.setEnabled(habilitar);
+        btnDelete.setEnabled(habilitar);
+        btnExportar.setEnabled(habilitar);
+        checkAtivo.setEnabled(habilitar);
+        checkInativo.setEnabled(habilitar);
+        txtBusca.setEnabled(habilitar);
+    }
+
     private void initComponents() {
 
         btnNovoCurso = new javax.swing.JButton();
@@ -71,6 +141,8 @@ public class MainUserInterface extends javax.swing.JFrame {
         alunoTable = new javax.swing.JTable();
         checkAtivo = new javax.swing.JCheckBox();
         checkInativo = new javax.swing.JCheckBox();
+        txtBusca = new javax.swing.JTextField();
+        barraCarregando = new javax.swing.JProgressBar();
 
         setDefaultCloseOperation(javax.swing.WindowConstants.EXIT_ON_CLOSE);
         setTitle("SGCA by XvierDev");
@@ -154,6 +226,12 @@ public class MainUserInterface extends javax.swing.JFrame {
             }
         });
 
+        txtBusca.setToolTipText("Buscar alunos por nome, CPF, email ou telefone");
+
+        barraCarregando.setIndeterminate(true);
+        barraCarregando.setString("Carregando...");
+        barraCarregando.setStringPainted(true);
+
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(getContentPane());
         getContentPane().setLayout(layout);
         layout.setHorizontalGroup(
@@ -179,7 +257,13 @@ public class MainUserInterface extends javax.swing.JFrame {
                                                 .addComponent(checkAtivo)
                                                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                                                 .addComponent(checkInativo)
-                                                .addGap(0, 0, Short.MAX_VALUE)))));
+                                                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                                                .addComponent(txtBusca, javax.swing.GroupLayout.PREFERRED_SIZE, 180,
+                                                        javax.swing.GroupLayout.PREFERRED_SIZE)
+                                                .addGap(0, 0, Short.MAX_VALUE)
+                                                .addComponent(barraCarregando, javax.swing.GroupLayout.PREFERRED_SIZE,
+                                                        140, javax.swing.GroupLayout.PREFERRED_SIZE)
+                                                .addContainerGap()))));
         layout.setVerticalGroup(
                 layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                         .addGroup(layout.createSequentialGroup()
@@ -191,7 +275,11 @@ public class MainUserInterface extends javax.swing.JFrame {
                                         .addComponent(btnDelete)
                                         .addComponent(btnExportar)
                                         .addComponent(checkAtivo)
-                                        .addComponent(checkInativo))
+                                        .addComponent(checkInativo)
+                                        .addComponent(txtBusca, javax.swing.GroupLayout.PREFERRED_SIZE,
+                                                javax.swing.GroupLayout.DEFAULT_SIZE,
+                                                javax.swing.GroupLayout.PREFERRED_SIZE)
+                                        .addComponent(barraCarregando))
                                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
                                 .addComponent(jTabbedPane, javax.swing.GroupLayout.DEFAULT_SIZE, 533, Short.MAX_VALUE)
                                 .addContainerGap()));
@@ -205,13 +293,11 @@ public class MainUserInterface extends javax.swing.JFrame {
             EditCursoDialog editCursoDlg = new EditCursoDialog(this, alunoService, cursoService, selectedCurso);
             editCursoDlg.setVisible(true);
             jTabbedPane.setSelectedIndex(0);
-            atualizaTabelaCursos();
 
         } else if ("Alunos".equals(jTabbedPane.getTitleAt(jTabbedPane.getSelectedIndex())) && selectedAluno != null) {
             EditAlunoDialog editAlunoDlg = new EditAlunoDialog(this, alunoService, cursoService, selectedAluno);
             editAlunoDlg.setVisible(true);
             jTabbedPane.setSelectedIndex(1);
-            atualizaTabelaAlunos();
         }
     }
 
@@ -234,38 +320,46 @@ public class MainUserInterface extends javax.swing.JFrame {
         NovoCursoDialog novoCursoDlg = new NovoCursoDialog(this, cursoService, alunoService);
         novoCursoDlg.setVisible(true);
         jTabbedPane.setSelectedIndex(0);
-        atualizaTabelaCursos();
     }
 
     private void btnNovoAlunoActionPerformed(java.awt.event.ActionEvent evt) {
         NovoAlunoDialog novoAlunoDlg = new NovoAlunoDialog(this, cursoService, alunoService);
         novoAlunoDlg.setVisible(true);
         jTabbedPane.setSelectedIndex(1);
-        atualizaTabelaAlunos();
     }
 
     private void btnDeleteActionPerformed(java.awt.event.ActionEvent evt) {
         if ("Cursos".equals(jTabbedPane.getTitleAt(jTabbedPane.getSelectedIndex())) && selectedCurso != null) {
             int option = JOptionPane.showConfirmDialog(null, "Excluir o curso " + selectedCurso.getNome() + "?");
             if (option == JOptionPane.YES_OPTION) {
-                try {
-                    cursoService.removerCurso(selectedCurso.getIdCurso());
-                    atualizaTabelaCursos();
+                int idCurso = selectedCurso.getIdCurso();
+                btnDelete.setEnabled(false);
+                tarefas.executar(() -> {
+                    cursoService.removerCurso(idCurso);
+                    return null;
+                }, ok -> {
+                    btnDelete.setEnabled(true);
                     selectedCurso = null;
-                } catch (CursoInvalidoException e) {
+                }, e -> {
+                    btnDelete.setEnabled(true);
                     JOptionPane.showMessageDialog(this, "Erro ao excluir curso: " + e.getMessage());
-                }
+                });
             }
         } else if ("Alunos".equals(jTabbedPane.getTitleAt(jTabbedPane.getSelectedIndex())) && selectedAluno != null) {
             int option = JOptionPane.showConfirmDialog(null, "Excluir o aluno " + selectedAluno.getNome() + "?");
             if (option == JOptionPane.YES_OPTION) {
-                try {
-                    alunoService.removerAluno(selectedAluno.getIdAluno());
-                    atualizaTabelaAlunos();
+                int idAluno = selectedAluno.getIdAluno();
+                btnDelete.setEnabled(false);
+                tarefas.executar(() -> {
+                    alunoService.removerAluno(idAluno);
+                    return null;
+                }, ok -> {
+                    btnDelete.setEnabled(true);
                     selectedAluno = null;
-                } catch (CursoInvalidoException e) {
+                }, e -> {
+                    btnDelete.setEnabled(true);
                     JOptionPane.showMessageDialog(this, "Erro ao excluir aluno: " + e.getMessage());
-                }
+                });
             }
         }
     }
@@ -283,43 +377,160 @@ public class MainUserInterface extends javax.swing.JFrame {
     }
 
     private void atualizaTabelaCursos() {
-        try {
-            List<Curso> cursos = cursoService.listarTodosCursos(isCheckAtivoSelected());
-            DefaultTableModel model = new DefaultTableModel(
-                    new String[] { "ID", "Nome", "Carga Horária", "Alunos no curso", "Limite Alunos", "Status" }, 0);
-            for (Curso curso : cursos) {
-                model.addRow(new Object[] { curso.getIdCurso(), curso.getNome(), curso.getCargaHoraria(),
-                        cursoService.obterTotalAlunosNoCurso(curso.getIdCurso()), curso.getLimiteAlunos(),
-                        curso.isAtivo() });
+        Status filtro = isCheckAtivoSelected();
+        modeloCursos.recarregar((token, tamanho) -> cursoService.listarCursosComTotaisPaginado(filtro,
+                OrdemListagem.ID, token, tamanho));
+    }
+
+    private void atualizaTabelaAlunos() {
+        Status filtro = isCheckAtivoSelected();
+        String termo = txtBusca.getText().trim();
+        termoBusca = termo;
+        if (termo.isEmpty()) {
+            modeloAlunos.recarregar((token, tamanho) -> alunoService.listarAlunosComCursoPaginado(filtro,
+                    OrdemListagem.ID, token, tamanho));
+        } else {
+            modeloAlunos.recarregar((token, tamanho) -> resultadoBusca(termo, filtro));
+        }
+    }
+
+    private void buscarAlunos() {
+        if (!txtBusca.getText().trim().equals(termoBusca)) {
+            if (!txtBusca.getText().isBlank()) {
+                jTabbedPane.setSelectedIndex(1);
             }
-            cursoTable.setModel(model);
-        } catch (CursoInvalidoException e) {
-            JOptionPane.showMessageDialog(this, "Erro: " + e.getMessage());
+            atualizaTabelaAlunos();
         }
     }
 
-    private void atualizaTabelaAlunos() {
-        try {
-            List<Aluno> alunos = alunoService.listarAlunos(isCheckAtivoSelected());
-            DefaultTableModel model = new DefaultTableModel(new String[] { "ID Aluno", "Curso", "Nome", "CPF",
-                    "Telefone", "Email", "Data de Nascimento", "Status" }, 0);
-            for (Aluno aluno : alunos) {
-                String cursoNome = "";
-                java.util.Optional<Curso> cursoOpt = cursoService.obterCursoPorId(aluno.getIdCurso());
-                if (cursoOpt.isPresent()) {
-                    cursoNome = cursoOpt.get().getNome();
-                } else {
-                    cursoNome = "Curso não encontrado";
+    /**
+     * Resultado da busca como uma página única, em ordem de ID como a
+     * listagem (o modelo localiza as linhas por ID). O nome do curso vem do
+     * cache de cursos.
+     */
+    private Pagina<AlunoComCurso> resultadoBusca(String termo, Status filtro) {
+        List<AlunoComCurso> linhas = new ArrayList<>();
+        for (Aluno aluno : alunoService.buscar(termo, LIMITE_BUSCA)) {
+            if (filtro == null || filtro == aluno.isAtivo()) {
+                String nomeCurso = cursoService.obterCursoPorId(aluno.getIdCurso()).map(Curso::getNome).orElse("");
+                linhas.add(new AlunoComCurso(aluno, nomeCurso));
+            }
+        }
+        linhas.sort(Comparator.comparingInt(linha -> linha.aluno().getIdAluno()));
+        return new Pagina<>(linhas, null);
+    }
+
+    private void aplicarAlteracaoCurso(Alteracao<Curso> alteracao) {
+        int id = alteracao.id();
+        switch (alteracao.tipo()) {
+            case VARIOS -> atualizaTabelaCursos();
+            case CRIADO -> modeloCursos.atualizarLinha(new CursoComTotais(alteracao.entidade(), 0, 0),
+                    pertenceAoFiltro(alteracao.entidade().isAtivo()));
+            case REMOVIDO -> {
+                // Os alunos do curso são excluídos junto (ON DELETE CASCADE)
+                modeloCursos.remover(id);
+                modeloAlunos.removerOnde(linha -> linha.aluno().getIdCurso() == id);
+                if (selectedCurso != null && selectedCurso.getIdCurso() == id) {
+                    selectedCurso = null;
+                }
+                if (selectedAluno != null && selectedAluno.getIdCurso() == id) {
+                    selectedAluno = null;
+                }
+            }
+            default -> {
+                atualizaLinhaCurso(id);
+                Curso curso = alteracao.entidade();
+                Curso anterior = alteracao.anterior();
+                if (curso != null && anterior != null && !curso.getNome().equals(anterior.getNome())) {
+                    modeloAlunos.substituirOnde(linha -> linha.aluno().getIdCurso() == id,
+                            linha -> new AlunoComCurso(linha.aluno(), curso.getNome()));
+                }
+            }
+        }
+    }
+
+    private void aplicarAlteracaoAluno(Alteracao<Aluno> alteracao) {
+        int id = alteracao.id();
+        switch (alteracao.tipo()) {
+            case VARIOS -> {
+                atualizaTabelaAlunos();
+                atualizaTabelaCursos();
+            }
+            case REMOVIDO -> {
+                modeloAlunos.remover(id);
+                if (selectedAluno != null && selectedAluno.getIdAluno() == id) {
+                    selectedAluno = null;
+                }
+                if (alteracao.entidade() != null) {
+                    atualizaLinhaCurso(alteracao.entidade().getIdCurso());
+                }
+            }
+            default -> {
+                atualizaLinhaAluno(id, alteracao.entidade());
+                Aluno anterior = alteracao.anterior();
+                if (anterior != null && alteracao.entidade() != null
+                        && anterior.getIdCurso() != alteracao.entidade().getIdCurso()) {
+                    atualizaLinhaCurso(anterior.getIdCurso()); // Transferência: o curso de origem também muda
                 }
-                model.addRow(new Object[] { aluno.getIdAluno(), cursoNome, aluno.getNome(), aluno.getCpf(),
-                        aluno.getTelefone(), aluno.getEmail(), aluno.getDataNascimento(), aluno.isAtivo() });
             }
-            alunoTable.setModel(model);
-        } catch (AlunoInvalidoException e) {
-            JOptionPane.showMessageDialog(this, "Erro: " + e.getMessage());
         }
     }
 
+    /**
+     * Atualiza a linha de um aluno. Quando o evento já traz o aluno, só o
+     * nome do curso é buscado (normalmente do cache de cursos).
+     */
+    private void atualizaLinhaAluno(int id, Aluno conhecido) {
+        tarefas.executar("linhaAluno-" + id, TarefasBanco.Prioridade.INTERATIVA, () -> {
+            Aluno aluno = conhecido != null ? conhecido : alunoService.obterAlunoPorId(id).orElse(null);
+            if (aluno == null) {
+                return null;
+            }
+            String nomeCurso = cursoService.obterCursoPorId(aluno.getIdCurso()).map(Curso::getNome).orElse("");
+            return new AlunoComCurso(aluno, nomeCurso);
+        }, linha -> {
+            if (linha == null) {
+                modeloAlunos.remover(id);
+                return;
+            }
+            modeloAlunos.atualizarLinha(linha, pertenceAoFiltro(linha.aluno().isAtivo())
+                    && (termoBusca.isEmpty() || alunoService.correspondeABusca(linha.aluno(), termoBusca)));
+            if (selectedAluno != null && selectedAluno.getIdAluno() == id) {
+                selectedAluno = linha.aluno();
+            }
+            atualizaLinhaCurso(linha.aluno().getIdCurso()); // Totais de alunos do curso
+        }, this::mostrarErro);
+    }
+
+    private void atualizaLinhaCurso(int id) {
+        tarefas.executar("linhaCurso-" + id, TarefasBanco.Prioridade.INTERATIVA,
+                () -> cursoService.obterCursoComTotais(id), linha -> {
+                    if (linha.isEmpty()) {
+                        modeloCursos.remover(id);
+                        return;
+                    }
+                    Curso curso = linha.get().curso();
+                    modeloCursos.atualizarLinha(linha.get(), pertenceAoFiltro(curso.isAtivo()));
+                    if (selectedCurso != null && selectedCurso.getIdCurso() == id) {
+                        selectedCurso = curso;
+                    }
+                }, this::mostrarErro);
+    }
+
+    private boolean pertenceAoFiltro(Status status) {
+        Status filtro = isCheckAtivoSelected();
+        return filtro == null || filtro == status;
+    }
+
+    private void mostrarErro(Throwable e) {
+        JOptionPane.showMessageDialog(this, "Erro: " + e.getMessage());
+    }
+
+    private void exibirCarregamento(int tarefasEmAndamento) {
+        barraCarregando.setVisible(tarefasEmAndamento > 0);
+        setCursor(tarefasEmAndamento > 0 ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
     public static void main(String args[]) {
         try {
             for (javax.swing.UIManager.LookAndFeelInfo info : javax.swing.UIManager.getInstalledLookAndFeels()) {
@@ -350,6 +561,7 @@ public class MainUserInterface extends javax.swing.JFrame {
     }
 
     private javax.swing.JTable alunoTable;
+    private javax.swing.JProgressBar barraCarregando;
     private javax.swing.JButton btnDelete;
     private javax.swing.JButton btnEditar;
     private javax.swing.JButton btnExportar;
@@ -361,4 +573,5 @@ public class MainUserInterface extends javax.swing.JFrame {
     private javax.swing.JScrollPane jScrollPane1;
     private javax.swing.JScrollPane jScrollPane2;
     private javax.swing.JTabbedPane jTabbedPane;
+    private javax.swing.JTextField txtBusca;
 }
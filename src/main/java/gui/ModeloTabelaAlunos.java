@@ -0,0 +1,41 @@
+package gui;
+
+import model.Aluno;
+import model.AlunoComCurso;
+
+/**
+ * Linhas da tabela de alunos, com o nome do curso.
+ */
+class ModeloTabelaAlunos extends ModeloTabelaPaginado<AlunoComCurso> {
+
+    ModeloTabelaAlunos(int tamanhoPagina) {
+        super(new String[] { "ID Aluno", "Curso", "Nome", "CPF", "Telefone", "Email", "Data de Nascimento",
+                "Status" }, tamanhoPagina);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return coluna == 0 ? Integer.class : Object.class;
+    }
+
+    @Override
+    protected Object getValor(AlunoComCurso linha, int coluna) {
+        Aluno aluno = linha.aluno();
+        return switch (coluna) {
+            case 0 -> aluno.getIdAluno();
+            case 1 -> linha.nomeCurso();
+            case 2 -> aluno.getNome();
+            case 3 -> aluno.getCpf();
+            case 4 -> aluno.getTelefone();
+            case 5 -> aluno.getEmail();
+            case 6 -> aluno.getDataNascimento();
+            case 7 -> aluno.isAtivo();
+            default -> throw new IndexOutOfBoundsException(coluna);
+        };
+    }
+
+    @Override
+    protected int getId(AlunoComCurso linha) {
+        return linha.aluno().getIdAluno();
+    }
+}
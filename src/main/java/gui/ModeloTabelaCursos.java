@@ -0,0 +1,43 @@
+package gui;
+
+import model.Curso;
+import model.CursoComTotais;
+
+/**
+ * Linhas da tabela de cursos, com os totais de alunos.
+ */
+class ModeloTabelaCursos extends ModeloTabelaPaginado<CursoComTotais> {
+
+    ModeloTabelaCursos(int tamanhoPagina) {
+        super(new String[] { "ID", "Nome", "Carga Horária", "Alunos no curso", "Alunos ativos", "Limite Alunos",
+                "Status" }, tamanhoPagina);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return switch (coluna) {
+            case 0, 2, 3, 4, 5 -> Integer.class;
+            default -> Object.class;
+        };
+    }
+
+    @Override
+    protected Object getValor(CursoComTotais linha, int coluna) {
+        Curso curso = linha.curso();
+        return switch (coluna) {
+            case 0 -> curso.getIdCurso();
+            case 1 -> curso.getNome();
+            case 2 -> curso.getCargaHoraria();
+            case 3 -> linha.totalAlunos();
+            case 4 -> linha.alunosAtivos();
+            case 5 -> curso.getLimiteAlunos();
+            case 6 -> curso.isAtivo();
+            default -> throw new IndexOutOfBoundsException(coluna);
+        };
+    }
+
+    @Override
+    protected int getId(CursoComTotais linha) {
+        return linha.curso().getIdCurso();
+    }
+}
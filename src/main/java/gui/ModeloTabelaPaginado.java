@@ -0,0 +1,273 @@
+package gui;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import javax.swing.JTable;
+import javax.swing.JViewport;
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+import model.Pagina;
+
+/**
+ * Modelo de tabela que guarda os próprios objetos de cada linha e busca as
+ * páginas sob demanda, conforme a rolagem.
+ *
+ * As páginas são carregadas só até onde o usuário rolou, mas não são
+ * descartadas: todas as já carregadas ficam em memória até o próximo
+ * {@link #recarregar}, pois os tokens só avançam e uma página descartada não
+ * poderia ser buscada de novo. Rolar uma listagem enorme até o fim carrega,
+ * portanto, a listagem inteira.
+ *
+ * A próxima página é pedida quando a última linha visível chega a
+ * {@code margem} linhas do fim do que já foi carregado, então ela normalmente
+ * já chegou quando o usuário rola até lá. A linha selecionada é lida direto do modelo ({@link #getItem(int)}),
+ * sem nova consulta.
+ *
+ * Alterações conhecidas (notificadas pelos serviços) são aplicadas linha a
+ * linha com {@link #atualizarLinha} e {@link #remover}, sem recarregar a
+ * tabela. As linhas são mantidas em ordem de ID, a ordem das páginas.
+ *
+ * @param <T> O tipo do objeto de cada linha.
+ */
+abstract class ModeloTabelaPaginado<T> extends AbstractTableModel {
+
+    /**
+     * Busca uma página (fora da EDT).
+     */
+    @FunctionalInterface
+    interface Fonte<T> {
+        Pagina<T> buscar(String token, int tamanho);
+    }
+
+    private final String[] colunas;
+    private final int tamanhoPagina;
+    private final int margem;
+    private final String chaveTarefa = getClass().getSimpleName() + "@" + System.identityHashCode(this);
+    private final TarefasBanco tarefas = TarefasBanco.getInstancia();
+    private final List<T> linhas = new ArrayList<>();
+    private Fonte<T> fonte;
+    private String proximoToken;
+    private boolean fim = true;
+    private SwingWorker<?, ?> carregando;
+    private JTable tabela;
+    private Consumer<Throwable> aoFalhar = e -> {
+    };
+
+    ModeloTabelaPaginado(String[] colunas, int tamanhoPagina) {
+        this.colunas = colunas.clone();
+        this.tamanhoPagina = tamanhoPagina;
+        this.margem = Math.max(1, tamanhoPagina / 2);
+    }
+
+    /**
+     * Associa o modelo à tabela e passa a carregar páginas conforme a rolagem.
+     *
+     * @param aoFalhar Recebe, na EDT, o erro de uma carga de página.
+     */
+    void instalar(JTable tabela, Consumer<Throwable> aoFalhar) {
+        this.tabela = tabela;
+        this.aoFalhar = aoFalhar;
+        tabela.setModel(this);
+        if (tabela.getParent() instanceof JViewport viewport) {
+            viewport.addChangeListener(e -> verificarRolagem());
+        }
+    }
+
+    /**
+     * Descarta as linhas e recomeça a partir da primeira página da fonte. Uma
+     * carga em andamento da fonte anterior é cancelada.
+     */
+    void recarregar(Fonte<T> novaFonte) {
+        if (carregando != null) {
+            carregando.cancel(true);
+            carregando = null;
+        }
+        this.fonte = novaFonte;
+        this.proximoToken = null;
+        this.fim = false;
+        linhas.clear();
+        fireTableDataChanged();
+        carregarProxima();
+    }
+
+    /**
+     * @return O objeto da linha (índice do modelo).
+     */
+    T getItem(int linha) {
+        return linhas.get(linha);
+    }
+
+    /**
+     * @return true enquanto houver páginas ainda não carregadas.
+     */
+    boolean temMais() {
+        return !fim;
+    }
+
+    @Override
+    public int getRowCount() {
+        return linhas.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return colunas.length;
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return colunas[coluna];
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        return getValor(linhas.get(linha), coluna);
+    }
+
+    /**
+     * @return O valor exibido na coluna para o objeto da linha.
+     */
+    protected abstract Object getValor(T item, int coluna);
+
+    /**
+     * @return O ID do objeto da linha, que define a ordem das linhas.
+     */
+    protected abstract int getId(T item);
+
+    /**
+     * @return true se o registro com esse ID está entre as linhas carregadas.
+     */
+    boolean contem(int id) {
+        return indiceDe(id) >= 0;
+    }
+
+    /**
+     * Aplica a versão atual de um registro. Se ele pertence à listagem (passa
+     * no filtro atual), a linha é substituída, ou inserida na posição do ID;
+     * caso contrário, é removida. Um registro novo além da última linha
+     * carregada só é inserido se não houver mais páginas, pois virá com elas.
+     *
+     * @param item     O registro atualizado.
+     * @param pertence Se o registro deve aparecer na tabela.
+     */
+    void atualizarLinha(T item, boolean pertence) {
+        int indice = indiceDe(getId(item));
+        if (!pertence) {
+            if (indice >= 0) {
+                removerLinha(indice);
+            }
+        } else if (indice >= 0) {
+            linhas.set(indice, item);
+            fireTableRowsUpdated(indice, indice);
+        } else {
+            int posicao = -indice - 1;
+            if (posicao < linhas.size() || fim) {
+                linhas.add(posicao, item);
+                fireTableRowsInserted(posicao, posicao);
+            }
+        }
+    }
+
+    /**
+     * Remove a linha do registro com esse ID, se estiver carregada.
+     */
+    void remover(int id) {
+        int indice = indiceDe(id);
+        if (indice >= 0) {
+            removerLinha(indice);
+        }
+    }
+
+    /**
+     * Remove as linhas carregadas que atendem ao critério.
+     */
+    void removerOnde(Predicate<T> criterio) {
+        for (int i = linhas.size() - 1; i >= 0; i--) {
+            if (criterio.test(linhas.get(i))) {
+                removerLinha(i);
+            }
+        }
+    }
+
+    /**
+     * Substitui as linhas carregadas que atendem ao critério, sem consultar o
+     * banco.
+     */
+    void substituirOnde(Predicate<T> criterio, UnaryOperator<T> substituicao) {
+        for (int i = 0; i < linhas.size(); i++) {
+            if (criterio.test(linhas.get(i))) {
+                linhas.set(i, substituicao.apply(linhas.get(i)));
+                fireTableRowsUpdated(i, i);
+            }
+        }
+    }
+
+    private void removerLinha(int indice) {
+        linhas.remove(indice);
+        fireTableRowsDeleted(indice, indice);
+    }
+
+    /**
+     * Busca binária pelo ID nas linhas carregadas.
+     *
+     * @return O índice da linha, ou {@code -(posição de inserção) - 1}.
+     */
+    private int indiceDe(int id) {
+        int baixo = 0;
+        int alto = linhas.size() - 1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            int atual = getId(linhas.get(meio));
+            if (atual < id) {
+                baixo = meio + 1;
+            } else if (atual > id) {
+                alto = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -(baixo + 1);
+    }
+
+    private void verificarRolagem() {
+        if (fim || carregando != null || tabela == null) {
+            return;
+        }
+        Rectangle visivel = tabela.getVisibleRect();
+        int ultimaVisivel = tabela.rowAtPoint(new Point(0, visivel.y + visivel.height - 1));
+        if (ultimaVisivel == -1) {
+            ultimaVisivel = linhas.size(); // Sobra espaço abaixo da última linha
+        } else {
+            ultimaVisivel = tabela.convertRowIndexToModel(ultimaVisivel);
+        }
+        if (ultimaVisivel >= linhas.size() - margem) {
+            carregarProxima();
+        }
+    }
+
+    private void carregarProxima() {
+        Fonte<T> atual = fonte;
+        String token = proximoToken;
+        carregando = tarefas.executar(chaveTarefa, TarefasBanco.Prioridade.INTERATIVA,
+                () -> atual.buscar(token, tamanhoPagina), pagina -> {
+                    carregando = null;
+                    int inicio = linhas.size();
+                    linhas.addAll(pagina.getItens());
+                    proximoToken = pagina.getProximaPagina();
+                    fim = !pagina.temProxima();
+                    if (!pagina.getItens().isEmpty()) {
+                        fireTableRowsInserted(inicio, linhas.size() - 1);
+                    }
+                    verificarRolagem(); // A página pode não ter preenchido a tela
+                }, e -> {
+                    carregando = null;
+                    fim = true; // Não insiste; uma nova carga recomeça pelo recarregar
+                    aoFalhar.accept(e);
+                });
+    }
+}
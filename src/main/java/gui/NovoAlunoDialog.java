@@ -1,15 +1,13 @@
 package gui;
 
-import exceptions.AlunoInvalidoException;
-import exceptions.ErroSistemaException;
+import exceptions.CursoInvalidoException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.OptionalInt;
-import java.util.stream.Collectors;
 import javax.swing.DefaultComboBoxModel;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
 import model.Curso;
 import model.enums.Status;
 import services.AlunoService;
@@ -19,17 +17,39 @@ public class NovoAlunoDialog extends javax.swing.JDialog {
 
     private CursoService cs;
     private AlunoService as;
+    private final TarefasBanco tarefas = TarefasBanco.getInstancia();
+    // Carga de cursos; cancelada ao fechar o diálogo
+    private SwingWorker<?, ?> carregamento;
+    // Gravação em andamento: o diálogo só fecha depois de mostrar o resultado
+    private boolean gravando;
 
     public NovoAlunoDialog(JFrame owner, CursoService cursoService, AlunoService alunoService) {
         super(owner, true);
         this.cs = cursoService;
         this.as = alunoService;
         initComponents();
-        List<Curso> listaDeCursos = cs.listarTodosCursos(Status.ATIVO);
-        List<String> nomesDosCursos = listaDeCursos.stream()
-                .map(Curso::getNome)
-                .collect(Collectors.toList());
-        cbCursos.setModel(new DefaultComboBoxModel<>(nomesDosCursos.toArray(String[]::new)));
+        cbCursos.setModel(new DefaultComboBoxModel<>(new String[] { "Carregando..." }));
+        cbCursos.setEnabled(false);
+        btnConfirmar.setEnabled(false);
+        carregamento = tarefas.executar(() -> cs.listarTodosCursos(Status.ATIVO), listaDeCursos -> {
+            List<String> nomesDosCursos = listaDeCursos.stream()
+                    .map(Curso::getNome)
+                    .toList();
+            cbCursos.setModel(new DefaultComboBoxModel<>(nomesDosCursos.toArray(String[]::new)));
+            cbCursos.setEnabled(true);
+            btnConfirmar.setEnabled(true);
+        }, e -> JOptionPane.showMessageDialog(this, e.getMessage()));
+    }
+
+    @Override
+    public void dispose() {
+        if (gravando) {
+            return;
+        }
+        if (carregamento != null) {
+            carregamento.cancel(true);
+        }
+        super.dispose();
     }
 
     private void initComponents() {
@@ -207,24 +227,25 @@ public class NovoAlunoDialog extends javax.swing.JDialog {
         if (nomeAluno.isBlank() || cpf.isBlank() || telefone.isBlank() || email.isBlank() || dataNasc.isBlank()) {
             JOptionPane.showMessageDialog(null, "Todos os campos devem ser preenchidos.\n");
         } else {
-            Curso cursoSelecionado = cs.obterCursoPorNome(cbCursos.getSelectedItem().toString());
-            if (cursoSelecionado == null) {
-                JOptionPane.showMessageDialog(null, "Selecione um curso.\n");
-            } else {
-                try {
-                    OptionalInt id = cs.obterIdCursoPorNome(nomeCurso);
-                    if (id.isEmpty()) {
-                        JOptionPane.showMessageDialog(null, "Curso selecionado não encontrado.\n");
-                    } else {
-                        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-                        int idCurso = cs.obterIdCursoPorNome(nomeCurso).getAsInt();
-                        as.adicionarAluno(idCurso, nomeAluno, cpf, telefone, email, LocalDate.parse(dataNasc, fmt));
-                        this.dispose();
-                    }
-                } catch (ErroSistemaException | AlunoInvalidoException e) {
-                    JOptionPane.showMessageDialog(null, e.getMessage());
-                }
-            }
+            gravando = true;
+            btnConfirmar.setEnabled(false);
+            bntCancelar.setEnabled(false);
+            tarefas.executar(() -> {
+                int idCurso = cs.obterIdCursoPorNome(nomeCurso)
+                        .orElseThrow(() -> new CursoInvalidoException("Curso selecionado não encontrado.\n"));
+                DateTimeFormatter fmt = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+                as.adicionarAluno(idCurso, nomeAluno, cpf, telefone, email, LocalDate.parse(dataNasc, fmt));
+                return null;
+            }, ok -> {
+                gravando = false;
+                this.dispose();
+            }, e -> {
+                // Erros de validação, de banco ou de data inválida
+                gravando = false;
+                btnConfirmar.setEnabled(true);
+                bntCancelar.setEnabled(true);
+                JOptionPane.showMessageDialog(null, e.getMessage());
+            });
         }
 
     }
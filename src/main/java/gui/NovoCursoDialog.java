@@ -4,8 +4,6 @@
  */
 package gui;
 
-import exceptions.CursoInvalidoException;
-import exceptions.ErroSistemaException;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
 import services.AlunoService;
@@ -18,6 +16,9 @@ import services.CursoService;
 public class NovoCursoDialog extends javax.swing.JDialog {
 
     private CursoService cs;
+    private final TarefasBanco tarefas = TarefasBanco.getInstancia();
+    // Gravação em andamento: o diálogo só fecha depois de mostrar o resultado
+    private boolean gravando;
 
     public NovoCursoDialog(JFrame owner, CursoService cs, AlunoService as) {
         super(owner, true);
@@ -137,13 +138,34 @@ public class NovoCursoDialog extends javax.swing.JDialog {
         try {
             int cursoLimite = Integer.parseInt(cargaHoraria);
             int alunoLimite = Integer.parseInt(LimiteAlunos);
-            cs.adicionarCurso(nomeCurso, cursoLimite, alunoLimite);
-            dispose();
-        } catch (ErroSistemaException | NumberFormatException | CursoInvalidoException e) {
+            gravando = true;
+            btnConfirm.setEnabled(false);
+            btnCancel.setEnabled(false);
+            tarefas.executar(() -> {
+                cs.adicionarCurso(nomeCurso, cursoLimite, alunoLimite);
+                return null;
+            }, ok -> {
+                gravando = false;
+                dispose();
+            }, e -> {
+                gravando = false;
+                btnConfirm.setEnabled(true);
+                btnCancel.setEnabled(true);
+                JOptionPane.showMessageDialog(this, e.getMessage());
+            });
+        } catch (NumberFormatException e) {
             JOptionPane.showMessageDialog(this, e.getMessage());
         }
     }
 
+    @Override
+    public void dispose() {
+        if (gravando) {
+            return;
+        }
+        super.dispose();
+    }
+
     private void btnCancelActionPerformed(java.awt.event.ActionEvent evt) {// GEN-FIRST:event_btnCancelActionPerformed
         this.dispose();
     }
@@ -0,0 +1,144 @@
+package gui;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+
+/**
+ * Executa o acesso ao banco da interface fora da thread de eventos do Swing
+ * (EDT), para que uma consulta lenta não congele a janela.
+ *
+ * Cada tarefa é um {@link SwingWorker} executado em uma thread virtual; o
+ * resultado (ou o erro) é entregue de volta na EDT. Tarefas com a mesma chave
+ * se substituem: pedir de novo a tabela de alunos cancela a carga anterior,
+ * cujo resultado nunca é aplicado.
+ *
+ * Tarefas interativas (tabelas, seleção, gravação de formulários) começam na
+ * hora. Tarefas em segundo plano (exportações) passam por um limite próprio,
+ * para não ocupar as conexões do pool de que a interface precisa.
+ */
+final class TarefasBanco {
+
+    enum Prioridade {
+        INTERATIVA, SEGUNDO_PLANO
+    }
+
+    /**
+     * Trabalho executado fora da EDT.
+     */
+    @FunctionalInterface
+    interface Trabalho<T> {
+        T executar() throws Exception;
+    }
+
+    private static final TarefasBanco INSTANCIA = new TarefasBanco(1);
+
+    private final ExecutorService executor = Executors
+            .newThreadPerTaskExecutor(Thread.ofVirtual().name("sgca-gui-", 0).factory());
+    private final Semaphore vagasSegundoPlano;
+    private final Map<String, SwingWorker<?, ?>> porChave = new ConcurrentHashMap<>();
+    // Acessados apenas na EDT
+    private int emAndamento;
+    private IntConsumer ouvinte = n -> {
+    };
+
+    private TarefasBanco(int maxSegundoPlano) {
+        this.vagasSegundoPlano = new Semaphore(maxSegundoPlano, true);
+    }
+
+    static TarefasBanco getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Define quem é avisado (na EDT) quando o número de tarefas em andamento
+     * muda, para exibir um indicador de carregamento.
+     */
+    void setOuvinteAndamento(IntConsumer ouvinte) {
+        this.ouvinte = ouvinte;
+        ouvinte.accept(emAndamento);
+    }
+
+    /**
+     * Executa uma tarefa interativa sem chave.
+     *
+     * @see #executar(String, Prioridade, Trabalho, Consumer, Consumer)
+     */
+    <T> SwingWorker<T, Void> executar(Trabalho<T> trabalho, Consumer<T> aoConcluir, Consumer<Throwable> aoFalhar) {
+        return executar(null, Prioridade.INTERATIVA, trabalho, aoConcluir, aoFalhar);
+    }
+
+    /**
+     * Executa o trabalho fora da EDT. Deve ser chamado na EDT.
+     *
+     * @param chave      Identifica a tarefa; uma tarefa anterior com a mesma
+     *                   chave ainda em andamento é cancelada. Pode ser null.
+     * @param prioridade A prioridade da tarefa.
+     * @param trabalho   O acesso ao banco.
+     * @param aoConcluir Recebe o resultado, na EDT.
+     * @param aoFalhar   Recebe a exceção lançada pelo trabalho, na EDT.
+     * @return O worker, que pode ser cancelado com {@code cancel(true)}. Uma
+     *         tarefa cancelada não chama nenhum dos dois callbacks.
+     */
+    <T> SwingWorker<T, Void> executar(String chave, Prioridade prioridade, Trabalho<T> trabalho,
+            Consumer<T> aoConcluir, Consumer<Throwable> aoFalhar) {
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                if (prioridade == Prioridade.INTERATIVA) {
+                    return trabalho.executar();
+                }
+                vagasSegundoPlano.acquire();
+                try {
+                    return trabalho.executar();
+                } finally {
+                    vagasSegundoPlano.release();
+                }
+            }
+
+            @Override
+            protected void done() {
+                if (chave != null) {
+                    porChave.remove(chave, this);
+                }
+                alterarAndamento(-1);
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    aoConcluir.accept(get());
+                } catch (ExecutionException e) {
+                    aoFalhar.accept(e.getCause());
+                } catch (InterruptedException | CancellationException e) {
+                    // Não acontece em done(): o worker já terminou
+                }
+            }
+        };
+        if (chave != null) {
+            SwingWorker<?, ?> anterior = porChave.put(chave, worker);
+            if (anterior != null) {
+                anterior.cancel(true);
+            }
+        }
+        alterarAndamento(1);
+        executor.execute(worker);
+        return worker;
+    }
+
+    private void alterarAndamento(int delta) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> alterarAndamento(delta));
+            return;
+        }
+        emAndamento += delta;
+        ouvinte.accept(emAndamento);
+    }
+}
@@ -0,0 +1,11 @@
+package model;
+
+/**
+ * Linha de listagem de alunos já acompanhada do nome do curso, obtida com um
+ * JOIN entre aluno e curso.
+ *
+ * @param aluno     O aluno.
+ * @param nomeCurso O nome do curso em que o aluno está matriculado.
+ */
+public record AlunoComCurso(Aluno aluno, String nomeCurso) {
+}
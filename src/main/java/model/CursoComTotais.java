@@ -0,0 +1,12 @@
+package model;
+
+/**
+ * Curso acompanhado da contagem de alunos matriculados, obtida em uma única
+ * consulta agregada.
+ *
+ * @param curso        O curso.
+ * @param totalAlunos  Total de alunos matriculados (ativos e inativos).
+ * @param alunosAtivos Alunos matriculados com status ativo.
+ */
+public record CursoComTotais(Curso curso, int totalAlunos, int alunosAtivos) {
+}
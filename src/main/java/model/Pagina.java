@@ -0,0 +1,45 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Uma página de uma listagem paginada por chave (keyset).
+ *
+ * @param <T> O tipo dos itens.
+ */
+public class Pagina<T> {
+
+    private final List<T> itens;
+    private final String proximaPagina;
+
+    /**
+     * @param itens         Os itens desta página.
+     * @param proximaPagina O token para buscar a página seguinte, ou null se
+     *                      esta for a última.
+     */
+    public Pagina(List<T> itens, String proximaPagina) {
+        this.itens = Collections.unmodifiableList(itens);
+        this.proximaPagina = proximaPagina;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public String getProximaPagina() {
+        return proximaPagina;
+    }
+
+    public boolean temProxima() {
+        return proximaPagina != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Pagina{" +
+                "itens=" + itens.size() +
+                ", proximaPagina='" + proximaPagina + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma operação em lote: as entidades gravadas (com seus IDs
+ * gerados) e as linhas que falharam, cada uma com o motivo.
+ *
+ * @param <T> O tipo da entidade processada.
+ */
+public class ResultadoLote<T> {
+
+    /**
+     * Uma linha do lote que não pôde ser gravada.
+     *
+     * @param indice A posição da linha na coleção enviada (começando em 0).
+     * @param item   A entidade da linha.
+     * @param motivo A mensagem de erro.
+     */
+    public record Falha<T>(int indice, T item, String motivo) {
+    }
+
+    private final List<T> sucesso = new ArrayList<>();
+    private final List<Falha<T>> falhas = new ArrayList<>();
+
+    public void adicionarSucesso(T item) {
+        sucesso.add(item);
+    }
+
+    public void adicionarFalha(int indice, T item, String motivo) {
+        falhas.add(new Falha<>(indice, item, motivo));
+    }
+
+    public List<T> getSucesso() {
+        return Collections.unmodifiableList(sucesso);
+    }
+
+    public List<Falha<T>> getFalhas() {
+        return Collections.unmodifiableList(falhas);
+    }
+
+    public boolean temFalhas() {
+        return !falhas.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ResultadoLote{" +
+                "sucesso=" + sucesso.size() +
+                ", falhas=" + falhas.size() +
+                '}';
+    }
+}
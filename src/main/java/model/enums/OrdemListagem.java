@@ -0,0 +1,16 @@
+package model.enums;
+
+public enum OrdemListagem {
+    ID("ID"),
+    NOME("Nome");
+
+    private final String descricao;
+
+    OrdemListagem(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
@@ -0,0 +1,18 @@
+package model.enums;
+
+public enum SituacaoMatricula {
+    MATRICULADO("Aluno matriculado."),
+    CURSO_CHEIO("O curso já está cheio."),
+    CURSO_INATIVO("Curso não está ativo."),
+    CURSO_INEXISTENTE("Curso não encontrado.");
+
+    private final String descricao;
+
+    SituacaoMatricula(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+}
@@ -0,0 +1,50 @@
+package services;
+
+/**
+ * Notificação de uma alteração feita por um serviço, publicada depois que a
+ * alteração foi gravada no banco.
+ *
+ * @param tipo     O tipo da alteração.
+ * @param id       O ID do registro alterado (0 em {@link Tipo#VARIOS}).
+ * @param entidade O registro após a alteração; em {@link Tipo#REMOVIDO}, o
+ *                 registro como estava antes de ser removido. Pode ser null
+ *                 quando o serviço só conhece o ID (mudanças de status
+ *                 gravadas pela fila) e em {@link Tipo#VARIOS}.
+ * @param anterior O registro antes da alteração, em {@link Tipo#ATUALIZADO};
+ *                 null nos demais tipos.
+ * @param <T>      O tipo do registro.
+ */
+public record Alteracao<T>(Tipo tipo, int id, T entidade, T anterior) {
+
+    public enum Tipo {
+        CRIADO,
+        ATUALIZADO,
+        REMOVIDO,
+        STATUS_ALTERADO,
+        /**
+         * Vários registros mudaram de uma vez (importação, alteração em lote);
+         * quem mantém uma cópia dos dados deve relê-los.
+         */
+        VARIOS
+    }
+
+    static <T> Alteracao<T> criado(int id, T entidade) {
+        return new Alteracao<>(Tipo.CRIADO, id, entidade, null);
+    }
+
+    static <T> Alteracao<T> atualizado(int id, T entidade, T anterior) {
+        return new Alteracao<>(Tipo.ATUALIZADO, id, entidade, anterior);
+    }
+
+    static <T> Alteracao<T> removido(int id, T entidade) {
+        return new Alteracao<>(Tipo.REMOVIDO, id, entidade, null);
+    }
+
+    static <T> Alteracao<T> statusAlterado(int id, T entidade) {
+        return new Alteracao<>(Tipo.STATUS_ALTERADO, id, entidade, null);
+    }
+
+    static <T> Alteracao<T> varios() {
+        return new Alteracao<>(Tipo.VARIOS, 0, null, null);
+    }
+}
@@ -1,39 +1,113 @@
 package services;
 
 import model.Aluno;
+import model.AlunoComCurso;
 import model.Curso;
+import model.Pagina;
+import model.ResultadoLote;
 import dao.AlunoDao;
 import dao.CursoDao;
 import exceptions.AlunoInvalidoException;
 import exceptions.CursoInvalidoException;
 import exceptions.ErroSistemaException;
+import factory.ConnectionFactory;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import java.util.ArrayList;
+import model.enums.OrdemListagem;
+import model.enums.SituacaoMatricula;
 import model.enums.Status;
-import utils.FileSaver;
+import utils.DestinoExportacao;
+import utils.FormatoExportacao;
 
 public class AlunoService {
 
+    // Padrões pré-compilados: a validação roda para cada linha de importações em massa
+    private static final Pattern CPF_FORMATO = Pattern.compile("\\d{11}");
+    private static final Pattern CPF_REPETIDO = Pattern.compile("(\\d)\\1{10}");
+    private static final Pattern EMAIL_FORMATO = Pattern
+            .compile("^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+    private static final Pattern TELEFONE_FORMATO = Pattern.compile("^\\d{10,11}$");
+
+    private static final String CPF_DUPLICADO = "CPF já cadastrado.";
+
+    static final String[] COLUNAS_EXPORTACAO = { "idCurso", "nomeCurso", "idAluno", "nomeAluno", "cpf",
+            "telefone", "email", "dataNascimento" };
+
     private final AlunoDao alunoDao;
     private final CursoDao cursoDao;
+    private final FiltroCpfs filtroCpfs;
+    // Fila de gravação adiada de status; null quando status.writeBehind.enabled=false
+    private final FilaStatus filaStatus;
+    private final NotificadorAlteracoes<Aluno> notificador = new NotificadorAlteracoes<>();
+    // Índice em memória da busca; null quando busca.alunos.indiceMemoria.enabled=false
+    private final IndiceBuscaAlunos indiceBusca;
+    private final int maxResultadosPesquisa;
 
     public AlunoService(AlunoDao alunoDao, CursoDao cursoDao) {
         this.alunoDao = alunoDao;
         this.cursoDao = cursoDao;
+        this.filtroCpfs = new FiltroCpfs(alunoDao,
+                Boolean.parseBoolean(ConnectionFactory.getProperty("alunos.cpf.filtro.enabled", "true")),
+                Double.parseDouble(ConnectionFactory.getProperty("alunos.cpf.filtro.taxaFalsoPositivo", "0.01")),
+                Long.parseLong(ConnectionFactory.getProperty("alunos.cpf.filtro.reconstrucaoMs", "600000")));
+        if (Boolean.parseBoolean(ConnectionFactory.getProperty("status.writeBehind.enabled", "false"))) {
+            this.filaStatus = new FilaStatus("alunos", (ativar, desativar) -> {
+                List<Integer> alterados = new ArrayList<>(alunoDao.alterarStatusEmLote(ativar, true));
+                alterados.addAll(alunoDao.alterarStatusEmLote(desativar, false));
+                notificador.publicarStatus(alterados);
+            }, Long.parseLong(ConnectionFactory.getProperty("status.writeBehind.intervaloMs", "500")),
+                    Integer.parseInt(ConnectionFactory.getProperty("status.writeBehind.tamanhoLote", "500")));
+        } else {
+            this.filaStatus = null;
+        }
+        if (Boolean.parseBoolean(ConnectionFactory.getProperty("busca.alunos.indiceMemoria.enabled", "true"))) {
+            this.indiceBusca = new IndiceBuscaAlunos(() -> alunoDao.streamTodos(null), alunoDao::buscarPorId,
+                    Long.parseLong(ConnectionFactory.getProperty("busca.alunos.reconstrucaoMs", "600000")));
+            notificador.adicionar(indiceBusca::aplicar);
+        } else {
+            this.indiceBusca = null;
+        }
+        this.maxResultadosPesquisa = Integer
+                .parseInt(ConnectionFactory.getProperty("busca.texto.maxResultados", "1000"));
     }
 
-    private void validarCurso(int id) throws SQLException {
-        if (!cursoDao.estaAtivo(id)) {
-            throw new CursoInvalidoException("Curso não está ativo.");
-        }
+    // --- Notificações ---
+    /**
+     * Registra um ouvinte das alterações de alunos feitas por este serviço
+     * (criação, edição, remoção e mudança de status). O ouvinte é chamado na
+     * thread que fez a alteração, logo após a gravação.
+     *
+     * @param ouvinte O ouvinte.
+     */
+    public void adicionarOuvinte(Consumer<Alteracao<Aluno>> ouvinte) {
+        notificador.adicionar(ouvinte);
+    }
+
+    public void removerOuvinte(Consumer<Alteracao<Aluno>> ouvinte) {
+        notificador.remover(ouvinte);
+    }
+
+    private static Aluno copiar(Aluno aluno) {
+        return new Aluno(aluno.getIdAluno(), aluno.getIdCurso(), aluno.getNome(), aluno.getCpf(),
+                aluno.getTelefone(), aluno.getEmail(), aluno.getDataNascimento(), aluno.isAtivo());
     }
 
     private void validarNome(String nome) {
@@ -53,11 +127,11 @@ public class AlunoService {
     }
 
     private void validarCpf(String cpf) {
-        if (cpf == null || !cpf.matches("\\d{11}")) {
+        if (cpf == null || !CPF_FORMATO.matcher(cpf).matches()) {
             throw new AlunoInvalidoException("CPF deve conter exatamente 11 dígitos numéricos.");
         }
 
-        if (cpf.matches("(\\d)\\1{10}")) {
+        if (CPF_REPETIDO.matcher(cpf).matches()) {
             throw new AlunoInvalidoException("CPF inválido: Dígitos repetidos.");
         }
 
@@ -99,9 +173,7 @@ public class AlunoService {
         if (email == null || email.trim().isEmpty()) {
             throw new AlunoInvalidoException("E-mail não pode ser vazio.");
         }
-        String emailRegex = "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
-        Pattern pattern = Pattern.compile(emailRegex);
-        Matcher matcher = pattern.matcher(email);
+        Matcher matcher = EMAIL_FORMATO.matcher(email);
         if (!matcher.matches()) {
             throw new AlunoInvalidoException("Formato de e-mail inválido.");
         }
@@ -111,23 +183,20 @@ public class AlunoService {
         if (telefone == null || telefone.trim().isEmpty()) {
             throw new AlunoInvalidoException("Telefone não pode ser vazio.");
         }
-        if (!telefone.matches("^\\d{10,11}$")) {
+        if (!TELEFONE_FORMATO.matcher(telefone).matches()) {
             throw new AlunoInvalidoException(
                     "Formato de telefone inválido. Deve conter 10 ou 11 dígitos numéricos (com DDD).");
         }
     }
 
-    // --- Métodos de Negócio ---
-    public void adicionarAluno(int idCurso, String nome, String cpf, String telefone, String email,
-            LocalDate dataNascimento) {
-        // Lógica para coletar e lançar múltiplos erros
+    /**
+     * Aplica todas as validações de campos do aluno (nome, idade, CPF, e-mail e
+     * telefone) e devolve as mensagens de erro encontradas.
+     *
+     * @return Lista de mensagens de erro, vazia se todos os campos forem válidos.
+     */
+    List<String> validarCampos(String nome, String cpf, String telefone, String email, LocalDate dataNascimento) {
         List<String> erros = new ArrayList<>();
-        try {
-            validarCurso(idCurso);
-        } catch (CursoInvalidoException | SQLException e) {
-            erros.add(e.getMessage());
-        }
-
         try {
             validarNome(nome);
         } catch (AlunoInvalidoException e) {
@@ -153,27 +222,152 @@ public class AlunoService {
         } catch (AlunoInvalidoException e) {
             erros.add(e.getMessage());
         }
+        return erros;
+    }
+
+    // --- Métodos de Negócio ---
+    public void adicionarAluno(int idCurso, String nome, String cpf, String telefone, String email,
+            LocalDate dataNascimento) {
+        // Lógica para coletar e lançar múltiplos erros
+        List<String> erros = validarCampos(nome, cpf, telefone, email, dataNascimento);
 
         if (!erros.isEmpty()) {
             throw new AlunoInvalidoException(String.join("\n", erros));
         }
 
-        // Se todas as validações passarem, cria e salva o aluno
+        // Se todas as validações passarem, cria e salva o aluno. Curso ativo e
+        // vagas são verificados pelo DAO na mesma transação da inserção.
         Aluno novoAluno = new Aluno(idCurso, nome, cpf, telefone, email, dataNascimento);
         try {
-            if (cursoDao.cursoCheio(idCurso)) {
-                throw new CursoInvalidoException("O curso já está cheio.");
-            } else {
-                alunoDao.adicionar(novoAluno);
+            SituacaoMatricula situacao = alunoDao.matricular(novoAluno);
+            if (situacao != SituacaoMatricula.MATRICULADO) {
+                throw new CursoInvalidoException(situacao.getDescricao());
             }
+            filtroCpfs.registrar(List.of(cpf));
+            notificador.publicar(Alteracao.criado(novoAluno.getIdAluno(), copiar(novoAluno)));
             System.out.println("Aluno '" + nome + "' adicionado com sucesso!");
         } catch (SQLException e) {
+            if (AlunoDao.isCpfDuplicado(e)) {
+                throw new AlunoInvalidoException(CPF_DUPLICADO);
+            }
             throw new ErroSistemaException(
                     "Falha ao cadastrar o aluno devido a um erro no banco de dados.", e);
         }
 
     }
 
+    /**
+     * Adiciona vários alunos de uma vez. Cada aluno passa pelas mesmas
+     * validações de {@link #adicionarAluno}; os inválidos, os com CPF já
+     * cadastrado (ou repetido no próprio lote), os de cursos inativos ou
+     * inexistentes e os que excederiam o limite do curso são reportados como
+     * falha, e os demais são gravados com inserção em lote. As vagas são
+     * reservadas pelo DAO na transação de cada lote (ver
+     * {@link AlunoDao#adicionarEmLote(List, int)}), então o limite vale mesmo
+     * com matrículas simultâneas.
+     *
+     * @param alunos Os alunos a serem adicionados.
+     * @return Os alunos gravados, com IDs gerados, e as falhas por linha
+     *         (índices relativos à ordem da coleção recebida).
+     * @throws ErroSistemaException Se ocorrer um erro no banco de dados.
+     */
+    public ResultadoLote<Aluno> adicionarAlunosEmLote(Collection<Aluno> alunos) {
+        ResultadoLote<Aluno> resultado = new ResultadoLote<>();
+        List<Aluno> validos = new ArrayList<>(alunos.size());
+        List<Integer> indicesOriginais = new ArrayList<>(alunos.size());
+        try {
+            List<String> cpfs = new ArrayList<>(alunos.size());
+            for (Aluno aluno : alunos) {
+                cpfs.add(aluno.getCpf());
+            }
+            Set<String> cpfsUsados = new HashSet<>(cpfsJaCadastrados(cpfs));
+
+            int indice = 0;
+            for (Aluno aluno : alunos) {
+                List<String> erros = validarCampos(aluno.getNome(), aluno.getCpf(), aluno.getTelefone(),
+                        aluno.getEmail(), aluno.getDataNascimento());
+                if (erros.isEmpty() && !cpfsUsados.add(aluno.getCpf())) {
+                    erros.add(CPF_DUPLICADO);
+                }
+                if (erros.isEmpty()) {
+                    validos.add(aluno);
+                    indicesOriginais.add(indice);
+                } else {
+                    resultado.adicionarFalha(indice, aluno, String.join("\n", erros));
+                }
+                indice++;
+            }
+
+            ResultadoLote<Aluno> gravados = alunoDao.adicionarEmLote(validos);
+            registrarCpfs(gravados.getSucesso());
+            gravados.getSucesso().forEach(resultado::adicionarSucesso);
+            if (!gravados.getSucesso().isEmpty()) {
+                notificador.publicar(Alteracao.varios());
+            }
+            for (ResultadoLote.Falha<Aluno> falha : gravados.getFalhas()) {
+                resultado.adicionarFalha(indicesOriginais.get(falha.indice()), falha.item(), falha.motivo());
+            }
+            System.out.println("Lote de alunos processado: " + resultado);
+            return resultado;
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao cadastrar o lote de alunos devido a um erro no banco de dados.", e);
+        }
+    }
+
+    /**
+     * Verifica, em conjunto, quais CPFs já estão cadastrados, para que
+     * importações e matrículas em lote descartem essas linhas antes de tentar
+     * inseri-las. Um filtro de Bloom em memória com os CPFs cadastrados evita
+     * consultar o banco para a maioria dos CPFs novos; os demais são
+     * verificados com consultas {@code IN} em blocos.
+     *
+     * @param cpfs Os CPFs candidatos.
+     * @return Os CPFs da coleção que já existem.
+     * @throws ErroSistemaException Se ocorrer um erro no banco de dados.
+     */
+    public Set<String> cpfsJaCadastrados(Collection<String> cpfs) {
+        try {
+            return filtroCpfs.existentes(cpfs);
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao verificar CPFs cadastrados devido a um erro no banco de dados.", e);
+        }
+    }
+
+    /**
+     * Informa ao filtro de CPFs os alunos que acabaram de ser gravados.
+     */
+    void registrarCpfs(List<Aluno> gravados) {
+        List<String> cpfs = new ArrayList<>(gravados.size());
+        for (Aluno aluno : gravados) {
+            cpfs.add(aluno.getCpf());
+        }
+        filtroCpfs.registrar(cpfs);
+    }
+
+    /**
+     * Retorna as vagas restantes de um curso, consultando o banco apenas na
+     * primeira vez que o curso aparece no mapa. É só uma estimativa para
+     * rejeitar linhas cedo: a reserva que vale é a da inserção em lote.
+     *
+     * @return O número de vagas, ou -1 se o curso não existir ou estiver
+     *         inativo.
+     */
+    int vagasDisponiveis(int idCurso, Map<Integer, Integer> vagasPorCurso) throws SQLException {
+        Integer vagas = vagasPorCurso.get(idCurso);
+        if (vagas == null) {
+            OptionalInt limite = cursoDao.getLimiteAlunos(idCurso);
+            if (limite.isEmpty() || !cursoDao.estaAtivo(idCurso)) {
+                vagas = -1;
+            } else {
+                vagas = Math.max(0, limite.getAsInt() - cursoDao.getTotalAlunosNoCurso(idCurso));
+            }
+            vagasPorCurso.put(idCurso, vagas);
+        }
+        return vagas;
+    }
+
     public void atualizarAluno(int idAluno, int idCurso, String nome, String cpf, String telefone, String email,
             LocalDate dataNascimento, Status status) {
         Optional<Aluno> alunoExistenteOpt;
@@ -187,34 +381,10 @@ public class AlunoService {
         }
 
         Aluno alunoParaAtualizar = alunoExistenteOpt.get();
+        Aluno anterior = copiar(alunoParaAtualizar);
 
         // Lógica para coletar e lançar múltiplos erros
-        List<String> erros = new ArrayList<>();
-        try {
-            validarNome(nome);
-        } catch (AlunoInvalidoException e) {
-            erros.add(e.getMessage());
-        }
-        try {
-            validarIdade(dataNascimento);
-        } catch (AlunoInvalidoException e) {
-            erros.add(e.getMessage());
-        }
-        try {
-            validarCpf(cpf);
-        } catch (AlunoInvalidoException e) {
-            erros.add(e.getMessage());
-        } // Passa o ID do aluno para ignorar ele mesmo na unicidade
-        try {
-            validarEmail(email);
-        } catch (AlunoInvalidoException e) {
-            erros.add(e.getMessage());
-        } // Passa o ID do aluno para ignorar ele mesmo na unicidade
-        try {
-            validarTelefone(telefone);
-        } catch (AlunoInvalidoException e) {
-            erros.add(e.getMessage());
-        }
+        List<String> erros = validarCampos(nome, cpf, telefone, email, dataNascimento);
 
         if (!erros.isEmpty()) {
             throw new AlunoInvalidoException(String.join("\n", erros));
@@ -231,6 +401,7 @@ public class AlunoService {
 
         try {
             alunoDao.atualizar(alunoParaAtualizar);
+            notificador.publicar(Alteracao.atualizado(idAluno, copiar(alunoParaAtualizar), anterior));
             System.out.println("Aluno '" + nome + "' atualizado com sucesso!");
         } catch (SQLException e) {
             throw new ErroSistemaException(
@@ -292,12 +463,235 @@ public class AlunoService {
         }
     }
 
+    /**
+     * Lista os alunos junto com o nome do curso, em uma única consulta.
+     *
+     * @param filterStatus Filtra por status, ou null para todos.
+     * @return Os alunos com o nome do curso.
+     * @throws ErroSistemaException Se ocorrer um erro no banco de dados.
+     */
+    public List<AlunoComCurso> listarAlunosComCurso(Status filterStatus) {
+        try {
+            return alunoDao.buscarTodosComCurso(filterStatus);
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao obter a lista de alunos devido a um erro no banco de dados. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retorna os alunos como um stream lido sob demanda do banco de dados, para
+     * listagens e exportações grandes. O stream mantém uma conexão aberta e deve
+     * ser fechado (try-with-resources).
+     *
+     * @param filterStatus Filtra por status, ou null para todos.
+     * @return Um stream de alunos ordenado por ID.
+     * @throws ErroSistemaException Se ocorrer um erro no banco de dados.
+     */
+    public Stream<Aluno> streamAlunos(Status filterStatus) {
+        try {
+            return alunoDao.streamTodos(filterStatus);
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao obter a lista de alunos devido a um erro no banco de dados. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Busca alunos pelo começo do nome (de qualquer palavra, sem diferenciar
+     * acentos), do CPF, do email ou do telefone, para a busca enquanto o
+     * usuário digita. Usa um índice em memória, montado na primeira busca; com
+     * o índice desativado ({@code busca.alunos.indiceMemoria.enabled=false}),
+     * a busca vai ao banco por {@link #pesquisar}, que só procura no nome e no
+     * email.
+     *
+     * @param termo  O texto digitado (ex: "joão si", "123.4", "maria@").
+     * @param limite Número máximo de resultados.
+     * @return Os alunos encontrados, no máximo {@code limite}.
+     * @throws ErroSistemaException Se o índice precisar ser montado e ocorrer
+     *                              um erro no banco de dados.
+     */
+    public List<Aluno> buscar(String termo, int limite) {
+        try {
+            if (indiceBusca == null) {
+                return pesquisar(termo, null, null, null, limite).getItens().stream()
+                        .map(AlunoComCurso::aluno)
+                        .toList();
+            }
+            return indiceBusca.buscar(termo, limite);
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao buscar alunos devido a um erro no banco de dados. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return true se o aluno seria encontrado por {@link #buscar} com o
+     *         termo (para decidir se uma alteração entra em uma lista filtrada).
+     *         Segue as regras do caminho que {@link #buscar} usa: as do índice
+     *         em memória ou, com ele desativado, as da busca FULLTEXT.
+     */
+    public boolean correspondeABusca(Aluno aluno, String termo) {
+        if (indiceBusca != null) {
+            return IndiceBuscaAlunos.corresponde(aluno, termo);
+        }
+        return correspondeAoTexto(aluno, termo);
+    }
+
+    /**
+     * A busca de {@link AlunoDao#buscarPorTexto} feita em memória: cada
+     * palavra pesquisável do termo precisa ser o começo de uma palavra do nome
+     * ou do email, sem diferenciar maiúsculas nem acentos.
+     */
+    private static boolean correspondeAoTexto(Aluno aluno, String termo) {
+        if (termo == null) {
+            return false;
+        }
+        List<String> procuradas = AlunoDao.palavrasPesquisaveis(Textos.normalizar(termo));
+        if (procuradas.isEmpty()) {
+            return false;
+        }
+        String nomeEEmail = Objects.toString(aluno.getNome(), "") + " " + Objects.toString(aluno.getEmail(), "");
+        List<String> palavras = AlunoDao.palavrasPesquisaveis(Textos.normalizar(nomeEEmail));
+        for (String procurada : procuradas) {
+            if (palavras.stream().noneMatch(palavra -> palavra.startsWith(procurada))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna os alunos de um curso como um stream lido sob demanda. Deve ser
+     * fechado após o uso.
+     *
+     * @see #streamAlunos(Status)
+     */
+    public Stream<Aluno> streamAlunosPorCurso(int idCurso, Status filterStatus) {
+        try {
+            return alunoDao.streamPorCurso(idCurso, filterStatus);
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao obter a lista de alunos devido a um erro no banco de dados. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lista os alunos uma página por vez, com paginação por chave.
+     *
+     * @param filterStatus Filtra por status, ou null para todos.
+     * @param ordem        Ordenação por ID ou por nome.
+     * @param token        O token da página anterior
+     *                     ({@link Pagina#getProximaPagina()}), ou null para a
+     *                     primeira página.
+     * @param tamanho      Quantidade de alunos por página.
+     * @return A página de alunos e o token da próxima.
+     * @throws IllegalArgumentException Se o token for inválido.
+     * @throws ErroSistemaException     Se ocorrer um erro no banco de dados.
+     */
+    public Pagina<Aluno> listarAlunosPaginado(Status filterStatus, OrdemListagem ordem, String token, int tamanho) {
+        return paginar(null, filterStatus, ordem, token, tamanho);
+    }
+
+    /**
+     * Lista os alunos de um curso uma página por vez.
+     *
+     * @see #listarAlunosPaginado(Status, OrdemListagem, String, int)
+     */
+    public Pagina<Aluno> listarAlunosPorCursoPaginado(int idCurso, Status filterStatus, OrdemListagem ordem,
+            String token, int tamanho) {
+        return paginar(idCurso, filterStatus, ordem, token, tamanho);
+    }
+
+    /**
+     * Lista os alunos com o nome do curso uma página por vez, para telas que
+     * carregam as linhas conforme a rolagem.
+     *
+     * @see #listarAlunosPaginado(Status, OrdemListagem, String, int)
+     */
+    public Pagina<AlunoComCurso> listarAlunosComCursoPaginado(Status filterStatus, OrdemListagem ordem, String token,
+            int tamanho) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("Tamanho da página deve ser no mínimo 1.");
+        }
+        TokenPagina.Chave chave = TokenPagina.decodificar(token, ordem);
+        try {
+            List<AlunoComCurso> linhas = alunoDao.buscarPaginaComCurso(null, filterStatus, ordem, chave.ultimoId(),
+                    chave.ultimoNome(), tamanho + 1);
+            return TokenPagina.montar(linhas, tamanho, ordem, linha -> linha.aluno().getIdAluno(),
+                    linha -> linha.aluno().getNome());
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao obter a lista de alunos devido a um erro no banco de dados. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Busca alunos no banco pelo nome e email (índice FULLTEXT), do mais
+     * relevante para o menos relevante, uma página por vez. Não depende do
+     * índice em memória de {@link #buscar}, então serve para tabelas grandes
+     * demais para carregar na aplicação.
+     *
+     * O total de resultados navegáveis é limitado por
+     * {@code busca.texto.maxResultados}: as páginas são por deslocamento, e
+     * páginas muito adiante custariam cada vez mais ao banco.
+     *
+     * @param texto        O texto buscado (palavras ou começo de palavras).
+     * @param idCurso      Filtra por curso, ou null para todos os cursos.
+     * @param filterStatus Filtra por status, ou null para todos.
+     * @param token        O token da página anterior, ou null para a primeira.
+     * @param tamanho      Quantidade de alunos por página.
+     * @return A página de alunos com o nome do curso e o token da próxima.
+     * @throws IllegalArgumentException Se o token ou o tamanho forem
+     *                                  inválidos.
+     * @throws ErroSistemaException     Se ocorrer um erro no banco de dados.
+     */
+    public Pagina<AlunoComCurso> pesquisar(String texto, Integer idCurso, Status filterStatus, String token,
+            int tamanho) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("Tamanho da página deve ser no mínimo 1.");
+        }
+        int deslocamento = TokenPagina.decodificarDeslocamento(token);
+        int restantes = maxResultadosPesquisa - deslocamento;
+        if (restantes <= 0) {
+            return new Pagina<>(List.of(), null);
+        }
+        int tamanhoPagina = Math.min(tamanho, restantes);
+        try {
+            // A linha extra só indica se há próxima página; na última página
+            // permitida ela não é buscada
+            int limite = tamanhoPagina < restantes ? tamanhoPagina + 1 : tamanhoPagina;
+            List<AlunoComCurso> linhas = alunoDao.buscarPorTexto(texto, idCurso, filterStatus, deslocamento, limite);
+            return TokenPagina.montarPorDeslocamento(linhas, tamanhoPagina, deslocamento);
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao pesquisar alunos devido a um erro no banco de dados. " + e.getMessage(), e);
+        }
+    }
+
+    private Pagina<Aluno> paginar(Integer idCurso, Status filterStatus, OrdemListagem ordem, String token,
+            int tamanho) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("Tamanho da página deve ser no mínimo 1.");
+        }
+        TokenPagina.Chave chave = TokenPagina.decodificar(token, ordem);
+        try {
+            List<Aluno> linhas = alunoDao.buscarPagina(idCurso, filterStatus, ordem, chave.ultimoId(),
+                    chave.ultimoNome(), tamanho + 1);
+            return TokenPagina.montar(linhas, tamanho, ordem, Aluno::getIdAluno, Aluno::getNome);
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao obter a lista de alunos devido a um erro no banco de dados. " + e.getMessage(), e);
+        }
+    }
+
     public void removerAluno(int id) {
         Optional<Aluno> alunoExistente;
         try {
             alunoExistente = alunoDao.buscarPorId(id);
             if (alunoExistente.isPresent()) {
                 if (alunoDao.deletar(id)) {
+                    notificador.publicar(Alteracao.removido(id, alunoExistente.get()));
                     System.out.println("Aluno com ID " + id + " removido com sucesso.");
                 } else {
                     throw new AlunoInvalidoException("Aluno com ID " + id + " não pôde ser removido.");
@@ -311,13 +705,32 @@ public class AlunoService {
         }
     }
 
+    /**
+     * Desativa um aluno. Com a gravação adiada de status habilitada
+     * ({@code status.writeBehind.enabled}), a mudança é apenas enfileirada,
+     * sem consultar o banco: IDs inexistentes são ignorados na gravação, e
+     * leituras feitas antes dela ainda mostram o status anterior (use
+     * {@link #sincronizarStatus()} quando precisar do valor gravado).
+     *
+     * @param id O ID do aluno.
+     * @throws AlunoInvalidoException Se o aluno não existir (apenas no modo
+     *                                síncrono).
+     * @throws ErroSistemaException   Se ocorrer um erro no banco de dados.
+     */
     public void desativar(int id) {
+        if (filaStatus != null) {
+            filaStatus.enfileirar(id, false);
+            return;
+        }
         Optional<Aluno> alunoDesativar;
         try {
             alunoDesativar = alunoDao.buscarPorId(id);
             if (alunoDesativar.isPresent()) {
                 if (alunoAtivo(id)) {
                     alunoDao.desativar(id);
+                    Aluno alterado = alunoDesativar.get();
+                    alterado.setAtivo(Status.INATIVO);
+                    notificador.publicar(Alteracao.statusAlterado(id, alterado));
                     System.out.println("Aluno com ID " + id + " desativado com sucesso.");
                 }
             } else {
@@ -329,13 +742,29 @@ public class AlunoService {
         }
     }
 
+    /**
+     * Ativa um aluno. Assim como {@link #desativar(int)}, apenas enfileira a
+     * mudança quando a gravação adiada de status está habilitada.
+     *
+     * @param id O ID do aluno.
+     * @throws AlunoInvalidoException Se o aluno não existir (apenas no modo
+     *                                síncrono).
+     * @throws ErroSistemaException   Se ocorrer um erro no banco de dados.
+     */
     public void ativar(int id) {
+        if (filaStatus != null) {
+            filaStatus.enfileirar(id, true);
+            return;
+        }
         Optional<Aluno> alunoAtivar;
         try {
             alunoAtivar = alunoDao.buscarPorId(id);
             if (alunoAtivar.isPresent()) {
                 if (!alunoAtivo(id)) {
                     alunoDao.ativar(id);
+                    Aluno alterado = alunoAtivar.get();
+                    alterado.setAtivo(Status.ATIVO);
+                    notificador.publicar(Alteracao.statusAlterado(id, alterado));
                     System.out.println("Aluno com ID " + id + " ativado com sucesso.");
                 }
             } else {
@@ -347,6 +776,57 @@ public class AlunoService {
         }
     }
 
+    /**
+     * Altera o status de vários alunos de uma vez. Com a gravação adiada
+     * habilitada, as mudanças são enfileiradas; caso contrário, são gravadas
+     * imediatamente com UPDATEs em lote. IDs inexistentes e alunos que já estão
+     * no status pedido são ignorados.
+     *
+     * @param ids    Os IDs dos alunos.
+     * @param status O novo status.
+     * @throws ErroSistemaException Se ocorrer um erro no banco de dados.
+     */
+    public void alterarStatusEmLote(Collection<Integer> ids, Status status) {
+        if (filaStatus != null) {
+            for (Integer id : ids) {
+                filaStatus.enfileirar(id, status.isAtivo());
+            }
+            return;
+        }
+        try {
+            List<Integer> alterados = alunoDao.alterarStatusEmLote(ids, status.isAtivo());
+            notificador.publicarStatus(alterados);
+            System.out.println(alterados.size() + " aluno(s) com status alterado para " + status.getDescricao() + ".");
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao alterar o status dos alunos devido a um erro no banco de dados. " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Barreira de durabilidade: grava as mudanças de status enfileiradas e só
+     * retorna quando todas estiverem no banco. Sem a gravação adiada, não faz
+     * nada.
+     *
+     * @throws ErroSistemaException Se a gravação falhar.
+     */
+    public void sincronizarStatus() {
+        if (filaStatus != null) {
+            filaStatus.sincronizar();
+        }
+    }
+
+    /**
+     * Grava as mudanças de status pendentes e encerra a thread de gravação.
+     * Deve ser chamado ao sair da aplicação (um shutdown hook faz o mesmo caso
+     * não seja).
+     */
+    public void encerrar() {
+        if (filaStatus != null) {
+            filaStatus.close();
+        }
+    }
+
     public boolean alunoAtivo(int id) {
         Optional<Aluno> alunoVerificar;
         try {
@@ -371,35 +851,174 @@ public class AlunoService {
     }
 
     /**
+     * Importa alunos de um arquivo CSV no layout da exportação, gravando as
+     * linhas rejeitadas em um relatório de erros.
      *
-     * @param caminhoArquivo
-     * @param alunos
+     * @param caminhoArquivo        O arquivo CSV a ser importado.
+     * @param caminhoRelatorioErros O arquivo onde os erros serão registrados.
+     * @return Os totais da importação.
+     * @throws ErroSistemaException Se houver erro de leitura/escrita ou no banco
+     *                              de dados.
+     * @see ImportadorAlunos
      */
-    public void exportarAlunos(String caminhoArquivo, List<Aluno> alunos) {
-        List<String> linhasParaSalvar = new ArrayList<>();
+    public ImportadorAlunos.Resumo importarAlunos(String caminhoArquivo, String caminhoRelatorioErros) {
+        int tamanhoLote = Integer.parseInt(ConnectionFactory.getProperty("db.batch.size", "500"));
+        int validadores = Runtime.getRuntime().availableProcessors();
+        ImportadorAlunos importador = new ImportadorAlunos(this, alunoDao, tamanhoLote, validadores);
+        try {
+            ImportadorAlunos.Resumo resumo = importador.importar(Path.of(caminhoArquivo),
+                    Path.of(caminhoRelatorioErros));
+            System.out.println("Importação concluída: " + resumo);
+            return resumo;
+        } catch (IOException e) {
+            throw new ErroSistemaException("Erro ao importar arquivo: " + e.getMessage(), e);
+        }
+    }
 
-        linhasParaSalvar.add(
-                "idCurso;nomeCurso;idAluno;nomeAluno;cpf;telefone;email;dataNascimento");
+    /**
+     * Exporta os alunos de um curso lendo alunos e nome do curso em uma única
+     * consulta (JOIN). As linhas vão do cursor do banco direto para o arquivo,
+     * sem montar a lista na memória.
+     *
+     * @param caminhoArquivo O caminho onde o arquivo será salvo.
+     * @param idCurso        O ID do curso.
+     * @param filterStatus   Filtra por status, ou null para todos.
+     * @return O número de alunos exportados.
+     * @throws ErroSistemaException Se ocorrer um erro no banco de dados ou ao
+     *                              salvar o arquivo.
+     */
+    public long exportarAlunosPorCurso(String caminhoArquivo, int idCurso, Status filterStatus) {
+        return exportarAlunosPorCurso(caminhoArquivo, idCurso, filterStatus, FormatoExportacao.CSV);
+    }
+
+    /**
+     * Como {@link #exportarAlunosPorCurso(String, int, Status)}, no formato
+     * informado.
+     */
+    public long exportarAlunosPorCurso(String caminhoArquivo, int idCurso, Status filterStatus,
+            FormatoExportacao formato) {
+        return exportarComCurso(caminhoArquivo, idCurso, filterStatus, formato);
+    }
+
+    /**
+     * Exporta todos os alunos, com o nome do curso, em stream: a memória usada
+     * não depende da quantidade de alunos.
+     *
+     * @param caminhoArquivo O caminho onde o arquivo será salvo.
+     * @param filterStatus   Filtra por status, ou null para todos.
+     * @return O número de alunos exportados.
+     * @throws ErroSistemaException Se ocorrer um erro no banco de dados ou ao
+     *                              salvar o arquivo.
+     */
+    public long exportarTodosAlunos(String caminhoArquivo, Status filterStatus) {
+        return exportarTodosAlunos(caminhoArquivo, filterStatus, FormatoExportacao.CSV);
+    }
+
+    /**
+     * Como {@link #exportarTodosAlunos(String, Status)}, no formato informado.
+     */
+    public long exportarTodosAlunos(String caminhoArquivo, Status filterStatus, FormatoExportacao formato) {
+        return exportarComCurso(caminhoArquivo, null, filterStatus, formato);
+    }
+
+    /**
+     * Exporta os alunos de vários cursos em paralelo, um arquivo CSV por curso,
+     * com um manifesto ({@code manifesto.csv}) de linhas e SHA-256 de cada
+     * arquivo. O número de cursos exportados ao mesmo tempo (e de conexões
+     * ocupadas) é {@code export.paralelismo}.
+     *
+     * @param pasta        A pasta de destino.
+     * @param idsCursos    Os cursos a exportar, ou null (ou vazio) para todos.
+     * @param filterStatus Filtra os alunos por status, ou null para todos.
+     * @return O manifesto da exportação.
+     * @throws CursoInvalidoException Se algum dos IDs não for de um curso
+     *                                existente.
+     * @throws ErroSistemaException   Se ocorrer um erro no banco de dados ou ao
+     *                                salvar os arquivos.
+     * @see ExportadorCursos
+     */
+    public ExportadorCursos.Manifesto exportarPorCurso(String pasta, Collection<Integer> idsCursos,
+            Status filterStatus) {
+        return exportarPorCurso(pasta, idsCursos, filterStatus, FormatoExportacao.CSV);
+    }
+
+    /**
+     * Como {@link #exportarPorCurso(String, Collection, Status)}, com os
+     * arquivos dos cursos no formato informado (o manifesto é sempre CSV).
+     */
+    public ExportadorCursos.Manifesto exportarPorCurso(String pasta, Collection<Integer> idsCursos,
+            Status filterStatus, FormatoExportacao formato) {
+        int paralelismo = Integer.parseInt(ConnectionFactory.getProperty("export.paralelismo", "4"));
+        ExportadorCursos exportador = new ExportadorCursos(alunoDao, cursoDao, paralelismo);
         try {
+            ExportadorCursos.Manifesto manifesto = exportador.exportar(Path.of(pasta), idsCursos, filterStatus,
+                    formato);
+            System.out.println(manifesto.arquivos().size() + " curso(s) e " + manifesto.totalLinhas()
+                    + " aluno(s) exportados para: " + pasta);
+            return manifesto;
+        } catch (SQLException | IOException e) {
+            throw new ErroSistemaException("Erro ao exportar cursos: " + e.getMessage(), e);
+        }
+    }
+
+    private long exportarComCurso(String caminhoArquivo, Integer idCurso, Status filterStatus,
+            FormatoExportacao formato) {
+        try (Stream<AlunoComCurso> linhas = alunoDao.streamComCurso(idCurso, filterStatus)) {
+            long total = formato.exportar(Path.of(caminhoArquivo), COLUNAS_EXPORTACAO, linhas.iterator(),
+                    AlunoService::escreverLinha);
+            System.out.println(total + " aluno(s) exportado(s) com sucesso para: " + caminhoArquivo);
+            return total;
+        } catch (SQLException | IOException e) {
+            throw new ErroSistemaException("Erro ao salvar arquivo.", e);
+        }
+    }
+
+    /**
+     * Exporta uma lista de alunos já carregada. Cada curso é buscado uma única
+     * vez, não uma vez por aluno; alunos de cursos inexistentes são ignorados.
+     *
+     * @param caminhoArquivo O caminho onde o arquivo será salvo.
+     * @param alunos         Os alunos a exportar.
+     * @throws ErroSistemaException Se ocorrer um erro no banco de dados ou ao
+     *                              salvar o arquivo.
+     */
+    public void exportarAlunos(String caminhoArquivo, List<Aluno> alunos) {
+        Map<Integer, Optional<Curso>> cursos = new HashMap<>();
+        try {
+            // Os cursos são resolvidos antes de abrir o arquivo: um erro no
+            // banco não deixa arquivo pela metade
+            List<AlunoComCurso> linhas = new ArrayList<>(alunos.size());
             for (Aluno aluno : alunos) {
                 if (aluno != null) {
-                    Curso curso = cursoDao.buscarPorId(aluno.getIdCurso()).orElse(null);
-                    if (curso != null) {
-                        linhasParaSalvar.add(String.format("%d;%s;%d;%s;%s;%s;%s;%s",
-                                curso.getIdCurso(), curso.getNome(),
-                                aluno.getIdAluno(), aluno.getNome(),
-                                aluno.getCpf(), aluno.getTelefone(),
-                                aluno.getEmail(), aluno.getDataNascimento()));
+                    Optional<Curso> cursoOpt = cursos.get(aluno.getIdCurso());
+                    if (cursoOpt == null) {
+                        cursoOpt = cursoDao.buscarPorId(aluno.getIdCurso());
+                        cursos.put(aluno.getIdCurso(), cursoOpt);
+                    }
+                    if (cursoOpt.isPresent()) {
+                        linhas.add(new AlunoComCurso(aluno, cursoOpt.get().getNome()));
                     }
                 }
             }
-
-            // Usa o FileSaver genérico para salvar a lista de strings formatadas
-            FileSaver.saveListToFile(caminhoArquivo, linhasParaSalvar);
+            // Em caso de falha na escrita, o arquivo incompleto é removido
+            FormatoExportacao.CSV.exportar(Path.of(caminhoArquivo), COLUNAS_EXPORTACAO, linhas.iterator(),
+                    AlunoService::escreverLinha);
             System.out.println("Cursos e alunos exportados com sucesso para: " + caminhoArquivo);
         } catch (SQLException | IOException e) {
             throw new ErroSistemaException("Erro ao salvar arquivo.", e);
         }
     }
 
+    static void escreverLinha(DestinoExportacao destino, AlunoComCurso linha) throws IOException {
+        Aluno aluno = linha.aluno();
+        destino.campo(aluno.getIdCurso())
+                .campo(linha.nomeCurso())
+                .campo(aluno.getIdAluno())
+                .campo(aluno.getNome())
+                .campo(aluno.getCpf())
+                .campo(aluno.getTelefone())
+                .campo(aluno.getEmail())
+                .campo(aluno.getDataNascimento());
+    }
+
 }
@@ -0,0 +1,153 @@
+package services;
+
+import model.Aluno;
+import model.AlunoComCurso;
+import model.Pagina;
+import model.enums.OrdemListagem;
+import model.enums.Status;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Versão assíncrona do {@link AlunoService}: cada método executa a chamada
+ * correspondente em uma thread virtual e devolve um {@link CompletableFuture}.
+ *
+ * As exceções do serviço ({@code AlunoInvalidoException},
+ * {@code ErroSistemaException}...) chegam como causa da falha do future. Uma
+ * consulta que passa do prazo ({@code async.timeoutMs}) falha com
+ * {@link java.util.concurrent.TimeoutException}. Nas escritas, o prazo vale
+ * só para a espera por vaga: iniciadas, elas vão até o fim e o future informa
+ * o resultado real.
+ */
+public class AlunoServiceAsync implements AutoCloseable {
+
+    private final AlunoService alunoService;
+    private final ExecutorAssincrono executor;
+
+    /**
+     * @param alunoService O serviço que executa as chamadas.
+     */
+    public AlunoServiceAsync(AlunoService alunoService) {
+        this(alunoService, new ExecutorAssincrono("alunos"));
+    }
+
+    AlunoServiceAsync(AlunoService alunoService, ExecutorAssincrono executor) {
+        this.alunoService = alunoService;
+        this.executor = executor;
+    }
+
+    /**
+     * Executa qualquer chamada do serviço com um prazo próprio. Ao estourar o
+     * prazo a chamada é interrompida, então não use para escritas.
+     *
+     * @param chamada   A chamada, recebendo o serviço síncrono.
+     * @param timeoutMs Prazo da chamada, em milissegundos.
+     * @return O resultado da chamada.
+     */
+    public <T> CompletableFuture<T> executar(Function<AlunoService, T> chamada, long timeoutMs) {
+        return executor.executar(() -> chamada.apply(alunoService), timeoutMs);
+    }
+
+    public CompletableFuture<Void> adicionarAluno(int idCurso, String nome, String cpf, String telefone,
+            String email, LocalDate dataNascimento) {
+        return executor.executarEscrita(
+                () -> alunoService.adicionarAluno(idCurso, nome, cpf, telefone, email, dataNascimento));
+    }
+
+    public CompletableFuture<Void> atualizarAluno(int idAluno, int idCurso, String nome, String cpf,
+            String telefone, String email, LocalDate dataNascimento, Status status) {
+        return executor.executarEscrita(() -> alunoService.atualizarAluno(idAluno, idCurso, nome, cpf, telefone,
+                email, dataNascimento, status));
+    }
+
+    public CompletableFuture<Void> removerAluno(int id) {
+        return executor.executarEscrita(() -> alunoService.removerAluno(id));
+    }
+
+    public CompletableFuture<Void> ativar(int id) {
+        return executor.executarEscrita(() -> alunoService.ativar(id));
+    }
+
+    public CompletableFuture<Void> desativar(int id) {
+        return executor.executarEscrita(() -> alunoService.desativar(id));
+    }
+
+    public CompletableFuture<Optional<Aluno>> obterAlunoPorId(int id) {
+        return executor.executar(() -> alunoService.obterAlunoPorId(id));
+    }
+
+    public CompletableFuture<Optional<Aluno>> obterAlunoPorCpf(String cpf) {
+        return executor.executar(() -> alunoService.obterAlunoPorCpf(cpf));
+    }
+
+    /**
+     * Busca vários alunos em paralelo, uma consulta por ID.
+     *
+     * @param ids Os IDs procurados.
+     * @return Os alunos encontrados, por ID, na ordem dos IDs informados. IDs
+     *         inexistentes ficam de fora. Falha se alguma das buscas falhar.
+     */
+    public CompletableFuture<Map<Integer, Aluno>> obterAlunosPorIds(Collection<Integer> ids) {
+        Map<Integer, CompletableFuture<Optional<Aluno>>> buscas = new LinkedHashMap<>();
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            buscas.put(id, obterAlunoPorId(id));
+        }
+        return CompletableFuture.allOf(buscas.values().toArray(CompletableFuture[]::new)).thenApply(v -> {
+            Map<Integer, Aluno> alunos = new LinkedHashMap<>();
+            buscas.forEach((id, busca) -> busca.join().ifPresent(aluno -> alunos.put(id, aluno)));
+            return alunos;
+        });
+    }
+
+    public CompletableFuture<Set<String>> cpfsJaCadastrados(Collection<String> cpfs) {
+        return executor.executar(() -> alunoService.cpfsJaCadastrados(cpfs));
+    }
+
+    public CompletableFuture<List<Aluno>> listarAlunos(Status filterStatus) {
+        return executor.executar(() -> alunoService.listarAlunos(filterStatus));
+    }
+
+    public CompletableFuture<List<Aluno>> listarAlunosPorCurso(int idCurso, Status filterStatus) {
+        return executor.executar(() -> alunoService.listarAlunosPorCurso(idCurso, filterStatus));
+    }
+
+    public CompletableFuture<List<AlunoComCurso>> listarAlunosComCurso(Status filterStatus) {
+        return executor.executar(() -> alunoService.listarAlunosComCurso(filterStatus));
+    }
+
+    public CompletableFuture<Pagina<Aluno>> listarAlunosPaginado(Status filterStatus, OrdemListagem ordem,
+            String token, int tamanho) {
+        return executor.executar(() -> alunoService.listarAlunosPaginado(filterStatus, ordem, token, tamanho));
+    }
+
+    public CompletableFuture<Pagina<Aluno>> listarAlunosPorCursoPaginado(int idCurso, Status filterStatus,
+            OrdemListagem ordem, String token, int tamanho) {
+        return executor.executar(
+                () -> alunoService.listarAlunosPorCursoPaginado(idCurso, filterStatus, ordem, token, tamanho));
+    }
+
+    public CompletableFuture<Boolean> alunoAtivo(int id) {
+        return executor.executar(() -> alunoService.alunoAtivo(id));
+    }
+
+    public CompletableFuture<Boolean> existe(int id) {
+        return executor.executar(() -> alunoService.existe(id));
+    }
+
+    /**
+     * Recusa novas chamadas; as que estão em andamento terminam normalmente.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
@@ -0,0 +1,137 @@
+package services;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de leitura (read-through) com número máximo de entradas, descarte LRU
+ * e tempo de vida (TTL) por entrada.
+ *
+ * Os valores são carregados fora do lock, então uma consulta lenta ao banco
+ * não bloqueia os acertos de outras threads. Uma invalidação feita enquanto
+ * um valor está sendo carregado impede que esse valor (possivelmente antigo)
+ * seja guardado.
+ *
+ * @param <K> Tipo da chave (pode ser null).
+ * @param <V> Tipo do valor. Valores null não são guardados.
+ */
+public class CacheTTL<K, V> {
+
+    /**
+     * Carrega o valor de uma chave ausente no cache.
+     */
+    @FunctionalInterface
+    interface Carregador<K, V> {
+        V carregar(K chave) throws SQLException;
+    }
+
+    /**
+     * Contadores do cache desde a sua criação.
+     *
+     * @param acertos    Leituras atendidas pelo cache.
+     * @param faltas     Leituras que foram ao banco.
+     * @param descartes  Entradas removidas por exceder o tamanho máximo.
+     * @param expiracoes Entradas removidas por exceder o TTL.
+     * @param tamanho    Entradas atualmente em cache.
+     */
+    public record Estatisticas(long acertos, long faltas, long descartes, long expiracoes, int tamanho) {
+
+        /**
+         * @return A fração de leituras atendidas pelo cache (0 a 1).
+         */
+        public double taxaAcerto() {
+            long total = acertos + faltas;
+            return total == 0 ? 0 : (double) acertos / total;
+        }
+    }
+
+    private record Entrada<V>(V valor, long expiraEm) {
+    }
+
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+    private final AtomicLong acertos = new AtomicLong();
+    private final AtomicLong faltas = new AtomicLong();
+    private final AtomicLong descartes = new AtomicLong();
+    private final AtomicLong expiracoes = new AtomicLong();
+    private long geracao;
+
+    /**
+     * @param tamanhoMaximo Número máximo de entradas (0 desativa o cache).
+     * @param ttlMs         Tempo de vida de cada entrada, em milissegundos.
+     */
+    CacheTTL(int tamanhoMaximo, long ttlMs) {
+        if (tamanhoMaximo < 0 || ttlMs < 0) {
+            throw new IllegalArgumentException("Tamanho e TTL do cache não podem ser negativos.");
+        }
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = ttlMs * 1_000_000;
+        // accessOrder = true: a iteração começa pela entrada usada há mais tempo
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> maisAntiga) {
+                if (size() > CacheTTL.this.tamanhoMaximo) {
+                    descartes.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna o valor da chave, carregando-o com o carregador se não estiver
+     * em cache ou tiver expirado.
+     *
+     * @return O valor, ou null se o carregador retornar null.
+     * @throws SQLException Se o carregador falhar.
+     */
+    V obter(K chave, Carregador<K, V> carregador) throws SQLException {
+        long geracaoLida;
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada != null) {
+                if (System.nanoTime() - entrada.expiraEm() < 0) {
+                    acertos.incrementAndGet();
+                    return entrada.valor();
+                }
+                entradas.remove(chave);
+                expiracoes.incrementAndGet();
+            }
+            geracaoLida = geracao;
+        }
+        faltas.incrementAndGet();
+        V valor = carregador.carregar(chave);
+        if (valor != null && tamanhoMaximo > 0) {
+            synchronized (this) {
+                if (geracao == geracaoLida) {
+                    entradas.put(chave, new Entrada<>(valor, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Remove uma chave do cache.
+     */
+    synchronized void invalidar(K chave) {
+        geracao++;
+        entradas.remove(chave);
+    }
+
+    /**
+     * Remove todas as entradas do cache.
+     */
+    synchronized void invalidarTudo() {
+        geracao++;
+        entradas.clear();
+    }
+
+    synchronized Estatisticas getEstatisticas() {
+        return new Estatisticas(acertos.get(), faltas.get(), descartes.get(), expiracoes.get(), entradas.size());
+    }
+}
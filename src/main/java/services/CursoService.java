@@ -4,17 +4,24 @@ import dao.AlunoDao;
 import dao.CursoDao;
 import exceptions.CursoInvalidoException;
 import exceptions.ErroSistemaException;
+import factory.ConnectionFactory;
 import model.Aluno;
 import model.Curso;
+import model.CursoComTotais;
+import model.Pagina;
+import model.enums.OrdemListagem;
 import model.enums.Status;
-import utils.FileSaver;
+import utils.EscritorCsv;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
+import java.util.function.Consumer;
 
 /**
  * Classe de serviço para gerenciar as operações de negócio relacionadas a
@@ -26,6 +33,16 @@ public class CursoService {
     private final CursoDao cursoDao;
     private final AlunoDao alunoDao;
 
+    // Cursos mudam pouco e são lidos a cada clique na tabela e a cada linha de
+    // aluno exibida; as entradas são invalidadas nas alterações feitas por
+    // este serviço e expiram pelo TTL para refletir alterações externas.
+    private final CacheTTL<Integer, Curso> cacheCursos;
+    private final CacheTTL<Status, List<Curso>> cacheListas;
+    private final IndiceNomesCurso indiceNomes;
+    // Fila de gravação adiada de status; null quando status.writeBehind.enabled=false
+    private final FilaStatus filaStatus;
+    private final NotificadorAlteracoes<Curso> notificador = new NotificadorAlteracoes<>();
+
     /**
      * Construtor do CursoService, injetando as dependências do CursoDao e
      * AlunoDao.
@@ -38,6 +55,94 @@ public class CursoService {
     public CursoService(CursoDao cursoDao, AlunoDao alunoDao) {
         this.cursoDao = cursoDao;
         this.alunoDao = alunoDao;
+        int tamanho = Integer.parseInt(ConnectionFactory.getProperty("cache.curso.maxSize", "256"));
+        long ttlMs = Long.parseLong(ConnectionFactory.getProperty("cache.curso.ttlMs", "60000"));
+        this.cacheCursos = new CacheTTL<>(tamanho, ttlMs);
+        this.cacheListas = new CacheTTL<>(tamanho > 0 ? 3 : 0, ttlMs); // Todos, ativos e inativos
+        this.indiceNomes = new IndiceNomesCurso(cursoDao, tamanho, ttlMs);
+        if (Boolean.parseBoolean(ConnectionFactory.getProperty("status.writeBehind.enabled", "false"))) {
+            this.filaStatus = new FilaStatus("cursos", this::gravarStatus,
+                    Long.parseLong(ConnectionFactory.getProperty("status.writeBehind.intervaloMs", "500")),
+                    Integer.parseInt(ConnectionFactory.getProperty("status.writeBehind.tamanhoLote", "500")));
+        } else {
+            this.filaStatus = null;
+        }
+    }
+
+    // --- Cache ---
+    /**
+     * Busca um curso pelo cache, indo ao banco apenas em caso de falta.
+     * Retorna uma cópia, para que alterações feitas pelo chamador não afetem
+     * o cache.
+     */
+    private Optional<Curso> buscarCurso(int idCurso) throws SQLException {
+        Curso curso = cacheCursos.obter(idCurso, id -> cursoDao.buscarPorId(id).orElse(null));
+        return Optional.ofNullable(curso).map(CursoService::copiar);
+    }
+
+    /**
+     * Descarta o curso e as listas em cache após uma alteração.
+     */
+    private void invalidarCache(int idCurso) {
+        cacheCursos.invalidar(idCurso);
+        cacheListas.invalidarTudo();
+    }
+
+    /**
+     * Grava mudanças de status de cursos em lote e descarta do cache os
+     * cursos alterados.
+     */
+    private void gravarStatus(List<Integer> ativar, List<Integer> desativar) throws SQLException {
+        List<Integer> alterados;
+        try {
+            alterados = new ArrayList<>(cursoDao.alterarStatusEmLote(ativar, true));
+            alterados.addAll(cursoDao.alterarStatusEmLote(desativar, false));
+        } finally {
+            ativar.forEach(cacheCursos::invalidar);
+            desativar.forEach(cacheCursos::invalidar);
+            cacheListas.invalidarTudo();
+        }
+        notificador.publicarStatus(alterados);
+    }
+
+    // --- Notificações ---
+    /**
+     * Registra um ouvinte das alterações de cursos feitas por este serviço
+     * (criação, edição, remoção e mudança de status). O ouvinte é chamado na
+     * thread que fez a alteração, logo após a gravação. Matrículas não geram
+     * notificação aqui: os totais do curso mudam junto com as alterações
+     * publicadas pelo {@link AlunoService}.
+     *
+     * @param ouvinte O ouvinte.
+     */
+    public void adicionarOuvinte(Consumer<Alteracao<Curso>> ouvinte) {
+        notificador.adicionar(ouvinte);
+    }
+
+    public void removerOuvinte(Consumer<Alteracao<Curso>> ouvinte) {
+        notificador.remover(ouvinte);
+    }
+
+    private static Curso copiar(Curso curso) {
+        return new Curso(curso.getIdCurso(), curso.getNome(), curso.getCargaHoraria(), curso.getLimiteAlunos(),
+                curso.isAtivo());
+    }
+
+    /**
+     * Retorna os contadores do cache de cursos (acertos, faltas, descartes e
+     * expirações).
+     *
+     * @return As estatísticas do cache de cursos por ID.
+     */
+    public CacheTTL.Estatisticas getEstatisticasCache() {
+        return cacheCursos.getEstatisticas();
+    }
+
+    /**
+     * @return As estatísticas do cache das listas de cursos.
+     */
+    public CacheTTL.Estatisticas getEstatisticasCacheListas() {
+        return cacheListas.getEstatisticas();
     }
 
     // --- Métodos de Validação ---
@@ -114,7 +219,12 @@ public class CursoService {
 
         Curso novoCurso = new Curso(nome, cargaHoraria, limiteAlunos);
         try {
-            cursoDao.adicionar(novoCurso);
+            Curso criado = cursoDao.adicionar(novoCurso);
+            cacheListas.invalidarTudo();
+            indiceNomes.reconstruirOuInvalidar();
+            // Sem o ID gerado não há como atualizar só a linha do curso
+            notificador.publicar(criado == null ? Alteracao.varios()
+                    : Alteracao.criado(criado.getIdCurso(), copiar(criado)));
             System.out.println("Curso '" + nome + "' adicionado com sucesso!");
         } catch (SQLException e) {
             throw new ErroSistemaException("Falha ao cadastrar o curso devido a um erro no banco de dados.", e);
@@ -169,16 +279,27 @@ public class CursoService {
 
         // Atualiza o objeto Curso existente com os novos dados
         Curso cursoParaAtualizar = cursoExistenteOpt.get();
+        Curso anterior = copiar(cursoParaAtualizar);
+        boolean renomeado = !cursoParaAtualizar.getNome().equals(nome);
         cursoParaAtualizar.setNome(nome);
         cursoParaAtualizar.setCargaHoraria(cargaHoraria);
         cursoParaAtualizar.setLimiteAlunos(limiteAlunos);
         cursoParaAtualizar.setAtivo(status);
 
         try {
-            boolean atualizado = cursoDao.atualizar(cursoParaAtualizar);
+            boolean atualizado;
+            try {
+                atualizado = cursoDao.atualizar(cursoParaAtualizar);
+            } finally {
+                invalidarCache(idCurso);
+                if (renomeado) {
+                    indiceNomes.reconstruirOuInvalidar();
+                }
+            }
             if (!atualizado) {
                 throw new ErroSistemaException("Não foi possível atualizar o curso no banco de dados. Verifique o ID.");
             }
+            notificador.publicar(Alteracao.atualizado(idCurso, copiar(cursoParaAtualizar), anterior));
             System.out.println("Curso '" + nome + "' atualizado com sucesso!");
         } catch (SQLException e) {
             throw new ErroSistemaException("Falha ao atualizar o curso devido a um erro no banco de dados.", e);
@@ -202,10 +323,17 @@ public class CursoService {
                 throw new CursoInvalidoException("Curso com ID " + idCurso + " não encontrado para remoção.");
             }
 
-            boolean removido = cursoDao.remover(idCurso);
+            boolean removido;
+            try {
+                removido = cursoDao.remover(idCurso);
+            } finally {
+                invalidarCache(idCurso);
+                indiceNomes.reconstruirOuInvalidar();
+            }
             if (!removido) {
                 throw new CursoInvalidoException("Não foi possível remover o curso no banco de dados. Verifique o ID.");
             }
+            notificador.publicar(Alteracao.removido(idCurso, cursoExistente.get()));
             System.out.println("Curso com ID " + idCurso + " removido com sucesso!");
         } catch (SQLException e) {
             throw new ErroSistemaException("Falha ao remover o curso devido a um erro no banco de dados.", e);
@@ -213,15 +341,22 @@ public class CursoService {
     }
 
     /**
-     * Desativa um curso pelo seu ID.
+     * Desativa um curso pelo seu ID. Com a gravação adiada de status
+     * habilitada ({@code status.writeBehind.enabled}), a mudança é apenas
+     * enfileirada e as verificações abaixo não são feitas.
      *
      * @param idCurso O ID do curso a ser desativado.
      * @throws CursoInvalidoException Se o curso não for encontrado ou já
-     *                                estiver inativo.
+     *                                estiver inativo (apenas no modo
+     *                                síncrono).
      * @throws ErroSistemaException   Se ocorrer um erro de persistência no banco
      *                                de dados.
      */
     public void desativarCurso(int idCurso) {
+        if (filaStatus != null) {
+            filaStatus.enfileirar(idCurso, false);
+            return;
+        }
         Optional<Curso> cursoExistenteOpt;
         try {
             cursoExistenteOpt = cursoDao.buscarPorId(idCurso);
@@ -238,10 +373,18 @@ public class CursoService {
         }
 
         try {
-            boolean desativado = cursoDao.desativar(idCurso);
+            boolean desativado;
+            try {
+                desativado = cursoDao.desativar(idCurso);
+            } finally {
+                invalidarCache(idCurso);
+            }
             if (!desativado) {
                 throw new ErroSistemaException("Não foi possível desativar o curso no banco de dados.");
             }
+            Curso alterado = cursoExistenteOpt.get();
+            alterado.setAtivo(Status.INATIVO);
+            notificador.publicar(Alteracao.statusAlterado(idCurso, alterado));
             System.out.println("Curso com ID " + idCurso + " desativado com sucesso!");
         } catch (SQLException e) {
             throw new ErroSistemaException("Falha ao desativar o curso devido a um erro no banco de dados.", e);
@@ -249,15 +392,20 @@ public class CursoService {
     }
 
     /**
-     * Ativa um curso pelo seu ID.
+     * Ativa um curso pelo seu ID. Assim como {@link #desativarCurso(int)},
+     * apenas enfileira a mudança quando a gravação adiada está habilitada.
      *
      * @param idCurso O ID do curso a ser ativado.
      * @throws CursoInvalidoException Se o curso não for encontrado ou já
-     *                                estiver ativo.
+     *                                estiver ativo (apenas no modo síncrono).
      * @throws ErroSistemaException   Se ocorrer um erro de persistência no banco
      *                                de dados.
      */
     public void ativarCurso(int idCurso) {
+        if (filaStatus != null) {
+            filaStatus.enfileirar(idCurso, true);
+            return;
+        }
         Optional<Curso> cursoExistenteOpt;
         try {
             cursoExistenteOpt = cursoDao.buscarPorId(idCurso);
@@ -274,16 +422,71 @@ public class CursoService {
         }
 
         try {
-            boolean ativado = cursoDao.ativar(idCurso);
+            boolean ativado;
+            try {
+                ativado = cursoDao.ativar(idCurso);
+            } finally {
+                invalidarCache(idCurso);
+            }
             if (!ativado) {
                 throw new ErroSistemaException("Não foi possível ativar o curso no banco de dados.");
             }
+            Curso alterado = cursoExistenteOpt.get();
+            alterado.setAtivo(Status.ATIVO);
+            notificador.publicar(Alteracao.statusAlterado(idCurso, alterado));
             System.out.println("Curso com ID " + idCurso + " ativado com sucesso!");
         } catch (SQLException e) {
             throw new ErroSistemaException("Falha ao ativar o curso devido a um erro no banco de dados.", e);
         }
     }
 
+    /**
+     * Altera o status de vários cursos de uma vez: enfileira as mudanças com a
+     * gravação adiada habilitada ou as grava imediatamente em lote.
+     *
+     * @param ids    Os IDs dos cursos (inexistentes são ignorados).
+     * @param status O novo status.
+     * @throws ErroSistemaException Se ocorrer um erro de persistência no banco
+     *                              de dados.
+     */
+    public void alterarStatusEmLote(Collection<Integer> ids, Status status) {
+        if (filaStatus != null) {
+            for (Integer id : ids) {
+                filaStatus.enfileirar(id, status.isAtivo());
+            }
+            return;
+        }
+        try {
+            List<Integer> lista = new ArrayList<>(ids);
+            gravarStatus(status.isAtivo() ? lista : List.of(), status.isAtivo() ? List.of() : lista);
+            System.out.println("Status de " + lista.size() + " curso(s) gravado como " + status.getDescricao() + ".");
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao alterar o status dos cursos devido a um erro no banco de dados.", e);
+        }
+    }
+
+    /**
+     * Barreira de durabilidade: grava as mudanças de status de cursos
+     * enfileiradas e só retorna quando todas estiverem no banco.
+     *
+     * @throws ErroSistemaException Se a gravação falhar.
+     */
+    public void sincronizarStatus() {
+        if (filaStatus != null) {
+            filaStatus.sincronizar();
+        }
+    }
+
+    /**
+     * Grava as mudanças de status pendentes e encerra a thread de gravação.
+     */
+    public void encerrar() {
+        if (filaStatus != null) {
+            filaStatus.close();
+        }
+    }
+
     /**
      * Verifica se o limite de alunos já foi atingido para um determinado curso.
      *
@@ -317,16 +520,25 @@ public class CursoService {
         }
     }
 
+    /**
+     * Obtém o ID de um curso pelo nome, usando o índice de nomes em memória
+     * (sem diferenciar maiúsculas nem acentos).
+     *
+     * @param nome O nome do curso.
+     * @return O ID do curso, ou vazio se não encontrado.
+     * @throws ErroSistemaException Se ocorrer um erro de persistência no banco
+     *                              de dados.
+     */
     public OptionalInt obterIdCursoPorNome(String nome) {
         try {
-            return cursoDao.buscarIdPorNome(nome);
+            return indiceNomes.buscarId(nome);
         } catch (SQLException e) {
             throw new ErroSistemaException("Falha ao consultar nome no banco de dados.", e);
         }
     }
 
     /**
-     * Obtém um curso pelo seu ID.
+     * Obtém um curso pelo seu ID, usando o cache de cursos.
      *
      * @param id O ID do curso a ser obtido.
      * @return Um Optional contendo o objeto Curso, ou um Optional vazio se não
@@ -336,14 +548,31 @@ public class CursoService {
      */
     public Optional<Curso> obterCursoPorId(int id) {
         try {
-            return cursoDao.buscarPorId(id);
+            return buscarCurso(id);
+        } catch (SQLException e) {
+            throw new ErroSistemaException("Falha ao obter curso devido a um erro no banco de dados.", e);
+        }
+    }
+
+    /**
+     * Busca um curso com os totais de alunos atuais (sem passar pelo cache,
+     * já que os totais mudam a cada matrícula).
+     *
+     * @param id O ID do curso.
+     * @return O curso com seus totais, ou vazio se não existir.
+     * @throws ErroSistemaException Se ocorrer um erro no banco de dados.
+     */
+    public Optional<CursoComTotais> obterCursoComTotais(int id) {
+        try {
+            return cursoDao.buscarComTotaisPorId(id);
         } catch (SQLException e) {
             throw new ErroSistemaException("Falha ao obter curso devido a um erro no banco de dados.", e);
         }
     }
 
     /**
-     * Lista todos os cursos cadastrados no sistema.
+     * Lista todos os cursos cadastrados no sistema. O resultado de cada filtro
+     * fica em cache até a próxima alteração de curso ou até expirar.
      *
      * @param filterStatus
      * @return Uma lista de objetos Curso, vazia se não houver cursos.
@@ -352,11 +581,100 @@ public class CursoService {
      */
     public List<Curso> listarTodosCursos(Status filterStatus) {
         try {
-            if (filterStatus == null) {
-                return cursoDao.buscarTodos();
-            } else {
-                return cursoDao.buscarTodosFiltrado(filterStatus);
+            List<Curso> cursos = cacheListas.obter(filterStatus, status -> {
+                List<Curso> lidos = status == null ? cursoDao.buscarTodos() : cursoDao.buscarTodosFiltrado(status);
+                return List.copyOf(lidos);
+            });
+            List<Curso> copia = new ArrayList<>(cursos.size());
+            for (Curso curso : cursos) {
+                copia.add(copiar(curso));
             }
+            return copia;
+        } catch (SQLException e) {
+            throw new ErroSistemaException("Falha ao obter a lista de cursos devido a um erro no banco de dados.", e);
+        }
+    }
+
+    /**
+     * Recalcula os contadores de alunos de todos os cursos a partir da tabela
+     * de alunos, corrigindo divergências causadas por alterações feitas fora
+     * do sistema.
+     *
+     * @return O número de cursos atualizados.
+     * @throws ErroSistemaException Se ocorrer um erro de persistência no banco
+     *                              de dados.
+     */
+    public int recalcularContadores() {
+        try {
+            int atualizados = cursoDao.recalcularContadores();
+            notificador.publicar(Alteracao.varios());
+            return atualizados;
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao recalcular os contadores de alunos devido a um erro no banco de dados.", e);
+        }
+    }
+
+    /**
+     * Lista os cursos com o total de alunos e de alunos ativos de cada um, lidos
+     * dos contadores mantidos em cada curso.
+     *
+     * @param filterStatus Filtra os cursos por status, ou null para todos.
+     * @return Os cursos com seus totais.
+     * @throws ErroSistemaException Se ocorrer um erro de persistência no banco
+     *                              de dados.
+     */
+    public List<CursoComTotais> listarCursosComTotais(Status filterStatus) {
+        try {
+            return cursoDao.buscarTodosComTotais(filterStatus);
+        } catch (SQLException e) {
+            throw new ErroSistemaException("Falha ao obter a lista de cursos devido a um erro no banco de dados.", e);
+        }
+    }
+
+    /**
+     * Lista os cursos uma página por vez, com paginação por chave.
+     *
+     * @param filterStatus Filtra por status, ou null para todos.
+     * @param ordem        Ordenação por ID ou por nome.
+     * @param token        O token da página anterior, ou null para a primeira.
+     * @param tamanho      Quantidade de cursos por página.
+     * @return A página de cursos e o token da próxima.
+     * @throws IllegalArgumentException Se o token for inválido.
+     * @throws ErroSistemaException     Se ocorrer um erro de persistência no
+     *                                  banco de dados.
+     */
+    public Pagina<Curso> listarCursosPaginado(Status filterStatus, OrdemListagem ordem, String token, int tamanho) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("Tamanho da página deve ser no mínimo 1.");
+        }
+        TokenPagina.Chave chave = TokenPagina.decodificar(token, ordem);
+        try {
+            List<Curso> linhas = cursoDao.buscarPagina(filterStatus, ordem, chave.ultimoId(), chave.ultimoNome(),
+                    tamanho + 1);
+            return TokenPagina.montar(linhas, tamanho, ordem, Curso::getIdCurso, Curso::getNome);
+        } catch (SQLException e) {
+            throw new ErroSistemaException("Falha ao obter a lista de cursos devido a um erro no banco de dados.", e);
+        }
+    }
+
+    /**
+     * Lista os cursos com os totais de alunos uma página por vez. Os totais
+     * mudam a cada matrícula, então esta listagem não passa pelo cache.
+     *
+     * @see #listarCursosPaginado(Status, OrdemListagem, String, int)
+     */
+    public Pagina<CursoComTotais> listarCursosComTotaisPaginado(Status filterStatus, OrdemListagem ordem,
+            String token, int tamanho) {
+        if (tamanho < 1) {
+            throw new IllegalArgumentException("Tamanho da página deve ser no mínimo 1.");
+        }
+        TokenPagina.Chave chave = TokenPagina.decodificar(token, ordem);
+        try {
+            List<CursoComTotais> linhas = cursoDao.buscarPaginaComTotais(filterStatus, ordem, chave.ultimoId(),
+                    chave.ultimoNome(), tamanho + 1);
+            return TokenPagina.montar(linhas, tamanho, ordem, linha -> linha.curso().getIdCurso(),
+                    linha -> linha.curso().getNome());
         } catch (SQLException e) {
             throw new ErroSistemaException("Falha ao obter a lista de cursos devido a um erro no banco de dados.", e);
         }
@@ -376,7 +694,7 @@ public class CursoService {
     public List<Aluno> listarAlunosPorCurso(int idCurso, Status filterStatus) {
         try {
             // Verifica se o curso existe antes de tentar listar seus alunos
-            if (cursoDao.buscarPorId(idCurso).isEmpty()) {
+            if (buscarCurso(idCurso).isEmpty()) {
                 throw new CursoInvalidoException("Curso com ID " + idCurso + " não encontrado.");
             }
             if (filterStatus == null) {
@@ -400,42 +718,36 @@ public class CursoService {
      * @throws IOException Se houver um erro de I/O ao salvar o arquivo.
      */
     public void exportarCursosComAlunos(String caminhoArquivo, List<Curso> cursos) throws IOException {
-        List<String> linhasParaSalvar = new ArrayList<>();
-
-        linhasParaSalvar.add(
-                "ID_Curso;Nome_Curso;Id_Aluno;Nome_Aluno;Cpf_Aluno;Telefone_Aluno;Email_Aluno;Data_Nascimento_Aluno");
-
-        for (Curso curso : cursos) {
-            if (curso.getAlunos() != null && !curso.getAlunos().isEmpty()) {
-                for (Aluno aluno : curso.getAlunos()) {
-                    // CSV
-                    String linha = String.format("%d;%s;%d;%s;%s;%s;%s;%s",
-                            curso.getIdCurso(),
-                            curso.getNome(),
-                            aluno.getIdAluno(),
-                            aluno.getNome(),
-                            aluno.getCpf(),
-                            aluno.getTelefone(),
-                            aluno.getEmail(),
-                            aluno.getDataNascimento());
-                    linhasParaSalvar.add(linha);
+        try (EscritorCsv csv = EscritorCsv.abrir(Path.of(caminhoArquivo), ';')) {
+            csv.colunas("ID_Curso", "Nome_Curso", "Id_Aluno", "Nome_Aluno", "Cpf_Aluno", "Telefone_Aluno",
+                    "Email_Aluno", "Data_Nascimento_Aluno");
+            for (Curso curso : cursos) {
+                if (curso.getAlunos() != null && !curso.getAlunos().isEmpty()) {
+                    for (Aluno aluno : curso.getAlunos()) {
+                        csv.campo(curso.getIdCurso())
+                                .campo(curso.getNome())
+                                .campo(aluno.getIdAluno())
+                                .campo(aluno.getNome())
+                                .campo(aluno.getCpf())
+                                .campo(aluno.getTelefone())
+                                .campo(aluno.getEmail())
+                                .campo(aluno.getDataNascimento())
+                                .fimLinha();
+                    }
+                } else {
+                    // Curso sem alunos
+                    csv.campo(curso.getIdCurso()).campo(curso.getNome()).campo("N/A").campo("N/A").fimLinha();
                 }
-            } else {
-                // Curso sem alunos
-                linhasParaSalvar.add(String.format("%d;%s;N/A;N/A", curso.getIdCurso(), curso.getNome()));
             }
         }
-
-        // Usa o FileSaver genérico para salvar a lista de strings formatadas
-        FileSaver.saveListToFile(caminhoArquivo, linhasParaSalvar);
         System.out.println("Cursos e alunos exportados com sucesso para: " + caminhoArquivo);
     }
 
     public Curso obterCursoPorNome(String nomeCurso) {
         try {
-            OptionalInt id = cursoDao.buscarIdPorNome(nomeCurso);
+            OptionalInt id = indiceNomes.buscarId(nomeCurso);
             if (id.isPresent()) {
-                return cursoDao.buscarPorId(id.getAsInt())
+                return buscarCurso(id.getAsInt())
                         .orElseThrow(() -> new CursoInvalidoException("Curso não encontrado."));
             }
             throw new CursoInvalidoException("Curso com nome '" + nomeCurso + "' não encontrado.");
@@ -0,0 +1,117 @@
+package services;
+
+import model.Aluno;
+import model.Curso;
+import model.CursoComTotais;
+import model.Pagina;
+import model.enums.OrdemListagem;
+import model.enums.Status;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Versão assíncrona do {@link CursoService}: cada método executa a chamada
+ * correspondente em uma thread virtual e devolve um {@link CompletableFuture}.
+ *
+ * @see AlunoServiceAsync
+ */
+public class CursoServiceAsync implements AutoCloseable {
+
+    private final CursoService cursoService;
+    private final ExecutorAssincrono executor;
+
+    /**
+     * @param cursoService O serviço que executa as chamadas.
+     */
+    public CursoServiceAsync(CursoService cursoService) {
+        this(cursoService, new ExecutorAssincrono("cursos"));
+    }
+
+    CursoServiceAsync(CursoService cursoService, ExecutorAssincrono executor) {
+        this.cursoService = cursoService;
+        this.executor = executor;
+    }
+
+    /**
+     * Executa qualquer chamada do serviço com um prazo próprio. Ao estourar o
+     * prazo a chamada é interrompida, então não use para escritas.
+     *
+     * @param chamada   A chamada, recebendo o serviço síncrono.
+     * @param timeoutMs Prazo da chamada, em milissegundos.
+     * @return O resultado da chamada.
+     */
+    public <T> CompletableFuture<T> executar(Function<CursoService, T> chamada, long timeoutMs) {
+        return executor.executar(() -> chamada.apply(cursoService), timeoutMs);
+    }
+
+    public CompletableFuture<Void> adicionarCurso(String nome, int cargaHoraria, int limiteAlunos) {
+        return executor.executarEscrita(() -> cursoService.adicionarCurso(nome, cargaHoraria, limiteAlunos));
+    }
+
+    public CompletableFuture<Void> atualizarCurso(int idCurso, String nome, int cargaHoraria, int limiteAlunos,
+            Status status) {
+        return executor.executarEscrita(
+                () -> cursoService.atualizarCurso(idCurso, nome, cargaHoraria, limiteAlunos, status));
+    }
+
+    public CompletableFuture<Void> removerCurso(int idCurso) {
+        return executor.executarEscrita(() -> cursoService.removerCurso(idCurso));
+    }
+
+    public CompletableFuture<Void> ativarCurso(int idCurso) {
+        return executor.executarEscrita(() -> cursoService.ativarCurso(idCurso));
+    }
+
+    public CompletableFuture<Void> desativarCurso(int idCurso) {
+        return executor.executarEscrita(() -> cursoService.desativarCurso(idCurso));
+    }
+
+    public CompletableFuture<Optional<Curso>> obterCursoPorId(int id) {
+        return executor.executar(() -> cursoService.obterCursoPorId(id));
+    }
+
+    public CompletableFuture<Curso> obterCursoPorNome(String nomeCurso) {
+        return executor.executar(() -> cursoService.obterCursoPorNome(nomeCurso));
+    }
+
+    public CompletableFuture<OptionalInt> obterIdCursoPorNome(String nome) {
+        return executor.executar(() -> cursoService.obterIdCursoPorNome(nome));
+    }
+
+    public CompletableFuture<Boolean> cursoCheio(int id) {
+        return executor.executar(() -> cursoService.cursoCheio(id));
+    }
+
+    public CompletableFuture<Integer> obterTotalAlunosNoCurso(int id) {
+        return executor.executar(() -> cursoService.obterTotalAlunosNoCurso(id));
+    }
+
+    public CompletableFuture<List<Curso>> listarTodosCursos(Status filterStatus) {
+        return executor.executar(() -> cursoService.listarTodosCursos(filterStatus));
+    }
+
+    public CompletableFuture<List<CursoComTotais>> listarCursosComTotais(Status filterStatus) {
+        return executor.executar(() -> cursoService.listarCursosComTotais(filterStatus));
+    }
+
+    public CompletableFuture<Pagina<Curso>> listarCursosPaginado(Status filterStatus, OrdemListagem ordem,
+            String token, int tamanho) {
+        return executor.executar(() -> cursoService.listarCursosPaginado(filterStatus, ordem, token, tamanho));
+    }
+
+    public CompletableFuture<List<Aluno>> listarAlunosPorCurso(int idCurso, Status filterStatus) {
+        return executor.executar(() -> cursoService.listarAlunosPorCurso(idCurso, filterStatus));
+    }
+
+    /**
+     * Recusa novas chamadas; as que estão em andamento terminam normalmente.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
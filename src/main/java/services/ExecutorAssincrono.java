@@ -0,0 +1,169 @@
+package services;
+
+import factory.ConnectionFactory;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executa chamadas bloqueantes dos serviços em threads virtuais, devolvendo
+ * {@link CompletableFuture}.
+ *
+ * Cada chamada roda em sua própria thread virtual e os DAOs pegam uma conexão
+ * do pool por operação, então chamadas independentes rodam de fato em
+ * paralelo. Um semáforo limita quantas chamadas usam o banco ao mesmo tempo
+ * ({@code async.maxConcorrencia}, por padrão o tamanho máximo do pool): as
+ * demais esperam sem ocupar conexão nem thread de plataforma. Os executores
+ * criados com a configuração dividem o mesmo semáforo, já que dividem o
+ * mesmo pool.
+ *
+ * Cada consulta tem um prazo, que inclui a espera por vaga. Ao estourar, o
+ * future termina com {@link TimeoutException} e a thread da chamada é
+ * interrompida; uma consulta que já está no banco segue até terminar, mas o
+ * resultado é descartado.
+ *
+ * Escritas ({@link #executarEscrita}) só têm prazo para conseguir vaga: depois
+ * de iniciadas, não são interrompidas nem canceladas, e o future informa o
+ * resultado real. Um timeout numa escrita que ainda assim foi confirmada
+ * deixaria quem chamou sem saber o que aconteceu.
+ */
+class ExecutorAssincrono implements AutoCloseable {
+
+    private final String nome;
+    private final ExecutorService executor;
+    private final Semaphore vagas;
+    private final long timeoutPadraoMs;
+
+    // Criado no primeiro uso, para não ler a configuração antes da hora
+    private static final class VagasCompartilhadas {
+        static final Semaphore VAGAS = new Semaphore(validar(Integer.parseInt(ConnectionFactory
+                .getProperty("async.maxConcorrencia", ConnectionFactory.getProperty("db.pool.maxSize", "10")))),
+                true);
+    }
+
+    /**
+     * Cria um executor com o prazo de {@code async.timeoutMs}, usando as vagas
+     * de {@code async.maxConcorrencia} divididas com os demais executores
+     * criados por este construtor.
+     */
+    ExecutorAssincrono(String nome) {
+        this(nome, VagasCompartilhadas.VAGAS,
+                Long.parseLong(ConnectionFactory.getProperty("async.timeoutMs", "30000")));
+    }
+
+    /**
+     * @param nome            Nome usado nas threads e mensagens de erro.
+     * @param maxConcorrencia Número máximo de chamadas executando ao mesmo
+     *                        tempo.
+     * @param timeoutPadraoMs Prazo padrão de cada chamada, em milissegundos.
+     */
+    ExecutorAssincrono(String nome, int maxConcorrencia, long timeoutPadraoMs) {
+        this(nome, new Semaphore(validar(maxConcorrencia), true), timeoutPadraoMs);
+    }
+
+    private ExecutorAssincrono(String nome, Semaphore vagas, long timeoutPadraoMs) {
+        if (timeoutPadraoMs < 1) {
+            throw new IllegalArgumentException("Timeout deve ser no mínimo 1.");
+        }
+        this.nome = nome;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sgca-" + nome + "-", 0).factory());
+        this.vagas = vagas;
+        this.timeoutPadraoMs = timeoutPadraoMs;
+    }
+
+    private static int validar(int maxConcorrencia) {
+        if (maxConcorrencia < 1) {
+            throw new IllegalArgumentException("Concorrência deve ser no mínimo 1.");
+        }
+        return maxConcorrencia;
+    }
+
+    /**
+     * Executa a chamada com o prazo padrão.
+     */
+    <T> CompletableFuture<T> executar(Supplier<T> chamada) {
+        return executar(chamada, timeoutPadraoMs);
+    }
+
+    /**
+     * Executa uma escrita sem retorno. O prazo padrão vale só para a espera
+     * por vaga; iniciada, a escrita vai até o fim e o future termina com o
+     * resultado dela. Cancelar o future só impede escritas que ainda não
+     * começaram.
+     */
+    CompletableFuture<Void> executarEscrita(Runnable escrita) {
+        CompletableFuture<Void> resultado = new CompletableFuture<>();
+        try {
+            executor.execute(() -> rodar(() -> {
+                escrita.run();
+                return null;
+            }, resultado, timeoutPadraoMs));
+        } catch (RejectedExecutionException e) {
+            resultado.completeExceptionally(new IllegalStateException("O executor de " + nome + " foi encerrado.", e));
+        }
+        return resultado;
+    }
+
+    /**
+     * Executa a chamada em uma thread virtual.
+     *
+     * @param chamada   A chamada bloqueante.
+     * @param timeoutMs Prazo da chamada, contando a espera por vaga.
+     * @return Um future com o resultado ou com a exceção lançada pela chamada.
+     *         Cancelá-lo interrompe a chamada.
+     */
+    <T> CompletableFuture<T> executar(Supplier<T> chamada, long timeoutMs) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        Future<?> execucao;
+        try {
+            execucao = executor.submit(() -> rodar(chamada, resultado, timeoutMs));
+        } catch (RejectedExecutionException e) {
+            resultado.completeExceptionally(new IllegalStateException("O executor de " + nome + " foi encerrado.", e));
+            return resultado;
+        }
+        resultado.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((valor, erro) -> {
+            if (erro != null) {
+                execucao.cancel(true); // Timeout ou cancelamento pelo chamador
+            }
+        });
+        return resultado;
+    }
+
+    private <T> void rodar(Supplier<T> chamada, CompletableFuture<T> resultado, long timeoutMs) {
+        try {
+            if (!vagas.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                resultado.completeExceptionally(new TimeoutException(
+                        "Nenhuma vaga livre para a chamada de " + nome + " em " + timeoutMs + " ms."));
+                return;
+            }
+        } catch (InterruptedException e) {
+            resultado.completeExceptionally(new CancellationException("Chamada de " + nome + " cancelada."));
+            return;
+        }
+        try {
+            if (!resultado.isDone()) {
+                resultado.complete(chamada.get());
+            }
+        } catch (Throwable t) {
+            resultado.completeExceptionally(t);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    /**
+     * Recusa novas chamadas. As chamadas em andamento terminam normalmente.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,211 @@
+package services;
+
+import dao.AlunoDao;
+import dao.CursoDao;
+import exceptions.CursoInvalidoException;
+import exceptions.ErroSistemaException;
+import model.AlunoComCurso;
+import model.Curso;
+import model.enums.Status;
+import utils.CanalComHash;
+import utils.DestinoExportacao;
+import utils.FormatoExportacao;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Exporta os alunos de vários cursos em paralelo, um arquivo por curso, e
+ * grava um manifesto com as linhas, o tamanho e o SHA-256 de cada arquivo.
+ *
+ * Cada curso é exportado por uma tarefa que lê os alunos em stream com a
+ * própria conexão do pool, então no máximo {@code paralelismo} conexões ficam
+ * ocupadas durante a exportação. O hash é calculado enquanto o arquivo é
+ * gravado, sem reler o disco.
+ *
+ * Cada arquivo é escrito com o sufixo {@code .parcial} e renomeado ao
+ * terminar, e o manifesto é gravado por último: se ele existe, todos os
+ * arquivos listados estão completos. Se algum curso falhar, as tarefas
+ * restantes são canceladas e o manifesto não é gravado.
+ */
+public class ExportadorCursos {
+
+    /**
+     * Um arquivo exportado.
+     *
+     * @param idCurso   O curso.
+     * @param nomeCurso O nome do curso.
+     * @param arquivo   O nome do arquivo, relativo à pasta da exportação.
+     * @param linhas    Alunos exportados (sem o cabeçalho).
+     * @param bytes     Tamanho do arquivo.
+     * @param sha256    SHA-256 do arquivo, em hexadecimal.
+     */
+    public record Arquivo(int idCurso, String nomeCurso, String arquivo, long linhas, long bytes, String sha256) {
+    }
+
+    /**
+     * Resultado de uma exportação.
+     *
+     * @param manifesto O arquivo de manifesto.
+     * @param arquivos  Os arquivos exportados, em ordem de ID do curso.
+     * @param duracaoMs Duração total da exportação.
+     */
+    public record Manifesto(Path manifesto, List<Arquivo> arquivos, long duracaoMs) {
+
+        public long totalLinhas() {
+            return arquivos.stream().mapToLong(Arquivo::linhas).sum();
+        }
+    }
+
+    private static final String NOME_MANIFESTO = "manifesto.csv";
+    private static final String SUFIXO_PARCIAL = ".parcial";
+
+    private final AlunoDao alunoDao;
+    private final CursoDao cursoDao;
+    private final int paralelismo;
+
+    ExportadorCursos(AlunoDao alunoDao, CursoDao cursoDao, int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("Paralelismo deve ser no mínimo 1.");
+        }
+        this.alunoDao = alunoDao;
+        this.cursoDao = cursoDao;
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * Executa a exportação.
+     *
+     * @param pasta        A pasta de destino (criada se não existir).
+     * @param idsCursos    Os cursos a exportar, ou null (ou vazio) para todos.
+     * @param filterStatus Filtra os alunos por status, ou null para todos.
+     * @param formato      O formato dos arquivos dos cursos (o manifesto é
+     *                     sempre CSV).
+     * @return O manifesto da exportação.
+     * @throws IOException            Se houver erro de escrita.
+     * @throws SQLException           Se a leitura dos cursos falhar.
+     * @throws CursoInvalidoException Se algum dos IDs não for de um curso
+     *                                existente.
+     * @throws ErroSistemaException   Se a exportação de algum curso falhar ou
+     *                                for interrompida.
+     */
+    public Manifesto exportar(Path pasta, Collection<Integer> idsCursos, Status filterStatus,
+            FormatoExportacao formato) throws IOException, SQLException {
+        long inicio = System.currentTimeMillis();
+        List<Curso> cursos = cursos(idsCursos);
+        Files.createDirectories(pasta);
+        // Um manifesto de exportação anterior deixaria de corresponder aos arquivos
+        Path manifesto = pasta.resolve(NOME_MANIFESTO);
+        Files.deleteIfExists(manifesto);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(paralelismo, Math.max(1, cursos.size())));
+        List<Arquivo> arquivos = new ArrayList<>(cursos.size());
+        try {
+            List<Future<Arquivo>> tarefas = new ArrayList<>(cursos.size());
+            for (Curso curso : cursos) {
+                tarefas.add(executor.submit((Callable<Arquivo>) () -> exportarCurso(pasta, curso, filterStatus,
+                        formato)));
+            }
+            for (Future<Arquivo> tarefa : tarefas) {
+                arquivos.add(tarefa.get());
+            }
+        } catch (ExecutionException e) {
+            executor.shutdownNow();
+            Throwable causa = e.getCause();
+            if (causa instanceof IOException io) {
+                throw io;
+            }
+            if (causa instanceof SQLException sql) {
+                throw sql;
+            }
+            throw new ErroSistemaException("Falha na exportação de cursos: " + causa.getMessage(), causa);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new ErroSistemaException("Exportação de cursos interrompida.", e);
+        } finally {
+            executor.shutdown();
+        }
+
+        FormatoExportacao.CSV.exportar(manifesto,
+                new String[] { "idCurso", "nomeCurso", "arquivo", "linhas", "bytes", "sha256" },
+                arquivos.iterator(), (csv, arquivo) -> csv.campo(arquivo.idCurso())
+                        .campo(arquivo.nomeCurso())
+                        .campo(arquivo.arquivo())
+                        .campo(arquivo.linhas())
+                        .campo(arquivo.bytes())
+                        .campo(arquivo.sha256()));
+        return new Manifesto(manifesto, List.copyOf(arquivos), System.currentTimeMillis() - inicio);
+    }
+
+    private List<Curso> cursos(Collection<Integer> idsCursos) throws SQLException {
+        if (idsCursos == null || idsCursos.isEmpty()) {
+            return cursoDao.buscarTodos();
+        }
+        List<Curso> cursos = new ArrayList<>(idsCursos.size());
+        for (int id : idsCursos.stream().distinct().sorted().toList()) {
+            Optional<Curso> curso = cursoDao.buscarPorId(id);
+            cursos.add(curso.orElseThrow(() -> new CursoInvalidoException("Curso não encontrado: " + id)));
+        }
+        return cursos;
+    }
+
+    /**
+     * Exporta um curso para {@code <pasta>/curso-<id>-<nome>.<extensão>}.
+     */
+    private Arquivo exportarCurso(Path pasta, Curso curso, Status filterStatus, FormatoExportacao formato)
+            throws IOException, SQLException {
+        String nomeArquivo = "curso-" + curso.getIdCurso() + "-" + paraNomeArquivo(curso.getNome()) + "."
+                + formato.getExtensao();
+        Path destino = pasta.resolve(nomeArquivo);
+        Path parcial = pasta.resolve(nomeArquivo + SUFIXO_PARCIAL);
+        CanalComHash canal = new CanalComHash(FileChannel.open(parcial, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), "SHA-256");
+        long linhas;
+        try (Stream<AlunoComCurso> alunos = alunoDao.streamComCurso(curso.getIdCurso(), filterStatus);
+                DestinoExportacao destinoAlunos = formato.abrir(canal)) {
+            destinoAlunos.colunas(AlunoService.COLUNAS_EXPORTACAO);
+            Iterator<AlunoComCurso> it = alunos.iterator();
+            while (it.hasNext()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new ErroSistemaException("Exportação do curso " + curso.getNome() + " cancelada.");
+                }
+                AlunoService.escreverLinha(destinoAlunos, it.next());
+                destinoAlunos.fimLinha();
+            }
+            linhas = destinoAlunos.getLinhas();
+        } catch (IOException | SQLException | RuntimeException e) {
+            canal.close();
+            Files.deleteIfExists(parcial);
+            throw e;
+        }
+        Files.move(parcial, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new Arquivo(curso.getIdCurso(), curso.getNome(), nomeArquivo, linhas, canal.getBytes(),
+                canal.getHashHex());
+    }
+
+    /**
+     * Nome de curso em minúsculas, sem acentos e só com letras, dígitos e
+     * hífens, para ser seguro como nome de arquivo em qualquer sistema.
+     */
+    private static String paraNomeArquivo(String nome) {
+        String limpo = Textos.normalizar(nome).replaceAll("[^a-z0-9]+", "-").replaceAll("^-|-$", "");
+        return limpo.isEmpty() ? "curso" : limpo;
+    }
+}
@@ -0,0 +1,209 @@
+package services;
+
+import exceptions.ErroSistemaException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fila de gravação adiada (write-behind) para mudanças de status.
+ *
+ * As mudanças ficam em um mapa ID → status desejado, então ativar e desativar
+ * o mesmo registro várias vezes antes da gravação resulta em uma única
+ * alteração com o último valor. Uma thread em segundo plano grava as mudanças
+ * pendentes a cada {@code intervaloMs} (ou antes, ao acumular
+ * {@code tamanhoLote} IDs), com um UPDATE em lote por status.
+ *
+ * {@link #sincronizar()} é a barreira de durabilidade: ao retornar, tudo o
+ * que foi enfileirado antes da chamada está gravado. {@link #close()} grava o
+ * que restar e encerra a thread; também é chamado por um shutdown hook, para
+ * que nada se perca ao fechar a aplicação.
+ */
+class FilaStatus implements AutoCloseable {
+
+    /**
+     * Grava um conjunto de mudanças de status.
+     */
+    @FunctionalInterface
+    interface Gravador {
+        void gravar(List<Integer> ativar, List<Integer> desativar) throws SQLException;
+    }
+
+    /**
+     * Contadores da fila desde a sua criação.
+     *
+     * @param enfileiradas Mudanças recebidas.
+     * @param coalescidas  Mudanças que substituíram outra ainda pendente do
+     *                     mesmo ID.
+     * @param gravadas     Mudanças enviadas ao banco.
+     * @param lotes        Gravações em lote executadas.
+     * @param falhas       Gravações que falharam (as mudanças voltam à fila).
+     * @param pendentes    Mudanças aguardando gravação.
+     */
+    public record Estatisticas(long enfileiradas, long coalescidas, long gravadas, long lotes, long falhas,
+            int pendentes) {
+    }
+
+    private final String nome;
+    private final Gravador gravador;
+    private final int tamanhoLote;
+    private final ConcurrentHashMap<Integer, Boolean> pendentes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService agendador;
+    private final Thread ganchoDesligamento;
+    private final Object lockGravacao = new Object();
+
+    private final AtomicLong enfileiradas = new AtomicLong();
+    private final AtomicLong coalescidas = new AtomicLong();
+    private final AtomicLong gravadas = new AtomicLong();
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private volatile boolean encerrada;
+
+    /**
+     * @param nome        Nome usado na thread e nas mensagens de erro.
+     * @param gravador    Grava as mudanças no banco.
+     * @param intervaloMs Intervalo entre gravações automáticas.
+     * @param tamanhoLote Quantidade de mudanças pendentes que antecipa a
+     *                    gravação.
+     */
+    FilaStatus(String nome, Gravador gravador, long intervaloMs, int tamanhoLote) {
+        if (intervaloMs < 1 || tamanhoLote < 1) {
+            throw new IllegalArgumentException("Intervalo e tamanho de lote devem ser no mínimo 1.");
+        }
+        this.nome = nome;
+        this.gravador = gravador;
+        this.tamanhoLote = tamanhoLote;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sgca-status-" + nome);
+            t.setDaemon(true);
+            return t;
+        });
+        agendador.scheduleWithFixedDelay(this::descarregarEmSegundoPlano, intervaloMs, intervaloMs,
+                TimeUnit.MILLISECONDS);
+        this.ganchoDesligamento = new Thread(this::drenar, "sgca-status-" + nome + "-desligamento");
+        Runtime.getRuntime().addShutdownHook(ganchoDesligamento);
+    }
+
+    /**
+     * Agenda a mudança de status de um registro, substituindo uma mudança
+     * ainda pendente para o mesmo ID.
+     *
+     * @throws IllegalStateException Se a fila já foi encerrada.
+     */
+    void enfileirar(int id, boolean ativo) {
+        if (encerrada) {
+            throw new IllegalStateException("A fila de status de " + nome + " já foi encerrada.");
+        }
+        enfileiradas.incrementAndGet();
+        if (pendentes.put(id, ativo) != null) {
+            coalescidas.incrementAndGet();
+        }
+        if (pendentes.size() >= tamanhoLote) {
+            agendador.execute(this::descarregarEmSegundoPlano);
+        }
+    }
+
+    /**
+     * Grava imediatamente as mudanças pendentes e aguarda a conclusão.
+     *
+     * @throws ErroSistemaException Se a gravação falhar (as mudanças continuam
+     *                              na fila para a próxima tentativa).
+     */
+    void sincronizar() {
+        try {
+            descarregar();
+        } catch (SQLException e) {
+            throw new ErroSistemaException(
+                    "Falha ao gravar as mudanças de status de " + nome + " no banco de dados.", e);
+        }
+    }
+
+    /**
+     * Encerra a thread de gravação e grava o que estiver pendente.
+     *
+     * @throws ErroSistemaException Se a gravação final falhar.
+     */
+    @Override
+    public void close() {
+        drenar();
+        try {
+            Runtime.getRuntime().removeShutdownHook(ganchoDesligamento);
+        } catch (IllegalStateException e) {
+            // A JVM já está sendo encerrada
+        }
+        if (!pendentes.isEmpty()) {
+            throw new ErroSistemaException(
+                    pendentes.size() + " mudança(s) de status de " + nome + " não puderam ser gravadas.");
+        }
+    }
+
+    Estatisticas getEstatisticas() {
+        return new Estatisticas(enfileiradas.get(), coalescidas.get(), gravadas.get(), lotes.get(), falhas.get(),
+                pendentes.size());
+    }
+
+    private void drenar() {
+        encerrada = true;
+        agendador.shutdown();
+        try {
+            agendador.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            descarregar();
+        } catch (SQLException e) {
+            System.err.println("Erro ao gravar as mudanças de status pendentes de " + nome + ": " + e.getMessage());
+        }
+    }
+
+    private void descarregarEmSegundoPlano() {
+        try {
+            descarregar();
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("Erro ao gravar mudanças de status de " + nome + " (nova tentativa no próximo ciclo): "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Retira as mudanças pendentes e as grava. As gravações são serializadas,
+     * então quando este método retorna tudo o que estava na fila no momento da
+     * chamada foi gravado (por esta ou por uma gravação anterior).
+     */
+    private void descarregar() throws SQLException {
+        synchronized (lockGravacao) {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+            List<Integer> ativar = new ArrayList<>();
+            List<Integer> desativar = new ArrayList<>();
+            Map<Integer, Boolean> retiradas = new HashMap<>();
+            for (Integer id : pendentes.keySet()) {
+                Boolean ativo = pendentes.remove(id);
+                if (ativo != null) {
+                    retiradas.put(id, ativo);
+                    (ativo ? ativar : desativar).add(id);
+                }
+            }
+            try {
+                gravador.gravar(ativar, desativar);
+                lotes.incrementAndGet();
+                gravadas.addAndGet(retiradas.size());
+            } catch (SQLException | RuntimeException e) {
+                falhas.incrementAndGet();
+                // Devolve à fila, sem sobrescrever mudanças mais novas do mesmo ID
+                retiradas.forEach(pendentes::putIfAbsent);
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package services;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para textos: responde "com certeza não contém" ou "talvez
+ * contenha", usando poucos bits por elemento.
+ *
+ * Cada elemento marca {@code k} bits, calculados por hashing duplo
+ * ({@code h1 + i * h2}) a partir de um único hash de 64 bits. Inserções e
+ * consultas podem ser feitas por várias threads ao mesmo tempo.
+ */
+class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long totalBits;
+    private final int funcoesHash;
+    private final long capacidade;
+    private final AtomicLong elementos = new AtomicLong();
+
+    /**
+     * @param capacidade        Número de elementos esperado.
+     * @param taxaFalsoPositivo Taxa de falso positivo desejada ao atingir a
+     *                          capacidade (ex: 0.01).
+     */
+    FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        if (capacidade < 1 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva e a taxa deve estar entre 0 e 1.");
+        }
+        // m = -n ln(p) / (ln 2)^2 e k = m/n ln 2
+        long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        int palavras = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+        this.bits = new AtomicLongArray(palavras);
+        this.totalBits = (long) palavras * 64;
+        this.funcoesHash = Math.max(1, (int) Math.round((double) totalBits / capacidade * Math.log(2)));
+        this.capacidade = capacidade;
+    }
+
+    void adicionar(String valor) {
+        long h = hash(valor);
+        long h1 = h;
+        long h2 = misturar(h ^ 0x9E3779B97F4A7C15L) | 1; // ímpar, para nunca ser zero
+        for (int i = 0; i < funcoesHash; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, totalBits);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual = bits.get(palavra);
+            while ((atual & mascara) == 0 && !bits.compareAndSet(palavra, atual, atual | mascara)) {
+                atual = bits.get(palavra);
+            }
+        }
+        elementos.incrementAndGet();
+    }
+
+    /**
+     * @return false se o valor com certeza não foi adicionado; true se talvez
+     *         tenha sido.
+     */
+    boolean podeConter(String valor) {
+        long h = hash(valor);
+        long h1 = h;
+        long h2 = misturar(h ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, totalBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true se já foram adicionados mais elementos do que a capacidade
+     *         (a taxa de falso positivo passa a ser maior que a pedida).
+     */
+    boolean saturado() {
+        return elementos.get() > capacidade;
+    }
+
+    long getElementos() {
+        return elementos.get();
+    }
+
+    /**
+     * FNV-1a de 64 bits seguido de uma mistura final, para espalhar bem textos
+     * curtos e parecidos como CPFs.
+     */
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return misturar(h);
+    }
+
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,165 @@
+package services;
+
+import dao.AlunoDao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * Verificação de CPFs já cadastrados em conjunto: um filtro de Bloom com os
+ * CPFs do banco descarta a maior parte dos candidatos novos sem consulta, e os
+ * que restam são verificados por {@link AlunoDao#buscarCpfsExistentes}.
+ *
+ * O filtro é montado na primeira verificação e recebe os CPFs inseridos por
+ * este processo ({@link #registrar}). Para que CPFs inseridos depois da
+ * montagem por outra instância ou pela CLI não sejam dados como ausentes, o
+ * filtro guarda o maior idAluno já incluído e, antes de cada verificação, lê
+ * os CPFs dos alunos com ID maior que esse (uma faixa da chave primária,
+ * normalmente vazia ou com poucas linhas) e os inclui. Assim só os candidatos
+ * que o filtro aponta como possíveis vão ao banco. O filtro é remontado a cada
+ * {@code reconstrucaoMs}.
+ *
+ * Uma inserção de outro processo que ainda não tinha sido confirmada quando o
+ * maior ID foi lido, com ID menor que ele, só entra no filtro na próxima
+ * remontagem. A restrição UNIQUE de cpf continua sendo a garantia final na
+ * inserção.
+ */
+class FiltroCpfs {
+
+    private record Retrato(FiltroBloom filtro, int maiorId) {
+    }
+
+    private final AlunoDao alunoDao;
+    private final boolean habilitado;
+    private final double taxaFalsoPositivo;
+    private final long reconstrucaoNanos;
+
+    // Filtro e o maior idAluno já incluído nele, trocados juntos
+    private volatile Retrato retrato;
+    private volatile long construidoEm;
+    // Inclusão dos alunos novos e troca do retrato não se misturam
+    private final Object travaNovos = new Object();
+    // CPFs registrados durante uma reconstrução, aplicados ao novo filtro no final
+    private volatile Queue<String> pendentes;
+
+    FiltroCpfs(AlunoDao alunoDao, boolean habilitado, double taxaFalsoPositivo, long reconstrucaoMs) {
+        this.alunoDao = alunoDao;
+        this.habilitado = habilitado;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.reconstrucaoNanos = reconstrucaoMs * 1_000_000;
+    }
+
+    /**
+     * Retorna quais dos CPFs já estão cadastrados (salvo a janela descrita na
+     * documentação da classe).
+     *
+     * @param cpfs Os CPFs candidatos.
+     * @return Os CPFs que já existem no banco.
+     * @throws SQLException Se a consulta ou a montagem do filtro falhar.
+     */
+    Set<String> existentes(Collection<String> cpfs) throws SQLException {
+        Set<String> candidatos = new LinkedHashSet<>(cpfs);
+        candidatos.remove(null);
+        if (habilitado && !candidatos.isEmpty()) {
+            retratoAtualizado();
+            FiltroBloom filtro = incluirNovos().filtro();
+            List<String> talvez = new ArrayList<>();
+            for (String cpf : candidatos) {
+                if (filtro.podeConter(cpf)) {
+                    talvez.add(cpf);
+                }
+            }
+            return alunoDao.buscarCpfsExistentes(talvez);
+        }
+        return alunoDao.buscarCpfsExistentes(candidatos);
+    }
+
+    /**
+     * Informa CPFs recém-inseridos (após o commit), para que o filtro continue
+     * completo.
+     */
+    void registrar(Collection<String> cpfs) {
+        if (!habilitado) {
+            return;
+        }
+        // Lê "pendentes" antes de "retrato": se a reconstrução já terminou, o
+        // filtro lido é o novo
+        Queue<String> fila = pendentes;
+        if (fila != null) {
+            fila.addAll(cpfs);
+        }
+        Retrato atual = retrato;
+        if (atual != null) {
+            cpfs.forEach(atual.filtro()::adicionar);
+        }
+    }
+
+    private Retrato retratoAtualizado() throws SQLException {
+        Retrato atual = retrato;
+        if (atual == null || atual.filtro().saturado() || System.nanoTime() - construidoEm > reconstrucaoNanos) {
+            atual = reconstruir(atual);
+        }
+        return atual;
+    }
+
+    /**
+     * Inclui no filtro os CPFs dos alunos inseridos depois do maior ID já
+     * incluído, por qualquer processo.
+     */
+    private Retrato incluirNovos() throws SQLException {
+        synchronized (travaNovos) {
+            Retrato atual = retrato;
+            int maiorId = alunoDao.lerCpfsApos(atual.maiorId(), atual.filtro()::adicionar);
+            if (maiorId != atual.maiorId()) {
+                atual = new Retrato(atual.filtro(), maiorId);
+                retrato = atual;
+            }
+            return atual;
+        }
+    }
+
+    /**
+     * Monta um novo filtro a partir dos CPFs do banco, com folga para o dobro
+     * dos alunos atuais. Enquanto isso, o filtro anterior continua em uso.
+     */
+    private synchronized Retrato reconstruir(Retrato visto) throws SQLException {
+        if (retrato != visto) {
+            return retrato; // Outra thread já reconstruiu
+        }
+        Queue<String> fila = new ConcurrentLinkedQueue<>();
+        pendentes = fila;
+        try {
+            // Lido antes dos CPFs: o que for inserido durante a leitura fica acima dele
+            int maiorId = alunoDao.buscarMaiorId();
+            long total = visto == null ? 0 : visto.filtro().getElementos();
+            FiltroBloom novo = new FiltroBloom(Math.max(10_000, total * 2), taxaFalsoPositivo);
+            try (Stream<String> cpfs = alunoDao.streamCpfs()) {
+                cpfs.forEach(novo::adicionar);
+            }
+            if (novo.saturado()) {
+                // A tabela cresceu mais que o previsto: dimensiona pelo total lido
+                FiltroBloom maior = new FiltroBloom(novo.getElementos() * 2, taxaFalsoPositivo);
+                try (Stream<String> cpfs = alunoDao.streamCpfs()) {
+                    cpfs.forEach(maior::adicionar);
+                }
+                novo = maior;
+            }
+            Retrato novoRetrato = new Retrato(novo, maiorId);
+            synchronized (travaNovos) {
+                retrato = novoRetrato;
+            }
+            construidoEm = System.nanoTime();
+            fila.forEach(novo::adicionar);
+            return novoRetrato;
+        } finally {
+            pendentes = null;
+        }
+    }
+}
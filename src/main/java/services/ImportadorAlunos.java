@@ -0,0 +1,382 @@
+package services;
+
+import dao.AlunoDao;
+import exceptions.ErroSistemaException;
+import model.Aluno;
+import model.ResultadoLote;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Importa alunos de um arquivo CSV no mesmo layout da exportação
+ * ({@code idCurso;nomeCurso;idAluno;nomeAluno;cpf;telefone;email;dataNascimento}).
+ *
+ * O arquivo é processado em estágios ligados por filas limitadas, o que mantém
+ * o uso de memória baixo e constante mesmo para arquivos com milhões de linhas:
+ * <ol>
+ * <li>leitura e conversão de cada linha (1 thread);</li>
+ * <li>validação dos campos com as regras do {@link AlunoService} (uma thread
+ * por processador);</li>
+ * <li>descarte de CPFs já cadastrados, verificados em blocos por
+ * {@link AlunoService#cpfsJaCadastrados}, e de CPFs repetidos dentro do mesmo
+ * bloco (1 thread); repetições em blocos diferentes são barradas pela
+ * restrição UNIQUE de cpf na inserção;</li>
+ * <li>rejeição antecipada de linhas de cursos inativos ou sem vagas, por uma
+ * estimativa relida a cada {@value #VALIDADE_VAGAS_MS} ms (1 thread);</li>
+ * <li>inserção em lote pelo {@link AlunoDao}, que reserva as vagas na
+ * transação de cada lote e rejeita as linhas que não couberem (1 thread).</li>
+ * </ol>
+ * Se um estágio for mais lento, as filas enchem e os anteriores aguardam. As
+ * linhas rejeitadas são gravadas no relatório de erros com o número da linha e
+ * o motivo. As colunas {@code nomeCurso} e {@code idAluno} são ignoradas.
+ */
+public class ImportadorAlunos {
+
+    /**
+     * Totais de uma importação.
+     */
+    public record Resumo(long linhasLidas, long importados, long rejeitados, long duracaoMs) {
+    }
+
+    private record Linha(long numero, Aluno aluno) {
+    }
+
+    private static final Linha FIM = new Linha(-1, null);
+    private static final List<Linha> LOTE_FIM = new ArrayList<>();
+    private static final int COLUNAS = 8;
+    static final long VALIDADE_VAGAS_MS = 5_000;
+
+    private final AlunoService alunoService;
+    private final AlunoDao alunoDao;
+    private final int tamanhoLote;
+    private final int validadores;
+
+    private final AtomicLong linhasLidas = new AtomicLong();
+    private final AtomicLong importados = new AtomicLong();
+    private final AtomicLong rejeitados = new AtomicLong();
+    private BufferedWriter relatorio;
+
+    ImportadorAlunos(AlunoService alunoService, AlunoDao alunoDao, int tamanhoLote, int validadores) {
+        if (tamanhoLote < 1 || validadores < 1) {
+            throw new IllegalArgumentException("Tamanho de lote e número de validadores devem ser no mínimo 1.");
+        }
+        this.alunoService = alunoService;
+        this.alunoDao = alunoDao;
+        this.tamanhoLote = tamanhoLote;
+        this.validadores = validadores;
+    }
+
+    /**
+     * Executa a importação.
+     *
+     * @param arquivoCsv     O arquivo CSV de entrada (UTF-8).
+     * @param relatorioErros O arquivo onde as linhas rejeitadas serão
+     *                       registradas ({@code linha;erro}).
+     * @return Os totais da importação.
+     * @throws IOException          Se houver erro de leitura ou escrita.
+     * @throws ErroSistemaException Se algum estágio falhar (ex: banco de dados
+     *                              indisponível). Os lotes já gravados são
+     *                              mantidos.
+     */
+    public Resumo importar(Path arquivoCsv, Path relatorioErros) throws IOException {
+        long inicio = System.currentTimeMillis();
+        BlockingQueue<Linha> filaValidacao = new ArrayBlockingQueue<>(tamanhoLote * 2);
+        BlockingQueue<Linha> filaDuplicidade = new ArrayBlockingQueue<>(tamanhoLote * 2);
+        BlockingQueue<Linha> filaCapacidade = new ArrayBlockingQueue<>(tamanhoLote * 2);
+        BlockingQueue<List<Linha>> filaInsercao = new ArrayBlockingQueue<>(2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(validadores + 4);
+        try (BufferedWriter writer = Files.newBufferedWriter(relatorioErros, StandardCharsets.UTF_8)) {
+            this.relatorio = writer;
+            writer.write("linha;erro");
+            writer.newLine();
+
+            ExecutorCompletionService<Void> estagios = new ExecutorCompletionService<>(executor);
+            List<Callable<Void>> tarefas = new ArrayList<>();
+            tarefas.add(() -> ler(arquivoCsv, filaValidacao));
+            AtomicInteger validadoresAtivos = new AtomicInteger(validadores);
+            for (int i = 0; i < validadores; i++) {
+                tarefas.add(() -> validar(filaValidacao, filaDuplicidade, validadoresAtivos));
+            }
+            tarefas.add(() -> deduplicar(filaDuplicidade, filaCapacidade));
+            tarefas.add(() -> verificarVagas(filaCapacidade, filaInsercao));
+            tarefas.add(() -> inserir(filaInsercao));
+            tarefas.forEach(estagios::submit);
+
+            for (int i = 0; i < tarefas.size(); i++) {
+                try {
+                    estagios.take().get();
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    Throwable causa = e.getCause();
+                    if (causa instanceof IOException io) {
+                        throw io;
+                    }
+                    throw new ErroSistemaException("Falha na importação de alunos: " + causa.getMessage(), causa);
+                } catch (InterruptedException e) {
+                    executor.shutdownNow();
+                    Thread.currentThread().interrupt();
+                    throw new ErroSistemaException("Importação de alunos interrompida.", e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            this.relatorio = null;
+        }
+        return new Resumo(linhasLidas.get(), importados.get(), rejeitados.get(),
+                System.currentTimeMillis() - inicio);
+    }
+
+    // --- Estágios ---
+
+    private Void ler(Path arquivoCsv, BlockingQueue<Linha> saida) throws IOException, InterruptedException {
+        try (BufferedReader reader = Files.newBufferedReader(arquivoCsv, StandardCharsets.UTF_8)) {
+            String texto;
+            long numero = 0;
+            while ((texto = reader.readLine()) != null) {
+                numero++;
+                if (numero == 1 && texto.startsWith("\uFEFF")) {
+                    texto = texto.substring(1); // BOM das planilhas exportadas
+                }
+                if (texto.isBlank() || (numero == 1 && texto.startsWith("idCurso"))) {
+                    continue; // Linha vazia ou cabeçalho
+                }
+                linhasLidas.incrementAndGet();
+                try {
+                    saida.put(new Linha(numero, converter(texto)));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    rejeitar(numero, e.getMessage());
+                }
+            }
+        } finally {
+            for (int i = 0; i < validadores; i++) {
+                saida.put(FIM);
+            }
+        }
+        return null;
+    }
+
+    private Void validar(BlockingQueue<Linha> entrada, BlockingQueue<Linha> saida, AtomicInteger ativos)
+            throws IOException, InterruptedException {
+        try {
+            Linha linha;
+            while ((linha = entrada.take()) != FIM) {
+                Aluno a = linha.aluno();
+                List<String> erros = alunoService.validarCampos(a.getNome(), a.getCpf(), a.getTelefone(),
+                        a.getEmail(), a.getDataNascimento());
+                if (erros.isEmpty()) {
+                    saida.put(linha);
+                } else {
+                    rejeitar(linha.numero(), String.join(" ", erros));
+                }
+            }
+        } finally {
+            // O último validador a terminar avisa o próximo estágio
+            if (ativos.decrementAndGet() == 0) {
+                saida.put(FIM);
+            }
+        }
+        return null;
+    }
+
+    private Void deduplicar(BlockingQueue<Linha> entrada, BlockingQueue<Linha> saida)
+            throws IOException, InterruptedException {
+        List<Linha> bloco = new ArrayList<>(tamanhoLote);
+        try {
+            Linha linha;
+            while ((linha = entrada.take()) != FIM) {
+                bloco.add(linha);
+                if (bloco.size() == tamanhoLote) {
+                    encaminharSemDuplicados(bloco, saida);
+                    bloco.clear();
+                }
+            }
+            encaminharSemDuplicados(bloco, saida);
+        } finally {
+            saida.put(FIM);
+        }
+        return null;
+    }
+
+    private void encaminharSemDuplicados(List<Linha> bloco, BlockingQueue<Linha> saida)
+            throws IOException, InterruptedException {
+        if (bloco.isEmpty()) {
+            return;
+        }
+        List<String> cpfs = new ArrayList<>(bloco.size());
+        for (Linha linha : bloco) {
+            cpfs.add(linha.aluno().getCpf());
+        }
+        Set<String> cadastrados = alunoService.cpfsJaCadastrados(cpfs);
+        // Só as repetições do bloco: um conjunto de todo o arquivo cresceria com ele
+        Set<String> aceitos = new HashSet<>(bloco.size() * 2);
+        for (Linha linha : bloco) {
+            String cpf = linha.aluno().getCpf();
+            if (cadastrados.contains(cpf)) {
+                rejeitar(linha.numero(), "CPF já cadastrado.");
+            } else if (!aceitos.add(cpf)) {
+                rejeitar(linha.numero(), "CPF repetido no arquivo.");
+            } else {
+                saida.put(linha);
+            }
+        }
+    }
+
+    /**
+     * Rejeita cedo as linhas de cursos que, pela estimativa local, estão
+     * inativos ou cheios, para não levá-las até o banco. A estimativa de cada
+     * curso é relida periodicamente, já que outras matrículas mudam as vagas
+     * durante uma importação longa; ela não garante o limite, que é conferido
+     * pela inserção em lote.
+     */
+    private Void verificarVagas(BlockingQueue<Linha> entrada, BlockingQueue<List<Linha>> saida)
+            throws IOException, InterruptedException, SQLException {
+        long validadeNanos = VALIDADE_VAGAS_MS * 1_000_000;
+        Map<Integer, Integer> vagasPorCurso = new HashMap<>();
+        Map<Integer, Long> lidasEm = new HashMap<>();
+        List<Linha> lote = new ArrayList<>(tamanhoLote);
+        try {
+            Linha linha;
+            while ((linha = entrada.take()) != FIM) {
+                int idCurso = linha.aluno().getIdCurso();
+                long agora = System.nanoTime();
+                Long lidaEm = lidasEm.get(idCurso);
+                if (lidaEm == null || agora - lidaEm > validadeNanos) {
+                    vagasPorCurso.remove(idCurso); // Relê do banco
+                    lidasEm.put(idCurso, agora);
+                }
+                int vagas = alunoService.vagasDisponiveis(idCurso, vagasPorCurso);
+                if (vagas < 0) {
+                    rejeitar(linha.numero(), "Curso " + idCurso + " não existe ou não está ativo.");
+                } else if (vagas == 0) {
+                    rejeitar(linha.numero(), "O curso " + idCurso + " já está cheio.");
+                } else {
+                    vagasPorCurso.put(idCurso, vagas - 1);
+                    lote.add(linha);
+                    if (lote.size() == tamanhoLote) {
+                        saida.put(lote);
+                        lote = new ArrayList<>(tamanhoLote);
+                    }
+                }
+            }
+            if (!lote.isEmpty()) {
+                saida.put(lote);
+            }
+        } finally {
+            saida.put(LOTE_FIM);
+        }
+        return null;
+    }
+
+    private Void inserir(BlockingQueue<List<Linha>> entrada) throws IOException, InterruptedException, SQLException {
+        List<Linha> lote;
+        while ((lote = entrada.take()) != LOTE_FIM) {
+            List<Aluno> alunos = new ArrayList<>(lote.size());
+            for (Linha linha : lote) {
+                alunos.add(linha.aluno());
+            }
+            ResultadoLote<Aluno> resultado = alunoDao.adicionarEmLote(alunos, tamanhoLote);
+            alunoService.registrarCpfs(resultado.getSucesso());
+            importados.addAndGet(resultado.getSucesso().size());
+            for (ResultadoLote.Falha<Aluno> falha : resultado.getFalhas()) {
+                rejeitar(lote.get(falha.indice()).numero(), falha.motivo());
+            }
+        }
+        return null;
+    }
+
+    // --- Auxiliares ---
+
+    /**
+     * Converte uma linha do CSV em um Aluno (ainda não validado).
+     *
+     * @throws IllegalArgumentException Se a linha não tiver o número de colunas
+     *                                  esperado ou o ID do curso não for numérico.
+     * @throws DateTimeParseException   Se a data não estiver no formato
+     *                                  AAAA-MM-DD.
+     */
+    private Aluno converter(String texto) {
+        List<String> campos = separarCampos(texto);
+        if (campos.size() != COLUNAS) {
+            throw new IllegalArgumentException(
+                    "Esperadas " + COLUNAS + " colunas separadas por ';', encontradas " + campos.size() + ".");
+        }
+        int idCurso;
+        try {
+            idCurso = Integer.parseInt(campos.get(0).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("ID do curso inválido: '" + campos.get(0) + "'.");
+        }
+        LocalDate dataNascimento = LocalDate.parse(campos.get(7).trim());
+        return new Aluno(idCurso, campos.get(3).trim(), campos.get(4).trim(), campos.get(5).trim(),
+                campos.get(6).trim(), dataNascimento);
+    }
+
+    /**
+     * Separa os campos de uma linha por ';', aceitando campos entre aspas
+     * duplas (com {@code ""} representando uma aspa).
+     */
+    private static List<String> separarCampos(String linha) {
+        List<String> campos = new ArrayList<>(COLUNAS);
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"') {
+                    if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                        atual.append('"');
+                        i++;
+                    } else {
+                        entreAspas = false;
+                    }
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ';') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private void rejeitar(long numeroLinha, String motivo) throws IOException {
+        rejeitados.incrementAndGet();
+        String texto = motivo == null ? "Erro desconhecido." : motivo.replace('\n', ' ').replace('\r', ' ');
+        synchronized (this) {
+            relatorio.write(Long.toString(numeroLinha));
+            relatorio.write(';');
+            relatorio.write(texto);
+            relatorio.newLine();
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package services;
+
+import model.Aluno;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória para a busca de alunos enquanto o usuário digita.
+ *
+ * Cada campo pesquisável tem um mapa ordenado de chave para IDs, então uma
+ * busca por prefixo é uma faixa do mapa:
+ * <ul>
+ * <li>nome: cada palavra, sem acentos e em minúsculas ("jo" encontra "João
+ * da Silva"; "silva jo" também);</li>
+ * <li>CPF e telefone: só os dígitos, por prefixo;</li>
+ * <li>email: em minúsculas, por prefixo.</li>
+ * </ul>
+ * A busca para ao atingir o limite de resultados, então o custo depende do
+ * limite e não do total de alunos.
+ *
+ * O índice é montado lendo os alunos em stream e mantido em dia pelas
+ * notificações do {@link AlunoService} ({@link #aplicar}). Alterações feitas
+ * por outro processo (ou a exclusão em cascata dos alunos de um curso) só
+ * aparecem na próxima reconstrução, feita em segundo plano a cada
+ * {@code reconstrucaoMs}; enquanto isso, o índice anterior continua em uso.
+ */
+class IndiceBuscaAlunos {
+
+    /**
+     * Abre a leitura de todos os alunos para montar o índice.
+     */
+    @FunctionalInterface
+    interface Fonte {
+        Stream<Aluno> abrir() throws SQLException;
+    }
+
+    /**
+     * Relê um aluno quando a notificação traz apenas o ID.
+     */
+    @FunctionalInterface
+    interface Recarga {
+        Optional<Aluno> buscar(int id) throws SQLException;
+    }
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern NUMERICO = Pattern.compile("[\\d.\\-()/\\s]+");
+
+    private final Fonte fonte;
+    private final Recarga recarga;
+    private final long reconstrucaoNanos;
+    private final Object lockEscrita = new Object();
+    private final AtomicBoolean reconstruindo = new AtomicBoolean();
+
+    private volatile Dados dados;
+    private volatile long construidoEm;
+    // Alterações recebidas durante uma reconstrução, reaplicadas no novo índice
+    private volatile Queue<Operacao> pendentes;
+
+    IndiceBuscaAlunos(Fonte fonte, Recarga recarga, long reconstrucaoMs) {
+        this.fonte = fonte;
+        this.recarga = recarga;
+        this.reconstrucaoNanos = reconstrucaoMs * 1_000_000;
+    }
+
+    /**
+     * Busca alunos cujo nome, CPF, email ou telefone começa com o termo.
+     * Termos só com dígitos (e pontuação de máscara) são procurados em CPF e
+     * telefone; termos com "@", em email; os demais, nas palavras do nome e
+     * no email. Com várias palavras, todas precisam casar com o nome.
+     *
+     * @param termo  O texto digitado.
+     * @param limite Número máximo de resultados.
+     * @return Cópias dos alunos encontrados.
+     * @throws SQLException Se o índice precisar ser montado e a leitura
+     *                      falhar.
+     */
+    List<Aluno> buscar(String termo, int limite) throws SQLException {
+        Consulta consulta = Consulta.de(termo);
+        if (consulta == null || limite < 1) {
+            return List.of();
+        }
+        Dados atual = dadosAtualizados();
+        Set<Integer> ids = new LinkedHashSet<>();
+        if (consulta.digitos() != null) {
+            atual.coletar(atual.cpfs, consulta.digitos(), consulta, ids, limite);
+            atual.coletar(atual.telefones, consulta.digitos(), consulta, ids, limite);
+        } else if (consulta.email() != null) {
+            atual.coletar(atual.emails, consulta.email(), consulta, ids, limite);
+        } else {
+            atual.coletar(atual.palavras, consulta.guia(), consulta, ids, limite);
+            if (consulta.palavras().length == 1) {
+                atual.coletar(atual.emails, consulta.guia(), consulta, ids, limite);
+            }
+        }
+        List<Aluno> alunos = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Entrada entrada = atual.porId.get(id);
+            if (entrada != null) {
+                alunos.add(copiar(entrada.aluno()));
+            }
+        }
+        return alunos;
+    }
+
+    /**
+     * @return true se o aluno seria encontrado pela busca do termo.
+     */
+    static boolean corresponde(Aluno aluno, String termo) {
+        Consulta consulta = Consulta.de(termo);
+        return consulta != null && Entrada.de(aluno).corresponde(consulta);
+    }
+
+    /**
+     * Aplica ao índice uma alteração publicada pelo {@link AlunoService}.
+     */
+    void aplicar(Alteracao<Aluno> alteracao) {
+        if (dados == null) {
+            return; // Ainda não montado; a montagem lerá o estado atual
+        }
+        switch (alteracao.tipo()) {
+            case VARIOS -> reconstruirEmSegundoPlano();
+            case REMOVIDO -> gravar(new Operacao(alteracao.id(), null));
+            default -> {
+                Aluno aluno = alteracao.entidade();
+                if (aluno != null) {
+                    gravar(new Operacao(alteracao.id(), copiar(aluno)));
+                    return;
+                }
+                // Mudança de status em lote: a notificação traz só o ID
+                try {
+                    gravar(new Operacao(alteracao.id(), recarga.buscar(alteracao.id()).orElse(null)));
+                } catch (SQLException e) {
+                    System.err.println("Erro ao atualizar o índice de busca de alunos: " + e.getMessage());
+                    construidoEm = 0; // Força a reconstrução na próxima busca
+                }
+            }
+        }
+    }
+
+    private void gravar(Operacao operacao) {
+        synchronized (lockEscrita) {
+            Queue<Operacao> fila = pendentes;
+            if (fila != null) {
+                fila.add(operacao);
+            }
+            operacao.aplicarEm(dados);
+        }
+    }
+
+    private Dados dadosAtualizados() throws SQLException {
+        Dados atual = dados;
+        if (atual == null) {
+            return reconstruir(null);
+        }
+        if (System.nanoTime() - construidoEm > reconstrucaoNanos) {
+            reconstruirEmSegundoPlano();
+        }
+        return atual;
+    }
+
+    /**
+     * Reconstrói o índice em uma thread virtual; as buscas continuam usando o
+     * índice atual até a troca.
+     */
+    private void reconstruirEmSegundoPlano() {
+        if (!reconstruindo.compareAndSet(false, true)) {
+            return;
+        }
+        Dados visto = dados;
+        Thread.ofVirtual().name("sgca-indice-busca").start(() -> {
+            try {
+                reconstruir(visto);
+            } catch (SQLException e) {
+                System.err.println("Erro ao reconstruir o índice de busca de alunos: " + e.getMessage());
+            } finally {
+                reconstruindo.set(false);
+            }
+        });
+    }
+
+    /**
+     * Monta um novo índice a partir do banco e o coloca no lugar do anterior.
+     * Alterações recebidas durante a leitura são reaplicadas, na ordem, no
+     * novo índice antes da troca.
+     */
+    private synchronized Dados reconstruir(Dados visto) throws SQLException {
+        if (dados != visto) {
+            return dados; // Outra thread já reconstruiu
+        }
+        Queue<Operacao> fila = new ConcurrentLinkedQueue<>();
+        synchronized (lockEscrita) {
+            pendentes = fila;
+        }
+        try {
+            Dados novo = new Dados();
+            try (Stream<Aluno> alunos = fonte.abrir()) {
+                alunos.forEach(aluno -> novo.adicionar(Entrada.de(aluno)));
+            }
+            synchronized (lockEscrita) {
+                fila.forEach(operacao -> operacao.aplicarEm(novo));
+                dados = novo;
+                construidoEm = System.nanoTime();
+            }
+            return novo;
+        } finally {
+            synchronized (lockEscrita) {
+                pendentes = null;
+            }
+        }
+    }
+
+    private static Aluno copiar(Aluno aluno) {
+        return new Aluno(aluno.getIdAluno(), aluno.getIdCurso(), aluno.getNome(), aluno.getCpf(),
+                aluno.getTelefone(), aluno.getEmail(), aluno.getDataNascimento(), aluno.isAtivo());
+    }
+
+    private static String[] palavrasDe(String texto) {
+        return Arrays.stream(SEPARADORES.split(Textos.normalizar(texto)))
+                .filter(p -> !p.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Inclusão/edição ({@code aluno} preenchido) ou remoção ({@code aluno}
+     * null) de um aluno no índice.
+     */
+    private record Operacao(int id, Aluno aluno) {
+
+        void aplicarEm(Dados destino) {
+            if (aluno == null) {
+                destino.remover(id);
+            } else {
+                destino.adicionar(Entrada.de(aluno));
+            }
+        }
+    }
+
+    /**
+     * O termo de busca já normalizado. Exatamente um entre {@code digitos},
+     * {@code email} e {@code palavras} define o tipo da busca.
+     *
+     * @param guia A palavra mais longa, usada para percorrer o índice de nomes
+     *             (costuma ser a mais seletiva).
+     */
+    private record Consulta(String digitos, String email, String[] palavras, String guia) {
+
+        static Consulta de(String termo) {
+            if (termo == null || termo.isBlank()) {
+                return null;
+            }
+            String t = termo.trim();
+            if (NUMERICO.matcher(t).matches()) {
+                String digitos = Textos.digitos(t);
+                return digitos.isEmpty() ? null : new Consulta(digitos, null, null, null);
+            }
+            if (t.indexOf('@') >= 0) {
+                return new Consulta(null, Textos.normalizar(t), null, null);
+            }
+            String[] palavras = palavrasDe(t);
+            if (palavras.length == 0) {
+                return null;
+            }
+            String guia = palavras[0];
+            for (String p : palavras) {
+                if (p.length() > guia.length()) {
+                    guia = p;
+                }
+            }
+            return new Consulta(null, null, palavras, guia);
+        }
+    }
+
+    private record Entrada(Aluno aluno, String[] palavras, String cpf, String email, String telefone) {
+
+        static Entrada de(Aluno aluno) {
+            return new Entrada(aluno, palavrasDe(Objects.toString(aluno.getNome(), "")),
+                    Textos.digitos(Objects.toString(aluno.getCpf(), "")),
+                    Textos.normalizar(Objects.toString(aluno.getEmail(), "")),
+                    Textos.digitos(Objects.toString(aluno.getTelefone(), "")));
+        }
+
+        boolean corresponde(Consulta consulta) {
+            if (consulta.digitos() != null) {
+                return cpf.startsWith(consulta.digitos()) || telefone.startsWith(consulta.digitos());
+            }
+            if (consulta.email() != null) {
+                return email.startsWith(consulta.email());
+            }
+            if (consulta.palavras().length == 1 && email.startsWith(consulta.guia())) {
+                return true;
+            }
+            for (String procurada : consulta.palavras()) {
+                if (!temPalavraComPrefixo(procurada)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean temPalavraComPrefixo(String prefixo) {
+            for (String palavra : palavras) {
+                if (palavra.startsWith(prefixo)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Os mapas do índice. Leituras não bloqueiam; escritas são serializadas
+     * por {@code lockEscrita}.
+     */
+    private static final class Dados {
+
+        final ConcurrentHashMap<Integer, Entrada> porId = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<String, Set<Integer>> palavras = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<String, Set<Integer>> cpfs = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<String, Set<Integer>> emails = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<String, Set<Integer>> telefones = new ConcurrentSkipListMap<>();
+
+        void adicionar(Entrada entrada) {
+            int id = entrada.aluno().getIdAluno();
+            remover(id);
+            porId.put(id, entrada);
+            for (String palavra : entrada.palavras()) {
+                incluir(palavras, palavra, id);
+            }
+            incluir(cpfs, entrada.cpf(), id);
+            incluir(emails, entrada.email(), id);
+            incluir(telefones, entrada.telefone(), id);
+        }
+
+        void remover(int id) {
+            Entrada antiga = porId.remove(id);
+            if (antiga == null) {
+                return;
+            }
+            for (String palavra : antiga.palavras()) {
+                excluir(palavras, palavra, id);
+            }
+            excluir(cpfs, antiga.cpf(), id);
+            excluir(emails, antiga.email(), id);
+            excluir(telefones, antiga.telefone(), id);
+        }
+
+        /**
+         * Percorre as chaves que começam com o prefixo e adiciona os IDs
+         * cujas entradas correspondem à consulta, até o limite.
+         */
+        void coletar(ConcurrentSkipListMap<String, Set<Integer>> mapa, String prefixo, Consulta consulta,
+                Set<Integer> ids, int limite) {
+            if (ids.size() >= limite) {
+                return;
+            }
+            for (Set<Integer> comChave : mapa.subMap(prefixo, true, prefixo + Character.MAX_VALUE, true).values()) {
+                for (Integer id : comChave) {
+                    Entrada entrada = porId.get(id);
+                    if (entrada != null && entrada.corresponde(consulta) && ids.add(id) && ids.size() >= limite) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private static void incluir(ConcurrentSkipListMap<String, Set<Integer>> mapa, String chave, int id) {
+            if (!chave.isEmpty()) {
+                mapa.computeIfAbsent(chave, c -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        private static void excluir(ConcurrentSkipListMap<String, Set<Integer>> mapa, String chave, int id) {
+            mapa.computeIfPresent(chave, (c, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+}
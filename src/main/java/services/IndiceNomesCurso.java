@@ -0,0 +1,125 @@
+package services;
+
+import dao.CursoDao;
+import model.Curso;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice em memória de nome de curso para ID.
+ *
+ * O índice é um mapa imutável com todos os cursos, substituído por inteiro a
+ * cada reconstrução: quem está lendo vê o índice antigo ou o novo, nunca um
+ * meio-termo. Como os nomes são comparados sem diferenciar maiúsculas nem
+ * acentos (como na collation padrão do MySQL), "Lógica" e "logica" levam ao
+ * mesmo curso.
+ *
+ * Um nome ausente do índice é confirmado no banco uma vez (o curso pode ter
+ * sido criado por outra instância) e o resultado negativo é guardado por
+ * {@code ttlNegativoMs}, para que buscas repetidas por um nome inexistente não
+ * voltem ao banco. Cabem no máximo {@code maxNegativos} nomes: com o limite
+ * atingido, os vencidos são descartados e, se ainda não houver espaço, o novo
+ * nome não é guardado (a próxima busca por ele vai ao banco de novo).
+ */
+class IndiceNomesCurso {
+
+    private final CursoDao cursoDao;
+    private final int maxNegativos;
+    private final long ttlNegativoNanos;
+    private final ConcurrentHashMap<String, Long> negativos = new ConcurrentHashMap<>();
+    private volatile Map<String, Integer> indice;
+
+    IndiceNomesCurso(CursoDao cursoDao, int maxNegativos, long ttlNegativoMs) {
+        this.cursoDao = cursoDao;
+        this.maxNegativos = maxNegativos;
+        this.ttlNegativoNanos = ttlNegativoMs * 1_000_000;
+    }
+
+    /**
+     * Busca o ID de um curso pelo nome.
+     *
+     * @return O ID, ou vazio se não houver curso com esse nome.
+     * @throws SQLException Se o índice precisar ser construído ou o nome
+     *                      confirmado no banco e a consulta falhar.
+     */
+    OptionalInt buscarId(String nome) throws SQLException {
+        if (nome == null) {
+            return OptionalInt.empty();
+        }
+        String chave = Textos.normalizar(nome);
+        Map<String, Integer> atual = indice;
+        if (atual == null) {
+            atual = reconstruir();
+        }
+        Integer id = atual.get(chave);
+        if (id != null) {
+            return OptionalInt.of(id);
+        }
+
+        Long expiraEm = negativos.get(chave);
+        if (expiraEm != null) {
+            if (System.nanoTime() - expiraEm < 0) {
+                return OptionalInt.empty();
+            }
+            negativos.remove(chave, expiraEm);
+        }
+        OptionalInt noBanco = cursoDao.buscarIdPorNome(nome.trim());
+        if (noBanco.isPresent()) {
+            reconstruir(); // Curso criado fora deste serviço
+        } else {
+            guardarNegativo(chave);
+        }
+        return noBanco;
+    }
+
+    private void guardarNegativo(String chave) {
+        long agora = System.nanoTime();
+        if (negativos.size() >= maxNegativos) {
+            negativos.values().removeIf(expiraEm -> agora - expiraEm >= 0);
+            if (negativos.size() >= maxNegativos) {
+                return;
+            }
+        }
+        negativos.put(chave, agora + ttlNegativoNanos);
+    }
+
+    /**
+     * Relê todos os cursos e substitui o índice atomicamente. Também descarta
+     * os resultados negativos, que podem ter deixado de valer.
+     *
+     * @return O novo índice.
+     * @throws SQLException Se a leitura dos cursos falhar (o índice anterior é
+     *                      mantido).
+     */
+    synchronized Map<String, Integer> reconstruir() throws SQLException {
+        Map<String, Integer> novo = new HashMap<>();
+        for (Curso curso : cursoDao.buscarTodos()) {
+            novo.put(Textos.normalizar(curso.getNome()), curso.getIdCurso());
+        }
+        Map<String, Integer> imutavel = Map.copyOf(novo);
+        indice = imutavel;
+        negativos.clear();
+        return imutavel;
+    }
+
+    /**
+     * Reconstrói o índice após uma alteração de curso. Se a leitura falhar, o
+     * índice é descartado e reconstruído na próxima busca, em vez de seguir
+     * desatualizado.
+     */
+    void reconstruirOuInvalidar() {
+        try {
+            reconstruir();
+        } catch (SQLException e) {
+            synchronized (this) {
+                indice = null;
+                negativos.clear();
+            }
+            System.err.println("Erro ao reconstruir o índice de nomes de curso: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Lista de ouvintes de alterações de um serviço.
+ *
+ * Os ouvintes são chamados na thread que fez a alteração, logo após a
+ * gravação; quem precisa atualizar a interface deve repassar a notificação
+ * para a thread de eventos do Swing. Um ouvinte que lança exceção não impede
+ * os demais de serem chamados nem desfaz a alteração.
+ *
+ * @param <T> O tipo do registro alterado.
+ */
+class NotificadorAlteracoes<T> {
+
+    /**
+     * Acima deste número de registros com status alterado, é publicada uma
+     * única {@link Alteracao#varios()} em vez de uma alteração por ID: cada
+     * alteração individual faz os ouvintes relerem o registro do banco.
+     */
+    static final int MAX_ALTERACOES_STATUS_INDIVIDUAIS = 100;
+
+    private final List<Consumer<Alteracao<T>>> ouvintes = new CopyOnWriteArrayList<>();
+
+    void adicionar(Consumer<Alteracao<T>> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    void remover(Consumer<Alteracao<T>> ouvinte) {
+        ouvintes.remove(ouvinte);
+    }
+
+    void publicar(Alteracao<T> alteracao) {
+        for (Consumer<Alteracao<T>> ouvinte : ouvintes) {
+            try {
+                ouvinte.accept(alteracao);
+            } catch (RuntimeException e) {
+                System.err.println("Erro em um ouvinte de alterações: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Publica a mudança de status dos registros que de fato mudaram.
+     *
+     * @param ids Os IDs alterados (vazio não publica nada).
+     */
+    void publicarStatus(Collection<Integer> ids) {
+        if (ids.size() > MAX_ALTERACOES_STATUS_INDIVIDUAIS) {
+            publicar(Alteracao.varios());
+            return;
+        }
+        for (Integer id : ids) {
+            publicar(Alteracao.statusAlterado(id, null));
+        }
+    }
+}
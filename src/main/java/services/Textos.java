@@ -0,0 +1,39 @@
+package services;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de textos para comparação e busca.
+ */
+final class Textos {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+
+    private Textos() {
+    }
+
+    /**
+     * Remove acentos, espaços das pontas e maiúsculas, como na comparação da
+     * collation padrão do MySQL: "Lógica " e "logica" ficam iguais.
+     */
+    static String normalizar(String texto) {
+        String semAcentos = ACENTOS.matcher(Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)).replaceAll("");
+        return semAcentos.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return Só os dígitos do texto (ex: CPF ou telefone com máscara).
+     */
+    static String digitos(String texto) {
+        StringBuilder sb = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
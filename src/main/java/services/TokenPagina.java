@@ -0,0 +1,110 @@
+package services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import model.Pagina;
+import model.enums.OrdemListagem;
+
+/**
+ * Codifica e decodifica o token de continuação das listagens paginadas.
+ *
+ * O token guarda a chave do último item entregue (ID e, na ordenação por nome,
+ * também o nome), permitindo que a próxima consulta continue a partir dele
+ * com {@code WHERE chave > ?} em vez de OFFSET.
+ *
+ * As buscas ordenadas por relevância não têm chave única para continuar, então
+ * o token delas guarda quantos resultados já foram entregues (deslocamento).
+ */
+final class TokenPagina {
+
+    /**
+     * Chave decodificada de um token. Para a primeira página, o ID é 0 e o
+     * nome é null.
+     */
+    record Chave(OrdemListagem ordem, int ultimoId, String ultimoNome) {
+    }
+
+    private static final String PREFIXO_RELEVANCIA = "RELEVANCIA|";
+
+    private TokenPagina() {
+    }
+
+    static Chave decodificar(String token, OrdemListagem ordem) {
+        if (token == null || token.isEmpty()) {
+            return new Chave(ordem, 0, null);
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = texto.split("\\|", 3);
+            OrdemListagem ordemToken = OrdemListagem.valueOf(partes[0]);
+            if (ordemToken != ordem) {
+                throw new IllegalArgumentException("Token de página gerado para outra ordenação.");
+            }
+            int id = Integer.parseInt(partes[1]);
+            String nome = ordem == OrdemListagem.NOME ? partes[2] : null;
+            return new Chave(ordem, id, nome);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Token de página inválido.", e);
+        }
+    }
+
+    static String codificar(OrdemListagem ordem, int ultimoId, String ultimoNome) {
+        String texto = ordem.name() + "|" + ultimoId + (ordem == OrdemListagem.NOME ? "|" + ultimoNome : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o token de uma busca ordenada por relevância.
+     *
+     * @return A quantidade de resultados já entregues (0 na primeira página).
+     */
+    static int decodificarDeslocamento(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0;
+        }
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!texto.startsWith(PREFIXO_RELEVANCIA)) {
+                throw new IllegalArgumentException("Token de página gerado para outra ordenação.");
+            }
+            int deslocamento = Integer.parseInt(texto.substring(PREFIXO_RELEVANCIA.length()));
+            if (deslocamento < 0) {
+                throw new IllegalArgumentException("Deslocamento negativo.");
+            }
+            return deslocamento;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Token de página inválido.", e);
+        }
+    }
+
+    /**
+     * Monta a página de uma busca por relevância, que deve ter buscado
+     * {@code tamanho + 1} linhas a partir de {@code deslocamento}.
+     */
+    static <T> Pagina<T> montarPorDeslocamento(List<T> linhas, int tamanho, int deslocamento) {
+        if (linhas.size() <= tamanho) {
+            return new Pagina<>(linhas, null);
+        }
+        String proxima = PREFIXO_RELEVANCIA + (deslocamento + tamanho);
+        return new Pagina<>(linhas.subList(0, tamanho),
+                Base64.getUrlEncoder().withoutPadding().encodeToString(proxima.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Monta a página a partir do resultado da consulta, que deve ter buscado
+     * {@code tamanho + 1} linhas: a linha extra só indica que há próxima página.
+     */
+    static <T> Pagina<T> montar(List<T> linhas, int tamanho, OrdemListagem ordem, ToIntFunction<T> id,
+            Function<T, String> nome) {
+        if (linhas.size() <= tamanho) {
+            return new Pagina<>(linhas, null);
+        }
+        List<T> itens = linhas.subList(0, tamanho);
+        T ultimo = itens.get(tamanho - 1);
+        return new Pagina<>(itens, codificar(ordem, id.applyAsInt(ultimo), nome.apply(ultimo)));
+    }
+}
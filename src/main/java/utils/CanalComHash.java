@@ -0,0 +1,69 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Canal de escrita que calcula o hash e conta os bytes do que passa por ele,
+ * para gerar o checksum de um arquivo na mesma passada em que é gravado.
+ */
+public class CanalComHash implements WritableByteChannel {
+
+    private final WritableByteChannel canal;
+    private final MessageDigest digest;
+    private long bytes;
+    private String hash;
+
+    /**
+     * @param canal     O canal de destino (fechado junto com este).
+     * @param algoritmo O algoritmo de hash (ex: "SHA-256").
+     * @throws IllegalArgumentException Se o algoritmo não estiver disponível.
+     */
+    public CanalComHash(WritableByteChannel canal, String algoritmo) {
+        this.canal = canal;
+        try {
+            this.digest = MessageDigest.getInstance(algoritmo);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Algoritmo de hash indisponível: " + algoritmo, e);
+        }
+    }
+
+    @Override
+    public int write(ByteBuffer origem) throws IOException {
+        ByteBuffer escritos = origem.duplicate();
+        int n = canal.write(origem);
+        escritos.limit(escritos.position() + n);
+        digest.update(escritos);
+        bytes += n;
+        return n;
+    }
+
+    /**
+     * @return O hash em hexadecimal de tudo o que foi escrito. Depois desta
+     *         chamada, novas escritas não alteram o valor.
+     */
+    public String getHashHex() {
+        if (hash == null) {
+            hash = HexFormat.of().formatHex(digest.digest());
+        }
+        return hash;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return canal.isOpen();
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
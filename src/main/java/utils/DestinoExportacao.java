@@ -0,0 +1,55 @@
+package utils;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Destino de uma exportação em stream: recebe as linhas campo a campo, na
+ * ordem das colunas, e grava à medida que chegam, sem montar o documento na
+ * memória.
+ *
+ * Uso: {@link #colunas} uma vez, depois os campos de cada linha seguidos de
+ * {@link #fimLinha()}. O formato é escolhido por {@link FormatoExportacao}.
+ */
+public interface DestinoExportacao extends AutoCloseable {
+
+    /**
+     * Escreve os campos de um item em uma linha (sem chamar
+     * {@link DestinoExportacao#fimLinha()}).
+     */
+    @FunctionalInterface
+    interface Formatador<T> {
+        void escrever(DestinoExportacao destino, T item) throws IOException;
+    }
+
+    /**
+     * Declara os nomes das colunas, antes da primeira linha (no CSV, é o
+     * cabeçalho; no JSON, as chaves de cada objeto).
+     */
+    void colunas(String... nomes) throws IOException;
+
+    /**
+     * Texto; null é gravado como ausente (vazio ou null, conforme o formato).
+     */
+    DestinoExportacao campo(String valor) throws IOException;
+
+    DestinoExportacao campo(long valor) throws IOException;
+
+    /**
+     * Data no formato ISO (AAAA-MM-DD); null é gravado como ausente.
+     */
+    DestinoExportacao campo(LocalDate data) throws IOException;
+
+    /**
+     * Termina a linha atual.
+     */
+    void fimLinha() throws IOException;
+
+    /**
+     * @return Quantas linhas de dados foram terminadas (sem o cabeçalho).
+     */
+    long getLinhas();
+
+    @Override
+    void close() throws IOException;
+}
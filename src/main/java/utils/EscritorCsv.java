@@ -0,0 +1,167 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * Escritor de CSV em UTF-8 direto para um canal de arquivo, para exportações
+ * grandes lidas em stream do banco. Não há lista de linhas nem
+ * {@code String} por linha: os campos vão direto para o buffer de
+ * {@link EscritorTexto}, e números e datas são escritos sem
+ * {@code String.format}.
+ *
+ * Campos com o separador, aspas ou quebras de linha são colocados entre aspas,
+ * com as aspas internas duplicadas (RFC 4180). Campos null ficam vazios.
+ *
+ * Os arquivos de {@link #abrir} e de {@link FormatoExportacao#CSV} começam com
+ * a marca de ordem de bytes (BOM) do UTF-8: sem ela, o Excel lê o CSV na
+ * codificação regional e mostra os acentos trocados.
+ *
+ * Uso:
+ *
+ * <pre>
+ * try (EscritorCsv csv = EscritorCsv.abrir(caminho, ';')) {
+ *     csv.colunas("id", "nome");
+ *     csv.campo(1).campo("Maria").fimLinha();
+ * }
+ * </pre>
+ */
+public class EscritorCsv extends EscritorTexto implements DestinoExportacao {
+
+    public static final int TAMANHO_BUFFER_PADRAO = 256 * 1024;
+    public static final char SEPARADOR_PADRAO = ';';
+
+    private final char separador;
+    private boolean inicioLinha = true;
+    private long linhas;
+
+    /**
+     * @param canal         O canal de destino (fechado junto com o escritor).
+     * @param separador     O separador de campos (ex: ';').
+     * @param tamanhoBuffer Tamanho, em caracteres, do buffer de escrita.
+     */
+    public EscritorCsv(WritableByteChannel canal, char separador, int tamanhoBuffer) {
+        this(canal, separador, tamanhoBuffer, false);
+    }
+
+    /**
+     * @param canal         O canal de destino (fechado junto com o escritor).
+     * @param separador     O separador de campos (ex: ';').
+     * @param tamanhoBuffer Tamanho, em caracteres, do buffer de escrita.
+     * @param bom           Se o texto começa com o BOM do UTF-8.
+     */
+    public EscritorCsv(WritableByteChannel canal, char separador, int tamanhoBuffer, boolean bom) {
+        super(canal, tamanhoBuffer);
+        if (separador == '"' || separador == '\r' || separador == '\n') {
+            throw new IllegalArgumentException("Separador inválido para CSV.");
+        }
+        this.separador = separador;
+        if (bom) {
+            escreverBom();
+        }
+    }
+
+    /**
+     * Cria (ou sobrescreve) o arquivo e abre um escritor com o buffer padrão,
+     * começando pelo BOM do UTF-8.
+     */
+    public static EscritorCsv abrir(Path caminho, char separador) throws IOException {
+        FileChannel canal = FileChannel.open(caminho, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new EscritorCsv(canal, separador, TAMANHO_BUFFER_PADRAO, true);
+    }
+
+    /**
+     * Escreve a linha de cabeçalho (não conta em {@link #getLinhas()}).
+     */
+    @Override
+    public void colunas(String... nomes) throws IOException {
+        for (String nome : nomes) {
+            campo(nome);
+        }
+        escrever('\n');
+        inicioLinha = true;
+    }
+
+    @Override
+    public EscritorCsv campo(String valor) throws IOException {
+        separar();
+        if (valor == null) {
+            return this;
+        }
+        if (!precisaDeAspas(valor)) {
+            escrever(valor);
+            return this;
+        }
+        escrever('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                escrever('"');
+            }
+            escrever(c);
+        }
+        escrever('"');
+        return this;
+    }
+
+    @Override
+    public EscritorCsv campo(long valor) throws IOException {
+        separar();
+        escreverNumero(valor);
+        return this;
+    }
+
+    @Override
+    public EscritorCsv campo(LocalDate data) throws IOException {
+        separar();
+        if (data != null) {
+            escreverData(data);
+        }
+        return this;
+    }
+
+    @Override
+    public void fimLinha() throws IOException {
+        escrever('\n');
+        inicioLinha = true;
+        linhas++;
+    }
+
+    /**
+     * Escreve uma linha inteira de campos de texto.
+     */
+    public void linha(String... campos) throws IOException {
+        for (String campo : campos) {
+            campo(campo);
+        }
+        fimLinha();
+    }
+
+    @Override
+    public long getLinhas() {
+        return linhas;
+    }
+
+    private void separar() throws IOException {
+        if (inicioLinha) {
+            inicioLinha = false;
+        } else {
+            escrever(separador);
+        }
+    }
+
+    private boolean precisaDeAspas(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == separador || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,184 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+
+/**
+ * Escritor de JSON Lines (também chamado NDJSON): um objeto JSON por linha,
+ * com as colunas como chaves, em UTF-8.
+ *
+ * Cada linha é um documento JSON completo, então quem lê o arquivo pode
+ * processá-lo linha a linha, sem carregar o documento inteiro. A gravação no
+ * canal, porém, é feita por blocos do buffer, não por linha: enquanto a
+ * exportação corre, o arquivo pode terminar no meio de uma linha, e só fica
+ * completo depois de {@link #flush()} ou {@link #close()}. Os trechos
+ * fixos de cada linha (<code>{"coluna":</code>, <code>,"coluna":</code>) são
+ * montados uma vez em {@link #colunas}; os valores vão direto para o buffer de
+ * {@link EscritorTexto}, sem {@code String} intermediária.
+ *
+ * Textos e datas viram strings JSON (com escape de aspas, barra invertida e
+ * caracteres de controle), números ficam sem aspas e valores ausentes viram
+ * {@code null}.
+ */
+public class EscritorJsonLines extends EscritorTexto implements DestinoExportacao {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    // Trecho escrito antes do valor de cada coluna
+    private String[] prefixos;
+    private int coluna;
+    private long linhas;
+
+    /**
+     * @param canal         O canal de destino (fechado junto com o escritor).
+     * @param tamanhoBuffer Tamanho, em caracteres, do buffer de escrita.
+     */
+    public EscritorJsonLines(WritableByteChannel canal, int tamanhoBuffer) {
+        super(canal, tamanhoBuffer);
+    }
+
+    @Override
+    public void colunas(String... nomes) {
+        if (nomes.length == 0) {
+            throw new IllegalArgumentException("Informe ao menos uma coluna.");
+        }
+        String[] novos = new String[nomes.length];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < nomes.length; i++) {
+            sb.setLength(0);
+            sb.append(i == 0 ? '{' : ',').append('"');
+            for (int j = 0; j < nomes[i].length(); j++) {
+                char c = nomes[i].charAt(j);
+                String escape = escape(c);
+                if (escape == null) {
+                    sb.append(c);
+                } else {
+                    sb.append(escape);
+                }
+            }
+            novos[i] = sb.append("\":").toString();
+        }
+        this.prefixos = novos;
+    }
+
+    @Override
+    public EscritorJsonLines campo(String valor) throws IOException {
+        proximaColuna();
+        if (valor == null) {
+            escrever("null");
+            return this;
+        }
+        escrever('"');
+        if (precisaDeEscape(valor)) {
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                String escape = escape(c);
+                if (escape == null) {
+                    escrever(c);
+                } else {
+                    escrever(escape);
+                }
+            }
+        } else {
+            escrever(valor);
+        }
+        escrever('"');
+        return this;
+    }
+
+    @Override
+    public EscritorJsonLines campo(long valor) throws IOException {
+        proximaColuna();
+        escreverNumero(valor);
+        return this;
+    }
+
+    @Override
+    public EscritorJsonLines campo(LocalDate data) throws IOException {
+        proximaColuna();
+        if (data == null) {
+            escrever("null");
+        } else {
+            escrever('"');
+            escreverData(data);
+            escrever('"');
+        }
+        return this;
+    }
+
+    /**
+     * Fecha o objeto da linha.
+     *
+     * @throws IllegalStateException Se a linha não tiver um valor para cada
+     *                               coluna.
+     */
+    @Override
+    public void fimLinha() throws IOException {
+        if (prefixos == null || coluna != prefixos.length) {
+            throw new IllegalStateException("Linha com " + coluna + " campo(s); esperado "
+                    + (prefixos == null ? 0 : prefixos.length) + ".");
+        }
+        escrever('}');
+        escrever('\n');
+        coluna = 0;
+        linhas++;
+    }
+
+    @Override
+    public long getLinhas() {
+        return linhas;
+    }
+
+    private void proximaColuna() throws IOException {
+        if (prefixos == null) {
+            throw new IllegalStateException("As colunas devem ser declaradas antes dos campos.");
+        }
+        if (coluna == prefixos.length) {
+            throw new IllegalStateException("Mais campos do que colunas na linha.");
+        }
+        escrever(prefixos[coluna++]);
+    }
+
+    private static boolean precisaDeEscape(String valor) {
+        for (int i = 0; i < valor.length(); i++) {
+            if (escape(valor.charAt(i)) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return A sequência de escape do caractere em uma string JSON, ou null se
+     *         ele pode ser escrito como está. U+2028 e U+2029 também são
+     *         escapados, pois quebram a linha em alguns leitores.
+     */
+    private static String escape(char c) {
+        switch (c) {
+            case '"':
+                return "\\\"";
+            case '\\':
+                return "\\\\";
+            case '\n':
+                return "\\n";
+            case '\r':
+                return "\\r";
+            case '\t':
+                return "\\t";
+            case '\b':
+                return "\\b";
+            case '\f':
+                return "\\f";
+            case '\u2028':
+                return "\\u2028";
+            case '\u2029':
+                return "\\u2029";
+            default:
+                if (c < 0x20) {
+                    return "\\u00" + HEX[c >> 4] + HEX[c & 0xF];
+                }
+                return null;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Base dos escritores de texto em UTF-8 direto para um canal.
+ *
+ * O texto é acumulado em um buffer de caracteres e codificado em blocos para
+ * um buffer de bytes, que é gravado no canal quando enche; a memória usada é
+ * a dos buffers, qualquer que seja o tamanho do arquivo. Números e datas são
+ * escritos dígito a dígito, sem criar {@code String}.
+ */
+abstract class EscritorTexto implements AutoCloseable {
+
+    private final WritableByteChannel canal;
+    private final CharsetEncoder codificador = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer caracteres;
+    private final ByteBuffer bytes;
+    private final char[] digitos = new char[20];
+    private boolean fechado;
+
+    /**
+     * @param canal         O canal de destino (fechado junto com o escritor).
+     * @param tamanhoBuffer Tamanho, em caracteres, do buffer de escrita.
+     */
+    EscritorTexto(WritableByteChannel canal, int tamanhoBuffer) {
+        this.canal = canal;
+        this.caracteres = CharBuffer.allocate(tamanhoBuffer);
+        // Até 3 bytes por caractere em UTF-8 (pares substitutos usam 4 bytes para 2 caracteres)
+        this.bytes = ByteBuffer.allocateDirect(tamanhoBuffer * 3);
+    }
+
+    /**
+     * Grava no canal tudo o que está nos buffers.
+     */
+    public void flush() throws IOException {
+        codificar(false);
+        gravarBytes();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (fechado) {
+            return;
+        }
+        fechado = true;
+        try (canal) {
+            codificar(true);
+            while (codificador.flush(bytes).isOverflow()) {
+                gravarBytes();
+            }
+            gravarBytes();
+        }
+    }
+
+    /**
+     * Começa o texto com o BOM do UTF-8; chamado antes de qualquer escrita.
+     */
+    final void escreverBom() {
+        caracteres.put('\uFEFF');
+    }
+
+    final void escrever(char c) throws IOException {
+        if (!caracteres.hasRemaining()) {
+            flush();
+        }
+        caracteres.put(c);
+    }
+
+    final void escrever(String texto) throws IOException {
+        int inicio = 0;
+        while (inicio < texto.length()) {
+            if (!caracteres.hasRemaining()) {
+                flush();
+            }
+            int fim = Math.min(texto.length(), inicio + caracteres.remaining());
+            caracteres.put(texto, inicio, fim);
+            inicio = fim;
+        }
+    }
+
+    final void escreverNumero(long valor) throws IOException {
+        if (valor == Long.MIN_VALUE) {
+            escrever(Long.toString(valor));
+            return;
+        }
+        if (valor < 0) {
+            escrever('-');
+            valor = -valor;
+        }
+        int pos = digitos.length;
+        do {
+            digitos[--pos] = (char) ('0' + (valor % 10));
+            valor /= 10;
+        } while (valor != 0);
+        for (int i = pos; i < digitos.length; i++) {
+            escrever(digitos[i]);
+        }
+    }
+
+    /**
+     * Escreve a data no formato ISO (AAAA-MM-DD).
+     */
+    final void escreverData(LocalDate data) throws IOException {
+        int ano = data.getYear();
+        if (ano < 1000 || ano > 9999) {
+            escrever(data.toString()); // Fora do formato de 4 dígitos
+            return;
+        }
+        escreverNumero(ano);
+        escrever('-');
+        escreverDoisDigitos(data.getMonthValue());
+        escrever('-');
+        escreverDoisDigitos(data.getDayOfMonth());
+    }
+
+    private void escreverDoisDigitos(int valor) throws IOException {
+        escrever((char) ('0' + valor / 10));
+        escrever((char) ('0' + valor % 10));
+    }
+
+    /**
+     * Codifica os caracteres acumulados para o buffer de bytes, gravando-o no
+     * canal sempre que encher. Um par substituto incompleto no fim do buffer
+     * fica para a próxima chamada.
+     */
+    private void codificar(boolean fimEntrada) throws IOException {
+        caracteres.flip();
+        while (true) {
+            CoderResult resultado = codificador.encode(caracteres, bytes, fimEntrada);
+            if (resultado.isOverflow()) {
+                gravarBytes();
+            } else {
+                break;
+            }
+        }
+        caracteres.compact();
+    }
+
+    private void gravarBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+        bytes.clear();
+    }
+}
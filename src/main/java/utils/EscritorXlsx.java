@@ -0,0 +1,379 @@
+package utils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Escritor de planilha XLSX (Office Open XML) em stream, com uma única aba.
+ *
+ * As linhas vão para o XML da aba ({@code xl/worksheets/sheet1.xml}) e dele
+ * direto para o ZIP à medida que chegam: a pasta de trabalho nunca é montada
+ * na memória. As partes fixas (tipos de conteúdo, relacionamentos, pasta de
+ * trabalho e estilos) são gravadas antes da aba, e a tabela de strings
+ * compartilhadas ({@code xl/sharedStrings.xml}) por último, quando já se sabe
+ * quais strings se repetiram.
+ *
+ * Strings compartilhadas evitam repetir no arquivo textos como o nome do
+ * curso, que aparece em todas as linhas. Para a memória não crescer com a
+ * exportação, a tabela tem um limite de {@value #MAX_COMPARTILHADAS} strings e
+ * cada coluna é avaliada nos seus primeiros {@value #AMOSTRA_COLUNA} valores:
+ * se a maioria for nova (nomes, CPFs, e-mails), o restante da coluna é gravado
+ * como string na própria célula.
+ *
+ * Números são células numéricas, datas usam o formato de data do Excel e
+ * valores null ficam como células vazias. A primeira linha (as colunas) é
+ * congelada e em negrito.
+ */
+public class EscritorXlsx extends EscritorTexto implements DestinoExportacao {
+
+    // Limites de uma planilha do Excel
+    private static final int MAX_LINHAS = 1_048_576;
+    private static final int MAX_COLUNAS = 16_384;
+
+    static final int MAX_COMPARTILHADAS = 65_536;
+    static final int AMOSTRA_COLUNA = 1_000;
+
+    // Dias entre a data base do Excel (1899-12-30) e 1970-01-01
+    private static final long DIAS_ATE_EPOCH = 25_569;
+    private static final String ESTILO_DATA = "1";
+    private static final String ESTILO_CABECALHO = "2";
+
+    private final ZipOutputStream zip;
+    private final String nomePlanilha;
+
+    private final Map<String, Integer> indiceCompartilhadas = new HashMap<>();
+    private final List<String> compartilhadas = new ArrayList<>();
+    private long usosCompartilhadas;
+
+    // Referência da coluna ("A", "B", ...) e estatísticas da amostra de cada coluna
+    private String[] letras;
+    private int[] valoresColuna;
+    private int[] novasColuna;
+    private boolean[] emLinha;
+
+    private boolean planilhaIniciada;
+    private boolean finalizada;
+    private int coluna;
+    private int linhaAtual;
+    private long linhas;
+
+    /**
+     * @param canal         O canal de destino (fechado junto com o escritor).
+     * @param nomePlanilha  O nome da aba (até 31 caracteres, sem
+     *                      {@code []:*?/\}).
+     * @param tamanhoBuffer Tamanho, em caracteres, do buffer de escrita.
+     */
+    public EscritorXlsx(WritableByteChannel canal, String nomePlanilha, int tamanhoBuffer) {
+        this(new ZipOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal), 64 * 1024)),
+                nomePlanilha, tamanhoBuffer);
+    }
+
+    private EscritorXlsx(ZipOutputStream zip, String nomePlanilha, int tamanhoBuffer) {
+        super(Channels.newChannel(zip), tamanhoBuffer);
+        if (nomePlanilha.isEmpty() || nomePlanilha.length() > 31 || nomePlanilha.matches(".*[\\[\\]:*?/\\\\].*")) {
+            throw new IllegalArgumentException("Nome de planilha inválido: " + nomePlanilha);
+        }
+        // XML comprime bem mesmo no nível mais rápido; o gargalo passa a ser o banco
+        zip.setLevel(Deflater.BEST_SPEED);
+        this.zip = zip;
+        this.nomePlanilha = nomePlanilha;
+    }
+
+    /**
+     * Grava as partes fixas, abre a aba e escreve a linha das colunas.
+     */
+    @Override
+    public void colunas(String... nomes) throws IOException {
+        if (planilhaIniciada) {
+            throw new IllegalStateException("As colunas já foram declaradas.");
+        }
+        if (nomes.length == 0 || nomes.length > MAX_COLUNAS) {
+            throw new IllegalArgumentException("Quantidade de colunas inválida: " + nomes.length);
+        }
+        letras = new String[nomes.length];
+        for (int i = 0; i < nomes.length; i++) {
+            letras[i] = letraColuna(i);
+        }
+        valoresColuna = new int[nomes.length];
+        novasColuna = new int[nomes.length];
+        emLinha = new boolean[nomes.length];
+        iniciarPlanilha();
+
+        iniciarLinha();
+        for (int i = 0; i < nomes.length; i++) {
+            abrirCelula(i);
+            escrever(" s=\"" + ESTILO_CABECALHO + "\" t=\"s\"><v>");
+            escreverNumero(compartilhar(nomes[i]));
+            escrever("</v></c>");
+        }
+        escrever("</row>");
+        coluna = 0;
+    }
+
+    @Override
+    public EscritorXlsx campo(String valor) throws IOException {
+        proximaColuna();
+        if (valor == null) {
+            return this;
+        }
+        int indice = indiceCompartilhada(valor);
+        abrirCelula(coluna - 1);
+        if (indice >= 0) {
+            escrever(" t=\"s\"><v>");
+            escreverNumero(indice);
+            escrever("</v></c>");
+        } else {
+            escrever(" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+            escreverXml(valor);
+            escrever("</t></is></c>");
+        }
+        return this;
+    }
+
+    @Override
+    public EscritorXlsx campo(long valor) throws IOException {
+        proximaColuna();
+        abrirCelula(coluna - 1);
+        escrever("><v>");
+        escreverNumero(valor);
+        escrever("</v></c>");
+        return this;
+    }
+
+    @Override
+    public EscritorXlsx campo(LocalDate data) throws IOException {
+        proximaColuna();
+        if (data == null) {
+            return this;
+        }
+        abrirCelula(coluna - 1);
+        escrever(" s=\"" + ESTILO_DATA + "\"><v>");
+        escreverNumero(data.toEpochDay() + DIAS_ATE_EPOCH);
+        escrever("</v></c>");
+        return this;
+    }
+
+    @Override
+    public void fimLinha() throws IOException {
+        if (!planilhaIniciada) {
+            throw new IllegalStateException("As colunas devem ser declaradas antes das linhas.");
+        }
+        if (coluna == 0) {
+            iniciarLinha(); // Linha sem campos
+        }
+        escrever("</row>");
+        coluna = 0;
+        linhas++;
+    }
+
+    @Override
+    public long getLinhas() {
+        return linhas;
+    }
+
+    /**
+     * Fecha a aba, grava a tabela de strings compartilhadas e fecha o ZIP.
+     */
+    @Override
+    public void close() throws IOException {
+        if (finalizada) {
+            return;
+        }
+        finalizada = true;
+        try {
+            if (!planilhaIniciada) {
+                iniciarPlanilha();
+            }
+            if (coluna > 0) {
+                escrever("</row>"); // Linha interrompida por um erro
+                coluna = 0;
+            }
+            escrever("</sheetData></worksheet>");
+            novaParte("xl/sharedStrings.xml");
+            escrever("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                    + "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\" count=\"");
+            escreverNumero(usosCompartilhadas);
+            escrever("\" uniqueCount=\"");
+            escreverNumero(compartilhadas.size());
+            escrever("\">");
+            for (String texto : compartilhadas) {
+                escrever("<si><t xml:space=\"preserve\">");
+                escreverXml(texto);
+                escrever("</t></si>");
+            }
+            escrever("</sst>");
+        } finally {
+            super.close();
+        }
+    }
+
+    private void iniciarPlanilha() throws IOException {
+        planilhaIniciada = true;
+        novaParte("[Content_Types].xml");
+        escrever("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+                + "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+                + "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+                + "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+                + "<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>"
+                + "</Types>");
+        novaParte("_rels/.rels");
+        escrever("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\" Target=\"xl/workbook.xml\"/>"
+                + "</Relationships>");
+        novaParte("xl/workbook.xml");
+        escrever("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\""
+                + " xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+                + "<sheets><sheet name=\"");
+        escreverXml(nomePlanilha);
+        escrever("\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+        novaParte("xl/_rels/workbook.xml.rels");
+        escrever("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                + "<Relationship Id=\"rId1\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+                + "<Relationship Id=\"rId2\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles\" Target=\"styles.xml\"/>"
+                + "<Relationship Id=\"rId3\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/sharedStrings\" Target=\"sharedStrings.xml\"/>"
+                + "</Relationships>");
+        // Estilos: 0 padrão, 1 data (formato 14, dd/mm/aaaa no Excel em português), 2 cabeçalho em negrito
+        novaParte("xl/styles.xml");
+        escrever("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<styleSheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                + "<fonts count=\"2\"><font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+                + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font></fonts>"
+                + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+                + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+                + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+                + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+                + "<cellXfs count=\"3\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+                + "<xf numFmtId=\"14\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+                + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/></cellXfs>"
+                + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+                + "</styleSheet>");
+        novaParte("xl/worksheets/sheet1.xml");
+        escrever("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                + "<sheetViews><sheetView workbookViewId=\"0\">"
+                + "<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>"
+                + "</sheetView></sheetViews><sheetData>");
+    }
+
+    /**
+     * Termina a parte atual do ZIP (se houver) e abre a próxima.
+     */
+    private void novaParte(String nome) throws IOException {
+        flush();
+        zip.putNextEntry(new ZipEntry(nome));
+    }
+
+    private void iniciarLinha() throws IOException {
+        if (linhaAtual == MAX_LINHAS) {
+            throw new IOException("Limite de " + MAX_LINHAS + " linhas por planilha XLSX atingido.");
+        }
+        linhaAtual++;
+        escrever("<row r=\"");
+        escreverNumero(linhaAtual);
+        escrever("\">");
+    }
+
+    private void proximaColuna() throws IOException {
+        if (!planilhaIniciada) {
+            throw new IllegalStateException("As colunas devem ser declaradas antes dos campos.");
+        }
+        if (coluna == letras.length) {
+            throw new IllegalStateException("Mais campos do que colunas na linha.");
+        }
+        if (coluna == 0) {
+            iniciarLinha();
+        }
+        coluna++;
+    }
+
+    /**
+     * Escreve o início da célula na linha atual, ex: {@code <c r="B7"}.
+     */
+    private void abrirCelula(int indiceColuna) throws IOException {
+        escrever("<c r=\"");
+        escrever(letras[indiceColuna]);
+        escreverNumero(linhaAtual);
+        escrever('"');
+    }
+
+    /**
+     * @return O índice da string na tabela compartilhada, ou -1 se ela deve
+     *         ser gravada na célula.
+     */
+    private int indiceCompartilhada(String valor) {
+        int c = coluna - 1;
+        if (emLinha[c]) {
+            return -1;
+        }
+        boolean nova = !indiceCompartilhadas.containsKey(valor);
+        if (nova && compartilhadas.size() == MAX_COMPARTILHADAS) {
+            return -1;
+        }
+        if (++valoresColuna[c] <= AMOSTRA_COLUNA) {
+            if (nova) {
+                novasColuna[c]++;
+            }
+            if (valoresColuna[c] == AMOSTRA_COLUNA && novasColuna[c] * 2 > AMOSTRA_COLUNA) {
+                emLinha[c] = true; // Coluna com poucos valores repetidos
+            }
+        }
+        return compartilhar(valor);
+    }
+
+    private int compartilhar(String valor) {
+        usosCompartilhadas++;
+        Integer indice = indiceCompartilhadas.get(valor);
+        if (indice != null) {
+            return indice;
+        }
+        int novo = compartilhadas.size();
+        compartilhadas.add(valor);
+        indiceCompartilhadas.put(valor, novo);
+        return novo;
+    }
+
+    /**
+     * Escreve o texto com escape de XML. Caracteres de controle, que o XML
+     * 1.0 não permite, são trocados por U+FFFD.
+     */
+    private void escreverXml(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '<' -> escrever("&lt;");
+                case '>' -> escrever("&gt;");
+                case '&' -> escrever("&amp;");
+                case '"' -> escrever("&quot;");
+                case '\t', '\n', '\r' -> escrever(c);
+                default -> escrever(c < 0x20 || c == '\uFFFE' || c == '\uFFFF' ? '\uFFFD' : c);
+            }
+        }
+    }
+
+    /**
+     * @return A letra da coluna no Excel: 0 → A, 25 → Z, 26 → AA.
+     */
+    private static String letraColuna(int indice) {
+        StringBuilder sb = new StringBuilder();
+        for (int n = indice + 1; n > 0; n = (n - 1) / 26) {
+            sb.append((char) ('A' + (n - 1) % 26));
+        }
+        return sb.reverse().toString();
+    }
+}
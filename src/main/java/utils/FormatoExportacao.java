@@ -0,0 +1,128 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+
+/**
+ * Formatos de arquivo das exportações de dados, cada um com o seu
+ * {@link DestinoExportacao}.
+ *
+ * JSON Lines e NDJSON são o mesmo formato (um objeto JSON por linha); os dois
+ * nomes e as extensões {@code .jsonl} e {@code .ndjson} são aceitos.
+ */
+public enum FormatoExportacao {
+
+    CSV("CSV (separado por ;)", "csv") {
+        @Override
+        public DestinoExportacao abrir(WritableByteChannel canal) {
+            return new EscritorCsv(canal, EscritorCsv.SEPARADOR_PADRAO, EscritorCsv.TAMANHO_BUFFER_PADRAO, true);
+        }
+    },
+    JSON_LINES("JSON Lines / NDJSON", "jsonl", "ndjson") {
+        @Override
+        public DestinoExportacao abrir(WritableByteChannel canal) {
+            return new EscritorJsonLines(canal, EscritorCsv.TAMANHO_BUFFER_PADRAO);
+        }
+    },
+    XLSX("Planilha do Excel", "xlsx") {
+        @Override
+        public DestinoExportacao abrir(WritableByteChannel canal) {
+            return new EscritorXlsx(canal, "Dados", EscritorCsv.TAMANHO_BUFFER_PADRAO);
+        }
+    };
+
+    private final String descricao;
+    private final String[] extensoes;
+
+    FormatoExportacao(String descricao, String... extensoes) {
+        this.descricao = descricao;
+        this.extensoes = extensoes;
+    }
+
+    /**
+     * Abre um destino que grava no canal (fechado junto com o destino).
+     */
+    public abstract DestinoExportacao abrir(WritableByteChannel canal) throws IOException;
+
+    /**
+     * Cria (ou sobrescreve) o arquivo e abre um destino que grava nele.
+     */
+    public DestinoExportacao abrir(Path caminho) throws IOException {
+        FileChannel canal = FileChannel.open(caminho, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return abrir(canal);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Exporta os itens para um arquivo neste formato, uma linha por item.
+     * Se a escrita falhar, o arquivo parcial é removido.
+     *
+     * @param caminho    O arquivo de destino.
+     * @param colunas    Os nomes das colunas.
+     * @param itens      Os itens, consumidos uma única vez.
+     * @param formatador Escreve os campos de cada item.
+     * @return Quantas linhas de dados foram escritas.
+     * @throws IOException Se houver erro de escrita.
+     */
+    public <T> long exportar(Path caminho, String[] colunas, Iterator<T> itens,
+            DestinoExportacao.Formatador<? super T> formatador) throws IOException {
+        try (DestinoExportacao destino = abrir(caminho)) {
+            destino.colunas(colunas);
+            while (itens.hasNext()) {
+                formatador.escrever(destino, itens.next());
+                destino.fimLinha();
+            }
+            return destino.getLinhas();
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(caminho);
+            } catch (IOException erroRemocao) {
+                e.addSuppressed(erroRemocao);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return A extensão padrão dos arquivos, sem o ponto.
+     */
+    public String getExtensao() {
+        return extensoes[0];
+    }
+
+    /**
+     * @return Todas as extensões aceitas, sem o ponto.
+     */
+    public String[] getExtensoes() {
+        return extensoes.clone();
+    }
+
+    /**
+     * @return O caminho com a extensão padrão do formato, se ele ainda não
+     *         terminar com uma das extensões aceitas.
+     */
+    public String comExtensao(String caminho) {
+        String minusculo = caminho.toLowerCase();
+        for (String extensao : extensoes) {
+            if (minusculo.endsWith("." + extensao)) {
+                return caminho;
+            }
+        }
+        return caminho + "." + getExtensao();
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+}
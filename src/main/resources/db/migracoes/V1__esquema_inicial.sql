@@ -0,0 +1,33 @@
+-- Esquema inicial: tabelas de cursos e alunos.
+-- Usa IF NOT EXISTS para que bancos criados antes do controle de migrações
+-- sejam incorporados sem erro.
+
+CREATE TABLE IF NOT EXISTS curso (
+    idCurso INTEGER PRIMARY KEY auto_increment,
+    nome VARCHAR(20) NOT NULL UNIQUE,
+    CONSTRAINT chk_curso_nome_length CHECK (LENGTH (nome) >= 3),
+    cargaHoraria INTEGER NOT NULL,
+    CONSTRAINT chk_curso_carga_horaria_minima CHECK (cargaHoraria >= 20),
+    limiteAlunos INTEGER NOT NULL,
+    CONSTRAINT chk_curso_limite_alunos_minimo CHECK (limiteAlunos >= 1),
+    status TINYINT DEFAULT 1,
+    CONSTRAINT chk_curso_ativo_valido CHECK (status IN (0, 1))
+);
+
+CREATE TABLE IF NOT EXISTS aluno (
+    idAluno INTEGER PRIMARY KEY auto_increment,
+    idCurso INTEGER NOT NULL,
+    FOREIGN KEY (idCurso) REFERENCES curso (idCurso) ON DELETE CASCADE, -- excluir todos os alunos se o curso for excluído
+    nome VARCHAR(50) NOT NULL,
+    cpf VARCHAR(11) UNIQUE NOT NULL,
+    telefone VARCHAR(20),
+    email VARCHAR(255),
+    dataNascimento DATE,
+    status TINYINT DEFAULT 1,
+    CONSTRAINT chk_aluno_ativo_valido CHECK (status IN (0, 1)),
+    CONSTRAINT chk_aluno_cpf_length CHECK (LENGTH (cpf) = 11),
+    CONSTRAINT chk_alunos_nome_length CHECK (LENGTH (nome) >= 3),
+    CONSTRAINT chk_aluno_email_valido CHECK (
+        email REGEXP '^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$'
+    ) -- validação simples de email com regex
+);
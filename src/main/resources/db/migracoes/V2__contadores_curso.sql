@@ -0,0 +1,14 @@
+-- Contadores de matrícula mantidos pela aplicação (AlunoDao atualiza na mesma
+-- transação de cada inserção, remoção, transferência e mudança de status).
+ALTER TABLE curso
+    ADD COLUMN totalAlunos INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN alunosAtivos INTEGER NOT NULL DEFAULT 0;
+
+-- Preenche os contadores a partir da tabela de alunos (mesma rotina de
+-- CursoDao.recalcularContadores)
+UPDATE curso c
+    LEFT JOIN (
+        SELECT idCurso, COUNT(*) AS total, SUM(status = 1) AS ativos
+        FROM aluno GROUP BY idCurso
+    ) t ON t.idCurso = c.idCurso
+SET c.totalAlunos = COALESCE(t.total, 0), c.alunosAtivos = COALESCE(t.ativos, 0);
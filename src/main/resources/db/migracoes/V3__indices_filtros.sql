@@ -0,0 +1,15 @@
+-- Índices para as listagens e contagens filtradas por curso e/ou status.
+-- No InnoDB todo índice secundário termina na chave primária, então estes
+-- índices também entregam as linhas já ordenadas por idAluno/idCurso, como
+-- pedem as consultas em stream e a paginação por ID.
+
+-- AlunoDao.buscarAlunosPorCurso, streamPorCurso, buscarPagina(idCurso, ...)
+-- e o GROUP BY de CursoDao.recalcularContadores (que fica coberto pelo índice).
+-- Também atende a chave estrangeira, substituindo o índice criado para ela.
+CREATE INDEX idx_aluno_curso_status ON aluno (idCurso, status);
+
+-- AlunoDao.buscarTodosFiltrado, streamTodos e buscarPagina filtrados só por status
+CREATE INDEX idx_aluno_status ON aluno (status);
+
+-- CursoDao.buscarTodosFiltrado, buscarTodosComTotais e buscarPagina por status
+CREATE INDEX idx_curso_status ON curso (status);
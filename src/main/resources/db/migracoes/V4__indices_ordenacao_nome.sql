@@ -0,0 +1,7 @@
+-- Índices para a paginação por chave ordenada por nome
+-- (ORDER BY nome, idAluno), com e sem filtro de status. Sem eles, cada página
+-- ordenaria todas as linhas que passam no filtro.
+
+CREATE INDEX idx_aluno_nome ON aluno (nome);
+
+CREATE INDEX idx_aluno_status_nome ON aluno (status, nome);
@@ -0,0 +1,7 @@
+-- Índice FULLTEXT para a busca textual de alunos no banco
+-- (AlunoDao.buscarPorTexto), usada quando a tabela é grande demais para o
+-- índice em memória. As colunas são as mesmas do MATCH (a.nome, a.email).
+-- O InnoDB ignora palavras com menos de innodb_ft_min_token_size (3)
+-- caracteres e as da lista de stopwords.
+
+CREATE FULLTEXT INDEX ft_aluno_nome_email ON aluno (nome, email);
@@ -0,0 +1,59 @@
+package factory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MigradorEsquemaTest {
+
+    @Test
+    void separaPorPontoEVirgula() {
+        assertEquals(List.of("CREATE TABLE a (id INT)", "INSERT INTO a VALUES (1)"),
+                MigradorEsquema.separarComandos("CREATE TABLE a (id INT);\n\nINSERT INTO a VALUES (1);\n"));
+    }
+
+    @Test
+    void ultimoComandoSemPontoEVirgula() {
+        assertEquals(List.of("SELECT 1", "SELECT 2"), MigradorEsquema.separarComandos("SELECT 1;\nSELECT 2"));
+    }
+
+    @Test
+    void pontoEVirgulaEntreAspasNaoSepara() {
+        assertEquals(List.of("INSERT INTO a VALUES ('x;y', \"z;w\")", "SELECT `col;una` FROM a"),
+                MigradorEsquema.separarComandos("INSERT INTO a VALUES ('x;y', \"z;w\");SELECT `col;una` FROM a;"));
+    }
+
+    @Test
+    void aspasEscapadasNaoFechamAString() {
+        assertEquals(List.of("INSERT INTO a VALUES ('d\\'Ávila; ok')", "SELECT 1"),
+                MigradorEsquema.separarComandos("INSERT INTO a VALUES ('d\\'Ávila; ok');\nSELECT 1;"));
+    }
+
+    @Test
+    void comentariosSaoIgnorados() {
+        String script = "-- cria a tabela; com comentário\n"
+                + "CREATE TABLE a (id INT); /* bloco; com\n várias linhas */\n"
+                + "SELECT 1; -- fim;\n";
+        assertEquals(List.of("CREATE TABLE a (id INT)", "SELECT 1"), MigradorEsquema.separarComandos(script));
+    }
+
+    @Test
+    void marcadoresDeComentarioDentroDeStringsSaoMantidos() {
+        assertEquals(List.of("INSERT INTO a VALUES ('-- não é comentário', '/* nem isto */')"),
+                MigradorEsquema.separarComandos("INSERT INTO a VALUES ('-- não é comentário', '/* nem isto */');"));
+    }
+
+    @Test
+    void scriptSemComandos() {
+        assertTrue(MigradorEsquema.separarComandos("").isEmpty());
+        assertTrue(MigradorEsquema.separarComandos("  ;\n-- só comentário\n/* e bloco */ ;").isEmpty());
+    }
+
+    @Test
+    void comentarioDeBlocoSemFechamentoVaiAteOFim() {
+        assertEquals(List.of("SELECT 1"), MigradorEsquema.separarComandos("SELECT 1; /* sem fim; SELECT 2;"));
+    }
+}
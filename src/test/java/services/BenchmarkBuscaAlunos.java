@@ -0,0 +1,90 @@
+package services;
+
+import model.Aluno;
+import model.enums.Status;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Mede o tempo de montagem do índice de busca de alunos e a latência das
+ * buscas, com alunos gerados em memória (sem banco de dados).
+ *
+ * Fica nos fontes de teste, fora do jar. Uso, após {@code mvn test-compile}:
+ * {@code java -cp target/classes:target/test-classes services.BenchmarkBuscaAlunos [alunos] [buscas]}
+ * (padrão: 100000 alunos e 100000 buscas).
+ */
+public class BenchmarkBuscaAlunos {
+
+    private static final String[] NOMES = { "João", "Maria", "José", "Ana", "Antônio", "Francisca", "Carlos",
+            "Luíza", "Paulo", "Adriana", "Lucas", "Juliana", "Márcio", "Patrícia", "Gabriel", "Letícia" };
+    private static final String[] SOBRENOMES = { "Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Conceição", "Ribeiro", "Araújo", "Carvalho", "Simões", "Brandão" };
+
+    public static void main(String[] args) throws Exception {
+        int totalAlunos = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int totalBuscas = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        Aluno[] alunos = IntStream.rangeClosed(1, totalAlunos).mapToObj(BenchmarkBuscaAlunos::gerar)
+                .toArray(Aluno[]::new);
+        IndiceBuscaAlunos indice = new IndiceBuscaAlunos(() -> Stream.of(alunos), id -> Optional.empty(),
+                Long.MAX_VALUE / 1_000_000);
+
+        long inicio = System.nanoTime();
+        indice.buscar("a", 1); // A primeira busca monta o índice
+        long montagemNanos = System.nanoTime() - inicio;
+        System.out.printf("Montagem do índice com %d alunos: %.1f ms (%.2f µs/aluno)%n", totalAlunos,
+                montagemNanos / 1e6, montagemNanos / 1e3 / totalAlunos);
+
+        // Termos no formato de quem está digitando: prefixos de nome, CPF e email
+        Random random = new Random(42);
+        String[] termos = new String[totalBuscas];
+        for (int i = 0; i < totalBuscas; i++) {
+            Aluno aluno = alunos[random.nextInt(totalAlunos)];
+            termos[i] = switch (i % 4) {
+                case 0 -> aluno.getNome().substring(0, 1 + random.nextInt(4));
+                case 1 -> aluno.getNome().split(" ")[1].substring(0, 3) + " " + aluno.getNome().substring(0, 2);
+                case 2 -> aluno.getCpf().substring(0, 3 + random.nextInt(8));
+                default -> aluno.getEmail().substring(0, aluno.getEmail().indexOf('@') + 1);
+            };
+        }
+
+        // Aquecimento do JIT antes de medir
+        for (int i = 0; i < Math.min(totalBuscas, 20_000); i++) {
+            indice.buscar(termos[i], 20);
+        }
+
+        long[] latencias = new long[totalBuscas];
+        long encontrados = 0;
+        for (int i = 0; i < totalBuscas; i++) {
+            long t = System.nanoTime();
+            encontrados += indice.buscar(termos[i], 20).size();
+            latencias[i] = System.nanoTime() - t;
+        }
+        Arrays.sort(latencias);
+        System.out.printf("%d buscas (limite 20, média de %.1f resultados):%n", totalBuscas,
+                (double) encontrados / totalBuscas);
+        System.out.printf("  p50 %.1f µs | p90 %.1f µs | p99 %.1f µs | máx %.1f µs%n", percentil(latencias, 50),
+                percentil(latencias, 90), percentil(latencias, 99), latencias[totalBuscas - 1] / 1e3);
+    }
+
+    private static Aluno gerar(int id) {
+        Random random = new Random(id);
+        String nome = NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)]
+                + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+        String cpf = String.format("%011d", Math.floorMod(random.nextLong(), 100_000_000_000L));
+        String telefone = String.format("119%08d", random.nextInt(100_000_000));
+        String email = Textos.normalizar(nome).replace(' ', '.') + id + "@exemplo.com";
+        return new Aluno(id, 1 + random.nextInt(50), nome, cpf, telefone, email,
+                LocalDate.of(1990 + random.nextInt(15), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                random.nextInt(10) < 8 ? Status.ATIVO : Status.INATIVO);
+    }
+
+    private static double percentil(long[] ordenados, int p) {
+        return ordenados[Math.min(ordenados.length - 1, ordenados.length * p / 100)] / 1e3;
+    }
+}
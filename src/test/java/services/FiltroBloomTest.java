@@ -0,0 +1,73 @@
+package services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FiltroBloomTest {
+
+    private static final int CAPACIDADE = 100_000;
+    private static final double TAXA = 0.01;
+
+    @Test
+    void semFalsoNegativo() {
+        FiltroBloom filtro = new FiltroBloom(CAPACIDADE, TAXA);
+        for (int i = 0; i < CAPACIDADE; i++) {
+            filtro.adicionar(cpf(i));
+        }
+        for (int i = 0; i < CAPACIDADE; i++) {
+            assertTrue(filtro.podeConter(cpf(i)), cpf(i));
+        }
+        assertEquals(CAPACIDADE, filtro.getElementos());
+    }
+
+    @Test
+    void taxaDeFalsoPositivoPertoDaPedida() {
+        FiltroBloom filtro = new FiltroBloom(CAPACIDADE, TAXA);
+        // CPFs parecidos (sequenciais) são o pior caso para o hash
+        for (int i = 0; i < CAPACIDADE; i++) {
+            filtro.adicionar(cpf(i));
+        }
+        int consultas = 200_000;
+        int falsosPositivos = 0;
+        for (int i = CAPACIDADE; i < CAPACIDADE + consultas; i++) {
+            if (filtro.podeConter(cpf(i))) {
+                falsosPositivos++;
+            }
+        }
+        double taxa = (double) falsosPositivos / consultas;
+        assertTrue(taxa < TAXA * 1.5, "Taxa de falso positivo " + taxa);
+    }
+
+    @Test
+    void saturaAoPassarDaCapacidade() {
+        FiltroBloom filtro = new FiltroBloom(10, TAXA);
+        for (int i = 0; i < 10; i++) {
+            filtro.adicionar(cpf(i));
+        }
+        assertFalse(filtro.saturado());
+        filtro.adicionar(cpf(10));
+        assertTrue(filtro.saturado());
+    }
+
+    @Test
+    void filtroVazioNaoContemNada() {
+        FiltroBloom filtro = new FiltroBloom(CAPACIDADE, TAXA);
+        assertFalse(filtro.podeConter(cpf(0)));
+        assertFalse(filtro.podeConter(""));
+    }
+
+    @Test
+    void parametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, TAXA));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(CAPACIDADE, 0));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(CAPACIDADE, 1));
+    }
+
+    private static String cpf(int i) {
+        return String.format("%011d", 10_000_000_000L + i);
+    }
+}
@@ -0,0 +1,87 @@
+package services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import model.Pagina;
+import model.enums.OrdemListagem;
+
+class TokenPaginaTest {
+
+    @Test
+    void semTokenComecaDoInicio() {
+        assertEquals(new TokenPagina.Chave(OrdemListagem.ID, 0, null), TokenPagina.decodificar(null, OrdemListagem.ID));
+        assertEquals(new TokenPagina.Chave(OrdemListagem.NOME, 0, null), TokenPagina.decodificar("", OrdemListagem.NOME));
+        assertEquals(0, TokenPagina.decodificarDeslocamento(null));
+    }
+
+    @Test
+    void idaEVoltaPorId() {
+        String token = TokenPagina.codificar(OrdemListagem.ID, 42, "ignorado");
+        assertEquals(new TokenPagina.Chave(OrdemListagem.ID, 42, null), TokenPagina.decodificar(token, OrdemListagem.ID));
+    }
+
+    @Test
+    void idaEVoltaPorNomeComSeparadorEAcentos() {
+        String nome = "Conceição|Araújo";
+        String token = TokenPagina.codificar(OrdemListagem.NOME, 7, nome);
+        assertEquals(new TokenPagina.Chave(OrdemListagem.NOME, 7, nome),
+                TokenPagina.decodificar(token, OrdemListagem.NOME));
+    }
+
+    @Test
+    void tokenDeOutraOrdenacaoEhRejeitado() {
+        String token = TokenPagina.codificar(OrdemListagem.ID, 42, null);
+        assertThrows(IllegalArgumentException.class, () -> TokenPagina.decodificar(token, OrdemListagem.NOME));
+        assertThrows(IllegalArgumentException.class, () -> TokenPagina.decodificarDeslocamento(token));
+    }
+
+    @Test
+    void tokenAdulteradoEhRejeitado() {
+        for (String token : List.of("não é base64!", base64("ID|abc"), base64("XYZ|1"), base64("ID"),
+                base64("NOME|5"), base64("RELEVANCIA|-1"))) {
+            assertThrows(IllegalArgumentException.class, () -> TokenPagina.decodificar(token, OrdemListagem.ID), token);
+            assertThrows(IllegalArgumentException.class, () -> TokenPagina.decodificar(token, OrdemListagem.NOME),
+                    token);
+            assertThrows(IllegalArgumentException.class, () -> TokenPagina.decodificarDeslocamento(token), token);
+        }
+        assertThrows(IllegalArgumentException.class, () -> TokenPagina.decodificarDeslocamento(base64("RELEVANCIA|x")));
+    }
+
+    @Test
+    void montarSoGeraTokenQuandoHaLinhaExtra() {
+        Pagina<Integer> ultima = TokenPagina.montar(List.of(1, 2, 3), 3, OrdemListagem.ID, i -> i, i -> null);
+        assertFalse(ultima.temProxima());
+        assertEquals(List.of(1, 2, 3), ultima.getItens());
+
+        Pagina<Integer> pagina = TokenPagina.montar(List.of(1, 2, 3, 4), 3, OrdemListagem.NOME, i -> i,
+                i -> "nome" + i);
+        assertTrue(pagina.temProxima());
+        assertEquals(List.of(1, 2, 3), pagina.getItens());
+        assertEquals(new TokenPagina.Chave(OrdemListagem.NOME, 3, "nome3"),
+                TokenPagina.decodificar(pagina.getProximaPagina(), OrdemListagem.NOME));
+    }
+
+    @Test
+    void idaEVoltaPorDeslocamento() {
+        Pagina<String> pagina = TokenPagina.montarPorDeslocamento(List.of("a", "b", "c"), 2, 10);
+        assertEquals(List.of("a", "b"), pagina.getItens());
+        assertEquals(12, TokenPagina.decodificarDeslocamento(pagina.getProximaPagina()));
+        assertThrows(IllegalArgumentException.class,
+                () -> TokenPagina.decodificar(pagina.getProximaPagina(), OrdemListagem.ID));
+        assertNull(TokenPagina.montarPorDeslocamento(List.of("a"), 2, 0).getProximaPagina());
+    }
+
+    private static String base64(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,78 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class EscritorCsvTest {
+
+    @Test
+    void camposSimplesSemAspas() throws IOException {
+        assertEquals("id;nome;nascimento\n1;Maria;2001-02-03\n-7;;\n", escrever(csv -> {
+            csv.colunas("id", "nome", "nascimento");
+            csv.campo(1).campo("Maria").campo(LocalDate.of(2001, 2, 3)).fimLinha();
+            csv.campo(-7).campo((String) null).campo((LocalDate) null).fimLinha();
+        }));
+    }
+
+    @Test
+    void camposComSeparadorAspasOuQuebraDeLinhaVaoEntreAspas() throws IOException {
+        assertEquals("\"a;b\";\"diz \"\"oi\"\"\";\"linha\num\";\"cr\rlf\";sem,aspas\n", escrever(csv -> {
+            csv.linha("a;b", "diz \"oi\"", "linha\num", "cr\rlf", "sem,aspas");
+        }));
+    }
+
+    @Test
+    void aspasDependemDoSeparador() throws IOException {
+        assertEquals("a;b,\"c,d\"\n", SaidaEmMemoria.texto(
+                canal -> new EscritorCsv(canal, ',', SaidaEmMemoria.TAMANHO_BUFFER), csv -> csv.linha("a;b", "c,d")));
+    }
+
+    @Test
+    void textoMaiorQueOBufferEAcentos() throws IOException {
+        String longo = "ção\"".repeat(100);
+        String esperado = "\"" + longo.replace("\"", "\"\"") + "\";fim\n";
+        assertEquals(esperado, escrever(csv -> csv.linha(longo, "fim")));
+    }
+
+    @Test
+    void bomSoNoComeco() throws IOException {
+        byte[] bytes = SaidaEmMemoria.bytes(
+                canal -> new EscritorCsv(canal, ';', SaidaEmMemoria.TAMANHO_BUFFER, true), csv -> csv.linha("ção", "b"));
+        assertEquals(0xEF, bytes[0] & 0xFF);
+        assertEquals(0xBB, bytes[1] & 0xFF);
+        assertEquals(0xBF, bytes[2] & 0xFF);
+        assertEquals("\uFEFFção;b\n", new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void cabecalhoNaoContaComoLinha() throws IOException {
+        escrever(csv -> {
+            csv.colunas("a", "b");
+            csv.linha("1", "2");
+            csv.linha("3", "4");
+            assertEquals(2, csv.getLinhas());
+        });
+    }
+
+    @Test
+    void separadorInvalido() {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        for (char separador : new char[] { '"', '\n', '\r' }) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new EscritorCsv(Channels.newChannel(saida), separador, SaidaEmMemoria.TAMANHO_BUFFER));
+        }
+    }
+
+    private static String escrever(SaidaEmMemoria.Escrita<EscritorCsv> escrita) throws IOException {
+        return SaidaEmMemoria.texto(
+                canal -> new EscritorCsv(canal, EscritorCsv.SEPARADOR_PADRAO, SaidaEmMemoria.TAMANHO_BUFFER), escrita);
+    }
+}
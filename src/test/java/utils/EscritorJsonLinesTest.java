@@ -0,0 +1,85 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class EscritorJsonLinesTest {
+
+    @Test
+    void umObjetoPorLinha() throws IOException {
+        assertEquals("{\"id\":1,\"nome\":\"Maria\",\"nascimento\":\"2001-02-03\"}\n"
+                + "{\"id\":-7,\"nome\":null,\"nascimento\":null}\n", escrever(json -> {
+                    json.colunas("id", "nome", "nascimento");
+                    json.campo(1).campo("Maria").campo(LocalDate.of(2001, 2, 3)).fimLinha();
+                    json.campo(-7).campo((String) null).campo((LocalDate) null).fimLinha();
+                }));
+    }
+
+    @Test
+    void escapesDeAspasBarraEQuebras() throws IOException {
+        assertEquals("{\"v\":\"diz \\\"oi\\\" c:\\\\dir\\nlinha\\r\\ttab\\b\\f\"}\n", escrever(json -> {
+            json.colunas("v");
+            json.campo("diz \"oi\" c:\\dir\nlinha\r\ttab\b\f").fimLinha();
+        }));
+    }
+
+    @Test
+    void separadoresDeLinhaUnicodeSaoEscapados() throws IOException {
+        String saida = escrever(json -> {
+            json.colunas("v");
+            json.campo("a\u2028b\u2029c").fimLinha();
+        });
+        assertEquals("{\"v\":\"a\\u2028b\\u2029c\"}\n", saida);
+        // Uma linha por objeto mesmo para leitores que quebram em U+2028
+        assertEquals(-1, saida.indexOf('\u2028'));
+        assertEquals(-1, saida.indexOf('\u2029'));
+    }
+
+    @Test
+    void caracteresDeControleViramUnicode() throws IOException {
+        assertEquals("{\"v\":\"\\u0000\\u0001\\u001f\\u001b \u007f\"}\n", escrever(json -> {
+            json.colunas("v");
+            json.campo("\u0000\u0001\u001f\u001b \u007f").fimLinha();
+        }));
+    }
+
+    @Test
+    void nomesDeColunaTambemSaoEscapados() throws IOException {
+        assertEquals("{\"a\\\"b\":\"ção\"}\n", escrever(json -> {
+            json.colunas("a\"b");
+            json.campo("ção").fimLinha();
+        }));
+    }
+
+    @Test
+    void textoMaiorQueOBuffer() throws IOException {
+        String longo = "ação\n".repeat(100);
+        assertEquals("{\"v\":\"" + longo.replace("\n", "\\n") + "\"}\n", escrever(json -> {
+            json.colunas("v");
+            json.campo(longo).fimLinha();
+        }));
+    }
+
+    @Test
+    void quantidadeDeCamposDiferenteDaDeColunas() throws IOException {
+        escrever(json -> {
+            assertThrows(IllegalStateException.class, () -> json.campo("sem colunas"));
+            json.colunas("a", "b");
+            json.campo("1");
+            assertThrows(IllegalStateException.class, json::fimLinha);
+            json.campo("2");
+            assertThrows(IllegalStateException.class, () -> json.campo("3"));
+            json.fimLinha();
+            assertEquals(1, json.getLinhas());
+        });
+    }
+
+    private static String escrever(SaidaEmMemoria.Escrita<EscritorJsonLines> escrita) throws IOException {
+        return SaidaEmMemoria.texto(canal -> new EscritorJsonLines(canal, SaidaEmMemoria.TAMANHO_BUFFER), escrita);
+    }
+}
@@ -0,0 +1,200 @@
+package utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+class EscritorXlsxTest {
+
+    private static final String PLANILHA = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+    @Test
+    void zipComTodasAsPartesEmXmlValido() throws Exception {
+        Map<String, Document> partes = ler(escrever(xlsx -> {
+            xlsx.colunas("id", "nome");
+            xlsx.campo(1).campo("Maria").fimLinha();
+        }));
+        assertEquals(List.of("[Content_Types].xml", "_rels/.rels", "xl/workbook.xml", "xl/_rels/workbook.xml.rels",
+                "xl/styles.xml", "xl/worksheets/sheet1.xml", "xl/sharedStrings.xml"), List.copyOf(partes.keySet()));
+        Element aba = (Element) partes.get("xl/workbook.xml").getElementsByTagNameNS(PLANILHA, "sheet").item(0);
+        assertEquals("Dados", aba.getAttribute("name"));
+    }
+
+    @Test
+    void celulasComTiposEReferencias() throws Exception {
+        Map<String, Document> partes = ler(escrever(xlsx -> {
+            xlsx.colunas("id", "nome", "nascimento");
+            xlsx.campo(42).campo("Maria").campo(LocalDate.of(2001, 2, 3)).fimLinha();
+            xlsx.campo(-7).campo((String) null).campo((LocalDate) null).fimLinha();
+        }));
+        List<Map<String, String>> linhas = linhas(partes);
+        assertEquals(3, linhas.size());
+        assertEquals(Map.of("A1", "id", "B1", "nome", "C1", "nascimento"), linhas.get(0));
+        // 2001-02-03 é o dia 36925 no calendário do Excel
+        assertEquals(Map.of("A2", "42", "B2", "Maria", "C2", "36925"), linhas.get(1));
+        // Valores null não geram célula
+        assertEquals(Map.of("A3", "-7"), linhas.get(2));
+
+        Element data = celula(partes, "C2");
+        assertEquals("1", data.getAttribute("s"));
+        assertEquals("2", celula(partes, "A1").getAttribute("s"));
+        assertFalse(celula(partes, "A2").hasAttribute("t"));
+    }
+
+    @Test
+    void textoComCaracteresEspeciais() throws Exception {
+        String texto = "<a href=\"x\">&</a> ção\ttab\nlinha";
+        Map<String, Document> partes = ler(escrever(xlsx -> {
+            xlsx.colunas("v");
+            xlsx.campo(texto).fimLinha();
+            xlsx.campo("controle\u0001\u001f\uFFFE").fimLinha();
+        }));
+        List<Map<String, String>> linhas = linhas(partes);
+        assertEquals(texto, linhas.get(1).get("A2"));
+        // Caracteres que o XML 1.0 não aceita viram U+FFFD
+        assertEquals("controle\uFFFD\uFFFD\uFFFD", linhas.get(2).get("A3"));
+    }
+
+    @Test
+    void colunaComValoresRepetidosUsaStringsCompartilhadas() throws Exception {
+        int total = EscritorXlsx.AMOSTRA_COLUNA + 500;
+        Map<String, Document> partes = ler(escrever(xlsx -> {
+            xlsx.colunas("curso", "email");
+            for (int i = 0; i < total; i++) {
+                xlsx.campo(i % 2 == 0 ? "Java" : "Python").campo("aluno" + i + "@sgca.com").fimLinha();
+            }
+        }));
+        List<Map<String, String>> linhas = linhas(partes);
+        assertEquals(total + 1, linhas.size());
+        for (int i = 0; i < total; i++) {
+            String linha = String.valueOf(i + 2);
+            assertEquals(i % 2 == 0 ? "Java" : "Python", linhas.get(i + 1).get("A" + linha));
+            assertEquals("aluno" + i + "@sgca.com", linhas.get(i + 1).get("B" + linha));
+        }
+        String ultima = String.valueOf(total + 1);
+        assertEquals("s", celula(partes, "A" + ultima).getAttribute("t"));
+        // Passada a amostra, a coluna sem repetições vai para a célula
+        assertEquals("inlineStr", celula(partes, "B" + ultima).getAttribute("t"));
+
+        Element sst = partes.get("xl/sharedStrings.xml").getDocumentElement();
+        int unicas = Integer.parseInt(sst.getAttribute("uniqueCount"));
+        assertEquals(sst.getElementsByTagNameNS(PLANILHA, "si").getLength(), unicas);
+        assertTrue(unicas <= 2 + 2 + EscritorXlsx.AMOSTRA_COLUNA, "Strings compartilhadas: " + unicas);
+    }
+
+    @Test
+    void referenciasDeColunaAlemDeZ() throws Exception {
+        String[] nomes = new String[28];
+        for (int i = 0; i < nomes.length; i++) {
+            nomes[i] = "c" + i;
+        }
+        Map<String, Document> partes = ler(escrever(xlsx -> xlsx.colunas(nomes)));
+        Map<String, String> cabecalho = linhas(partes).get(0);
+        assertEquals("c25", cabecalho.get("Z1"));
+        assertEquals("c26", cabecalho.get("AA1"));
+        assertEquals("c27", cabecalho.get("AB1"));
+    }
+
+    @Test
+    void semColunasAindaGeraPlanilhaValida() throws Exception {
+        Map<String, Document> partes = ler(escrever(xlsx -> {
+        }));
+        assertNotNull(partes.get("xl/worksheets/sheet1.xml"));
+        assertTrue(linhas(partes).isEmpty());
+    }
+
+    @Test
+    void usoInvalido() throws IOException {
+        escrever(xlsx -> {
+            assertThrows(IllegalStateException.class, () -> xlsx.campo(1));
+            xlsx.colunas("a");
+            assertThrows(IllegalStateException.class, () -> xlsx.colunas("b"));
+            xlsx.campo(1);
+            assertThrows(IllegalStateException.class, () -> xlsx.campo(2));
+        });
+        assertThrows(IllegalArgumentException.class, () -> new EscritorXlsx(
+                Channels.newChannel(new ByteArrayOutputStream()), "a/b", SaidaEmMemoria.TAMANHO_BUFFER));
+    }
+
+    private static byte[] escrever(SaidaEmMemoria.Escrita<EscritorXlsx> escrita) throws IOException {
+        return SaidaEmMemoria.bytes(canal -> new EscritorXlsx(canal, "Dados", SaidaEmMemoria.TAMANHO_BUFFER), escrita);
+    }
+
+    /**
+     * Lê as partes do ZIP, na ordem em que foram gravadas, como documentos XML.
+     */
+    private static Map<String, Document> ler(byte[] arquivo) throws Exception {
+        DocumentBuilderFactory fabrica = DocumentBuilderFactory.newInstance();
+        fabrica.setNamespaceAware(true);
+        Map<String, Document> partes = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(arquivo))) {
+            for (ZipEntry entrada = zip.getNextEntry(); entrada != null; entrada = zip.getNextEntry()) {
+                byte[] conteudo = zip.readAllBytes();
+                partes.put(entrada.getName(), fabrica.newDocumentBuilder().parse(new ByteArrayInputStream(conteudo)));
+            }
+        }
+        return partes;
+    }
+
+    /**
+     * @return O valor de cada célula por referência, linha a linha, com as
+     *         strings compartilhadas já resolvidas.
+     */
+    private static List<Map<String, String>> linhas(Map<String, Document> partes) {
+        List<String> compartilhadas = new ArrayList<>();
+        NodeList itens = partes.get("xl/sharedStrings.xml").getElementsByTagNameNS(PLANILHA, "si");
+        for (int i = 0; i < itens.getLength(); i++) {
+            compartilhadas.add(itens.item(i).getTextContent());
+        }
+        List<Map<String, String>> linhas = new ArrayList<>();
+        NodeList rows = partes.get("xl/worksheets/sheet1.xml").getElementsByTagNameNS(PLANILHA, "row");
+        for (int i = 0; i < rows.getLength(); i++) {
+            Element row = (Element) rows.item(i);
+            assertEquals(String.valueOf(i + 1), row.getAttribute("r"));
+            Map<String, String> linha = new LinkedHashMap<>();
+            NodeList celulas = row.getElementsByTagNameNS(PLANILHA, "c");
+            for (int j = 0; j < celulas.getLength(); j++) {
+                Element c = (Element) celulas.item(j);
+                String valor = c.getTextContent();
+                if ("s".equals(c.getAttribute("t"))) {
+                    valor = compartilhadas.get(Integer.parseInt(valor));
+                }
+                linha.put(c.getAttribute("r"), valor);
+            }
+            linhas.add(linha);
+        }
+        return linhas;
+    }
+
+    private static Element celula(Map<String, Document> partes, String referencia) {
+        NodeList celulas = partes.get("xl/worksheets/sheet1.xml").getElementsByTagNameNS(PLANILHA, "c");
+        for (int i = 0; i < celulas.getLength(); i++) {
+            Element c = (Element) celulas.item(i);
+            if (referencia.equals(c.getAttribute("r"))) {
+                return c;
+            }
+        }
+        throw new AssertionError("Célula não encontrada: " + referencia);
+    }
+}
@@ -0,0 +1,48 @@
+package utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Grava com um {@link DestinoExportacao} em memória, para os testes dos
+ * escritores.
+ */
+final class SaidaEmMemoria {
+
+    // Buffer pequeno para passar pelas descargas no meio dos campos
+    static final int TAMANHO_BUFFER = 16;
+
+    @FunctionalInterface
+    interface Escrita<E extends DestinoExportacao> {
+        void escrever(E escritor) throws IOException;
+    }
+
+    private SaidaEmMemoria() {
+    }
+
+    /**
+     * @param abrir   Cria o escritor sobre o canal em memória.
+     * @param escrita O que gravar; o escritor é fechado em seguida.
+     * @return Os bytes gravados.
+     */
+    static <E extends DestinoExportacao> byte[] bytes(Function<WritableByteChannel, E> abrir, Escrita<E> escrita)
+            throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (E escritor = abrir.apply(Channels.newChannel(saida))) {
+            escrita.escrever(escritor);
+        }
+        return saida.toByteArray();
+    }
+
+    /**
+     * @return O texto gravado, decodificado de UTF-8.
+     */
+    static <E extends DestinoExportacao> String texto(Function<WritableByteChannel, E> abrir, Escrita<E> escrita)
+            throws IOException {
+        return new String(bytes(abrir, escrita), StandardCharsets.UTF_8);
+    }
+}